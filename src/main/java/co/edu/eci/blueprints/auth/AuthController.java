@@ -1,10 +1,12 @@
 package co.edu.eci.blueprints.auth;
 
-import co.edu.eci.blueprints.security.InMemoryUserService;
+import co.edu.eci.blueprints.security.JwtKeyProvider;
+import co.edu.eci.blueprints.security.PasswordVerifier;
 import co.edu.eci.blueprints.security.RsaKeyProperties;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.web.bind.annotation.*;
@@ -12,6 +14,10 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 
 import java.time.Instant;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/auth")
@@ -19,13 +25,18 @@ import java.util.Map;
 public class AuthController {
 
     private final JwtEncoder encoder;
-    private final InMemoryUserService userService;
+    private final PasswordVerifier passwordVerifier;
     private final RsaKeyProperties props;
+    private final JwtKeyProvider keyProvider;
+    private final Set<String> adminUsers;
 
-    public AuthController(JwtEncoder encoder, InMemoryUserService userService, RsaKeyProperties props) {
+    public AuthController(JwtEncoder encoder, PasswordVerifier passwordVerifier, RsaKeyProperties props,
+                          JwtKeyProvider keyProvider, @Value("${blueprints.security.admin-users:}") Set<String> adminUsers) {
         this.encoder = encoder;
-        this.userService = userService;
+        this.passwordVerifier = passwordVerifier;
         this.props = props;
+        this.keyProvider = keyProvider;
+        this.adminUsers = adminUsers;
     }
 
     public record LoginRequest(String username, String password) {}
@@ -33,27 +44,41 @@ public class AuthController {
     @Operation(summary = "Login de usuario", description = "Recibe credenciales y retorna un JWT")
     @ApiResponse(responseCode = "200", description = "Login exitoso, retorna el token")
     @ApiResponse(responseCode = "401", description = "Credenciales inválidas")
+    @ApiResponse(responseCode = "503", description = "Demasiados logins simultáneos, reintentar")
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest req) {
-        if (!userService.isValid(req.username(), req.password())) {
-            return ResponseEntity.status(401).body(Map.of("error", "invalid_credentials"));
-        }
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest req) {
+        // BCrypt corre en el pool de verificación; el hilo de la petición queda libre mientras tanto
+        return passwordVerifier.verify(req.username(), req.password())
+                .<ResponseEntity<?>>thenApply(valid -> valid
+                        ? issueToken(req.username())
+                        : ResponseEntity.status(401).body(Map.of("error", "invalid_credentials")))
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof RejectedExecutionException) {
+                        return ResponseEntity.status(503).header("Retry-After", "1").body(Map.of("error", "server_busy"));
+                    }
+                    throw error instanceof CompletionException ce ? ce : new CompletionException(cause);
+                });
+    }
 
+    private ResponseEntity<?> issueToken(String username) {
         Instant now = Instant.now();
         long ttl = props.tokenTtlSeconds() != null ? props.tokenTtlSeconds() : 3600;
         Instant exp = now.plusSeconds(ttl);
 
-        String scope = "blueprints.read blueprints.write";
+        String scope = adminUsers.contains(username)
+                ? "blueprints.read blueprints.write blueprints.admin"
+                : "blueprints.read blueprints.write";
 
         JwtClaimsSet claims = JwtClaimsSet.builder()
                 .issuer(props.issuer())
                 .issuedAt(now)
                 .expiresAt(exp)
-                .subject(req.username())
+                .subject(username)
                 .claim("scope", scope)
                 .build();
 
-        JwsHeader jws = JwsHeader.with(() -> "RS256").build();
+        JwsHeader jws = JwsHeader.with(keyProvider.algorithm()).build();
         String token = this.encoder.encode(JwtEncoderParameters.from(jws, claims)).getTokenValue();
 
         return ResponseEntity.ok(new TokenResponse(token, "Bearer", ttl));
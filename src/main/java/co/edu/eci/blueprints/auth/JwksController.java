@@ -0,0 +1,40 @@
+package co.edu.eci.blueprints.auth;
+
+import co.edu.eci.blueprints.security.JwtKeyProvider;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+@RestController
+public class JwksController {
+
+    private final JwtKeyProvider keyProvider;
+
+    public JwksController(JwtKeyProvider keyProvider) {
+        this.keyProvider = keyProvider;
+    }
+
+    @Operation(summary = "Llaves públicas (JWKS)", description = "Llaves con las que otros nodos y clientes verifican los tokens")
+    @ApiResponse(responseCode = "200", description = "JWK Set con las llaves públicas vigentes")
+    @GetMapping(path = "/.well-known/jwks.json", produces = "application/jwk-set+json")
+    public ResponseEntity<String> jwks(WebRequest request) {
+        // Las llaves solo cambian al reiniciar con otro material, así que el documento se arma una vez.
+        // El ETag se calcula al pedirlo: con arranque diferido la llave puede estar generándose todavía
+        String json = keyProvider.jwksJson();
+        String etag = "\"" + Integer.toHexString(json.hashCode()) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .eTag(etag)
+                .body(json);
+    }
+}
@@ -0,0 +1,69 @@
+package co.edu.eci.blueprints.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds API requests with 503 once the {@link AdaptiveConcurrencyLimit} is reached, so that when
+ * latency rises the node serves fewer requests quickly instead of all of them slowly. Unlike
+ * {@link ConcurrencyLimitFilter} nothing waits for a slot. It runs ahead of Spring Security, so
+ * shed requests cost no token verification. Requests that go async (SSE, the async API) free
+ * their slot when the handler returns and give no latency sample; admin endpoints are not limited.
+ */
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveConcurrencyFilter.class);
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final Counter rejected;
+
+    public AdaptiveConcurrencyFilter(AdaptiveConcurrencyLimit limit, MeterRegistry registry) {
+        this.limit = limit;
+        this.rejected = Counter.builder("blueprints.requests.rejected")
+            .description("API requests turned away before reaching a handler")
+            .tag("reason", "overload")
+            .register(registry);
+        registry.gauge("blueprints.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit);
+        registry.gauge("blueprints.concurrency.in_flight", limit, AdaptiveConcurrencyLimit::inFlight);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/api/v1/admin/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!limit.tryAcquire()) {
+            rejected.increment();
+            log.debug("Shedding {} {}: concurrency limit {} reached", request.getMethod(), request.getRequestURI(), limit.limit());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            response.setContentType("application/json");
+            response.getWriter().write("{\"code\":503,\"message\":\"server overloaded\",\"data\":null}");
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() == HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+        } finally {
+            if (request.isAsyncStarted()) {
+                limit.release();
+            } else {
+                limit.release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package co.edu.eci.blueprints.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows latency instead of being fixed (gradient algorithm, as in
+ * Netflix's concurrency-limits). Two moving averages of request latency are kept: a short one
+ * (the last ~10 requests) and a long one (~600). While they agree the limit grows by about its
+ * square root; once queueing makes the short one exceed {@code tolerance} times the long one the
+ * limit shrinks in proportion (at most by half), and each failed request cuts it by 10 %.
+ * The limit only grows when at least half of it is in use, so an idle node does not drift to the
+ * maximum and then let a burst through.
+ * <p>
+ * Acquiring is a single atomic increment; samples are folded in under a lock, once per request.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || minLimit > maxLimit || tolerance < 1) {
+            throw new IllegalArgumentException("need 1 <= min-limit <= max-limit and tolerance >= 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /** Takes a slot, or returns {@code false} if the limit is reached. */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Frees a slot and feeds the request's outcome to the limit.
+     * @param rttNanos How long the request took
+     * @param failed Whether it failed in a way that signals overload (exception, 503)
+     */
+    public void release(long rttNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        sample(rttNanos, inFlightBefore, failed);
+    }
+
+    /** Frees a slot without a latency sample (requests that continue asynchronously). */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightBefore, boolean failed) {
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+        } else {
+            shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+            longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+        }
+        // After a slow period the long average stays high; let it catch up once latency recovers
+        if (longRtt > 2 * shortRtt) longRtt *= 0.95;
+
+        double current = limit;
+        double next;
+        if (failed) {
+            next = current * 0.9;
+        } else {
+            if (inFlightBefore < current / 2) return;
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / Math.max(1, shortRtt)));
+            next = current * gradient + Math.sqrt(current);
+            next = current * (1 - SMOOTHING) + next * SMOOTHING;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public int limit() { return (int) limit; }
+
+    public int inFlight() { return inFlight.get(); }
+}
@@ -0,0 +1,148 @@
+package co.edu.eci.blueprints.config;
+
+import co.edu.eci.blueprints.jfr.FilterEvent;
+import co.edu.eci.blueprints.jfr.PersistenceEvent;
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintChanges;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the hot paths without touching them:
+ * <ul>
+ *   <li>{@code blueprints.persistence}: every {@code BlueprintPersistence} method, tagged by
+ *       method and exception, whichever implementation (JPA or sharded) is active.</li>
+ *   <li>{@code blueprints.filter.apply}: each {@code BlueprintsFilter.apply}, tagged by filter.</li>
+ *   <li>{@code blueprints.filter.points}: points per blueprint before ({@code stage=in}) and after
+ *       ({@code stage=out}) the filter; {@code in} is the size of every blueprint served.</li>
+ * </ul>
+ * Histograms for these are enabled in {@code management.metrics.distribution}. Persistence and
+ * filter times are also added to the request's {@link RequestTiming}, and both calls are emitted
+ * as JFR events ({@link PersistenceEvent}, {@link FilterEvent}) while a recording enables them.
+ */
+@Aspect
+@Component
+public class BlueprintMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> persistenceTimers = new ConcurrentHashMap<>();
+    private final Map<String, FilterMeters> filterMeters = new ConcurrentHashMap<>();
+
+    public BlueprintMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* co.edu.eci.blueprints.persistence.BlueprintPersistence.*(..))")
+    public Object timePersistence(ProceedingJoinPoint call) throws Throwable {
+        String method = call.getSignature().getName();
+        PersistenceEvent event = new PersistenceEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            Object result = call.proceed();
+            long elapsed = System.nanoTime() - start;
+            persistenceTimers.computeIfAbsent(method, m -> persistenceTimer(m, "none")).record(elapsed, TimeUnit.NANOSECONDS);
+            RequestTiming.record(RequestTiming.Phase.DB, elapsed);
+            commit(event, method, call.getArgs(), result, null);
+            return result;
+        } catch (Throwable e) {
+            long elapsed = System.nanoTime() - start;
+            // Failures are rare (not found, duplicates), so their timers are looked up per call
+            persistenceTimer(method, e.getClass().getSimpleName()).record(elapsed, TimeUnit.NANOSECONDS);
+            RequestTiming.record(RequestTiming.Phase.DB, elapsed);
+            commit(event, method, call.getArgs(), null, e);
+            throw e;
+        }
+    }
+
+    private static void commit(PersistenceEvent event, String method, Object[] args, Object result, Throwable error) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.method = method;
+        // Signatures start with (author, name, ...) or take the Blueprint itself
+        if (args.length > 0 && args[0] instanceof Blueprint bp) {
+            event.author = bp.getAuthor();
+            event.name = bp.getName();
+        } else if (args.length > 0 && args[0] instanceof String author) {
+            event.author = author;
+            if (args.length > 1 && args[1] instanceof String name) event.name = name;
+        }
+        Object written = args.length > 0 ? args[args.length - 1] : null;
+        event.points = pointCount(result) + (written instanceof Blueprint bp ? bp.getPoints().size() : 0);
+        if (error != null) event.exception = error.getClass().getSimpleName();
+        event.commit();
+    }
+
+    private static int pointCount(Object result) {
+        if (result instanceof Blueprint bp) return bp.getPoints().size();
+        if (result instanceof BlueprintChanges changes) return changes.points().size();
+        if (result instanceof Map<?, ?> map) return pointCount(map.values());
+        if (result instanceof Collection<?> items) {
+            int points = 0;
+            for (Object item : items) points += item instanceof Blueprint bp ? bp.getPoints().size() : 1;
+            return points;
+        }
+        return 0;
+    }
+
+    @Around("execution(co.edu.eci.blueprints.model.Blueprint co.edu.eci.blueprints.filters.BlueprintsFilter.apply(..)) && args(bp)")
+    public Object timeFilter(ProceedingJoinPoint call, Blueprint bp) throws Throwable {
+        FilterMeters meters = filterMeters.computeIfAbsent(call.getTarget().getClass().getSimpleName(), this::filterMeters);
+        meters.in.record(bp.getPoints().size());
+        FilterEvent event = new FilterEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Blueprint result = (Blueprint) call.proceed();
+        long elapsed = System.nanoTime() - start;
+        meters.apply.record(elapsed, TimeUnit.NANOSECONDS);
+        RequestTiming.record(RequestTiming.Phase.FILTER, elapsed);
+        if (result != null) meters.out.record(result.getPoints().size());
+        event.end();
+        if (event.shouldCommit()) {
+            event.filter = call.getTarget().getClass().getSimpleName();
+            event.author = bp.getAuthor();
+            event.name = bp.getName();
+            event.pointsIn = bp.getPoints().size();
+            event.pointsOut = result != null ? result.getPoints().size() : 0;
+            event.commit();
+        }
+        return result;
+    }
+
+    private Timer persistenceTimer(String method, String exception) {
+        return Timer.builder("blueprints.persistence")
+            .description("Time spent in BlueprintPersistence calls")
+            .tags("method", method, "exception", exception)
+            .register(registry);
+    }
+
+    private FilterMeters filterMeters(String filter) {
+        return new FilterMeters(
+            Timer.builder("blueprints.filter.apply")
+                .description("Time spent applying the blueprint filter")
+                .tag("filter", filter)
+                .register(registry),
+            pointsSummary(filter, "in"),
+            pointsSummary(filter, "out"));
+    }
+
+    private DistributionSummary pointsSummary(String filter, String stage) {
+        return DistributionSummary.builder("blueprints.filter.points")
+            .description("Points per blueprint before and after the filter")
+            .baseUnit("points")
+            .tags("filter", filter, "stage", stage)
+            .register(registry);
+    }
+
+    private record FilterMeters(Timer apply, DistributionSummary in, DistributionSummary out) { }
+}
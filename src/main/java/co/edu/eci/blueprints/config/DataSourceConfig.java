@@ -2,20 +2,38 @@ package co.edu.eci.blueprints.config;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.Environment;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * DataSource configuration that prefers an externally configured JDBC URL but
  * falls back to an in-memory H2 database if the external connection cannot be established.
+ * Both are Hikari pools tuned from {@code spring.datasource.hikari.*} (sizes, timeouts, leak
+ * detection, driver properties such as the Postgres statement cache) and publish the
+ * {@code hikaricp.connections.*} metrics (acquire time, active, idle, pending).
+ * With {@code blueprints.startup.defer-init=true} the external pool is returned without the
+ * connectivity probe and opens its connections on first use; there is no H2 fallback in that mode.
+ * With {@code blueprints.datasource.replicas.urls} set, read-only transactions are routed to those
+ * replicas by a {@link ReadReplicaRoutingDataSource} and the rest go to the pool above.
  */
 @Configuration
 public class DataSourceConfig {
@@ -24,42 +42,116 @@ public class DataSourceConfig {
 
     @Bean
     @Primary
-    public DataSource dataSource(Environment env) {
+    public DataSource dataSource(Environment env, ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        DataSource primary = primaryDataSource(env, registry);
+        String[] replicaUrls = replicaUrls(env);
+        if (replicaUrls.length == 0) return primary;
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            replicas.add(replicaDataSource(env, i, replicaUrls[i], registry));
+        }
+        Duration stickyFor = env.getProperty("blueprints.datasource.replicas.sticky-for", Duration.class, Duration.ofSeconds(5));
+        Duration healthCheck = env.getProperty("blueprints.datasource.replicas.health-check-interval", Duration.class, Duration.ofSeconds(5));
+        log.info("Routing read-only transactions to {} replicas (read-your-writes for {})", replicas.size(), stickyFor);
+        return new ReadReplicaRoutingDataSource(primary, replicas, stickyFor, healthCheck).lazyProxy();
+    }
+
+    /**
+     * With replicas every transaction needs its own connection, chosen when it starts: Hibernate's
+     * default keeps the first connection for the whole session (the whole request, with open-in-view),
+     * so a write after a read in the same request would land on the replica.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling(Environment env) {
+        return properties -> {
+            if (replicaUrls(env).length > 0) {
+                properties.put(AvailableSettings.CONNECTION_HANDLING,
+                    PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+            }
+        };
+    }
+
+    private static String[] replicaUrls(Environment env) {
+        return Arrays.stream(env.getProperty("blueprints.datasource.replicas.urls", String[].class, new String[0]))
+            .map(String::trim).filter(url -> !url.isEmpty()).toArray(String[]::new);
+    }
+
+    private DataSource primaryDataSource(Environment env, MeterRegistry registry) {
         String jdbcUrl = env.getProperty("SPRING_DATASOURCE_URL");
         String username = env.getProperty("SPRING_DATASOURCE_USERNAME");
         String password = env.getProperty("SPRING_DATASOURCE_PASSWORD");
 
         if (jdbcUrl != null && !jdbcUrl.isBlank()) {
+            HikariDataSource ds = null;
             try {
                 log.info("Attempting to use external datasource: {}", jdbcUrl);
-                HikariConfig cfg = new HikariConfig();
+                HikariConfig cfg = poolConfig(env, "blueprints-db", registry);
                 cfg.setJdbcUrl(jdbcUrl);
                 if (username != null) cfg.setUsername(username);
                 if (password != null) cfg.setPassword(password);
-                // reasonable defaults
-                cfg.setMaximumPoolSize(10);
-                HikariDataSource ds = new HikariDataSource(cfg);
+                if (env.getProperty("blueprints.startup.defer-init", Boolean.class, false)) {
+                    // fast startup: do not block on the database before the context is up
+                    cfg.setInitializationFailTimeout(-1);
+                    log.info("Deferring connection to external datasource until first use");
+                    return new HikariDataSource(cfg);
+                }
+                ds = new HikariDataSource(cfg);
 
                 // quick connectivity check
                 try (Connection c = ds.getConnection()) {
-                    log.info("Successfully connected to external datasource");
+                    log.info("Successfully connected to external datasource (pool {}, max {} connections)",
+                        cfg.getPoolName(), cfg.getMaximumPoolSize());
                     return ds;
                 }
             } catch (Exception e) {
                 log.warn("External datasource unavailable or failed to initialize, falling back to H2 in-memory. Cause: {}", e.toString());
-                // attempt to close if partially initialized
+                if (ds != null) ds.close();
             }
         } else {
             log.info("No external SPRING_DATASOURCE_URL configured, using H2 in-memory.");
         }
 
-        // Fallback: H2 in-memory datasource
-        DriverManagerDataSource h2 = new DriverManagerDataSource();
+        // Fallback: H2 in-memory datasource, pooled as well so queries do not open a connection each
+        HikariConfig h2 = poolConfig(env, "blueprints-h2", registry);
+        // data-source-properties hold Postgres driver settings, which H2 rejects
+        h2.getDataSourceProperties().clear();
         h2.setDriverClassName("org.h2.Driver");
-        h2.setUrl("jdbc:h2:mem:blueprints;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        h2.setJdbcUrl("jdbc:h2:mem:blueprints;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
         h2.setUsername("sa");
         h2.setPassword("");
         log.info("Using fallback H2 in-memory datasource (jdbc:h2:mem:blueprints)");
-        return h2;
+        return new HikariDataSource(h2);
+    }
+
+    private DataSource replicaDataSource(Environment env, int index, String url, MeterRegistry registry) {
+        HikariConfig cfg = poolConfig(env, "blueprints-replica-" + index, registry);
+        cfg.setJdbcUrl(url);
+        String username = env.getProperty("blueprints.datasource.replicas.username", env.getProperty("SPRING_DATASOURCE_USERNAME", ""));
+        String password = env.getProperty("blueprints.datasource.replicas.password", env.getProperty("SPRING_DATASOURCE_PASSWORD", ""));
+        cfg.setUsername(username);
+        cfg.setPassword(password);
+        cfg.setReadOnly(true);
+        // A dead replica must fail fast so the read can fall back to the primary
+        cfg.setConnectionTimeout(env.getProperty("blueprints.datasource.replicas.connection-timeout",
+            Duration.class, Duration.ofSeconds(1)).toMillis());
+        // A replica that is down at startup is only marked unhealthy, it does not stop the application
+        cfg.setInitializationFailTimeout(-1);
+        if (url.startsWith("jdbc:h2:")) cfg.getDataSourceProperties().clear();
+        log.info("Read replica {}: {}", index, url);
+        return new HikariDataSource(cfg);
+    }
+
+    /**
+     * Pool settings bound from {@code spring.datasource.hikari.*}, the same keys Boot's own
+     * auto-configured pool would use, plus the Micrometer tracker.
+     */
+    static HikariConfig poolConfig(Environment env, String poolName, MeterRegistry registry) {
+        HikariConfig cfg = new HikariConfig();
+        cfg.setPoolName(poolName);
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(cfg));
+        if (registry != null) cfg.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return cfg;
     }
 }
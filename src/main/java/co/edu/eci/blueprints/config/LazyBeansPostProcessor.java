@@ -0,0 +1,63 @@
+package co.edu.eci.blueprints.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Marks beans from non-critical packages (by default springdoc) as lazy, so they are created
+ * on first use instead of during startup. Unlike {@code spring.main.lazy-initialization} this
+ * keeps security, the data source and JPA eager, so the first API request is not the one that
+ * pays for them. Packages come from {@code blueprints.startup.lazy-packages}; an empty list
+ * turns it off.
+ */
+@Component
+public class LazyBeansPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    private static final Logger log = LoggerFactory.getLogger(LazyBeansPostProcessor.class);
+
+    private List<String> packages = List.of();
+
+    @Override
+    public void setEnvironment(Environment env) {
+        String[] configured = env.getProperty("blueprints.startup.lazy-packages", String[].class, new String[0]);
+        this.packages = List.of(configured).stream().map(String::trim).filter(p -> !p.isEmpty()).map(p -> p + ".").toList();
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (packages.isEmpty()) return;
+        int marked = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (!definition.isLazyInit() && inLazyPackage(definition)) {
+                definition.setLazyInit(true);
+                marked++;
+            }
+        }
+        log.info("Deferred creation of {} beans from {}", marked, packages);
+    }
+
+    private boolean inLazyPackage(BeanDefinition definition) {
+        String type = definition.getBeanClassName();
+        if (type == null && definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            type = factoryMethod != null ? factoryMethod.getDeclaringClassName() : null;
+        }
+        if (type == null) return false;
+        for (String prefix : packages) {
+            if (type.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,57 @@
+package co.edu.eci.blueprints.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Keeps one client or a latency spike from taking the whole node down: per-caller rate limits
+ * ({@code blueprints.rate-limit.*}, 429) and an adaptive concurrency limit
+ * ({@code blueprints.concurrency.adaptive.*}, 503). Both cover {@code /api/*} and can be turned
+ * off separately. They work alongside the fixed {@link ConcurrencyLimitFilter} of the
+ * virtual-thread mode, whose 503s count as failures for the adaptive limit.
+ */
+@Configuration
+public class LoadSheddingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "blueprints.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(Environment env, MeterRegistry registry) {
+        int maxKeys = env.getProperty("blueprints.rate-limit.max-keys", Integer.class, 100_000);
+        TokenBucketRateLimiter users = new TokenBucketRateLimiter(
+            env.getProperty("blueprints.rate-limit.requests-per-second", Double.class, 50.0),
+            env.getProperty("blueprints.rate-limit.burst", Integer.class, 100), maxKeys);
+        TokenBucketRateLimiter anonymous = new TokenBucketRateLimiter(
+            env.getProperty("blueprints.rate-limit.anonymous-requests-per-second", Double.class, 10.0),
+            env.getProperty("blueprints.rate-limit.anonymous-burst", Integer.class, 20), maxKeys);
+        registry.gauge("blueprints.ratelimit.keys", users, limiter -> limiter.keys() + anonymous.keys());
+
+        FilterRegistrationBean<RateLimitFilter> registration =
+            new FilterRegistrationBean<>(new RateLimitFilter(users, anonymous, registry));
+        registration.addUrlPatterns("/api/*");
+        // After Spring Security, which has put the caller's JWT in the security context by then
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "blueprints.concurrency.adaptive.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AdaptiveConcurrencyFilter> adaptiveConcurrencyFilter(Environment env, MeterRegistry registry) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+            env.getProperty("blueprints.concurrency.adaptive.initial-limit", Integer.class, 20),
+            env.getProperty("blueprints.concurrency.adaptive.min-limit", Integer.class, 4),
+            env.getProperty("blueprints.concurrency.adaptive.max-limit", Integer.class, 200),
+            env.getProperty("blueprints.concurrency.adaptive.tolerance", Double.class, 2.0));
+
+        FilterRegistrationBean<AdaptiveConcurrencyFilter> registration =
+            new FilterRegistrationBean<>(new AdaptiveConcurrencyFilter(limit, registry));
+        registration.addUrlPatterns("/api/*");
+        // Ahead of request timing and Spring Security: a shed request should cost next to nothing
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+}
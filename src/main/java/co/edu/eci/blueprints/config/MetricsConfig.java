@@ -0,0 +1,60 @@
+package co.edu.eci.blueprints.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Metrics that Boot does not record on its own. Request latency by route and status
+ * ({@code http.server.requests}), Hikari pools and Hibernate statistics come from the actuator
+ * auto-configuration; everything is scraped from {@code /actuator/prometheus}.
+ * <p>
+ * Per-request phase timings ({@link RequestTiming}) feed the slow-request log and, if enabled,
+ * the {@code Server-Timing} response header.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final boolean timingEnabled;
+
+    public MetricsConfig(@Value("${blueprints.timing.enabled:true}") boolean timingEnabled) {
+        this.timingEnabled = timingEnabled;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseSizeFilter> responseSizeFilter(MeterRegistry registry) {
+        FilterRegistrationBean<ResponseSizeFilter> registration = new FilterRegistrationBean<>(new ResponseSizeFilter(registry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestTimingFilter> requestTimingFilter(
+            @Value("${blueprints.timing.server-timing-header:false}") boolean serverTimingHeader,
+            @Value("${blueprints.timing.slow-request-threshold:500ms}") Duration slowThreshold) {
+        FilterRegistrationBean<RequestTimingFilter> registration =
+            new FilterRegistrationBean<>(new RequestTimingFilter(serverTimingHeader, slowThreshold));
+        registration.addUrlPatterns("/api/*", "/auth/*");
+        // Ahead of Spring Security so that JWT decoding falls inside the request's timing
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        registration.setEnabled(timingEnabled);
+        return registration;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (!timingEnabled) return;
+        converters.replaceAll(converter -> converter.getClass() == MappingJackson2HttpMessageConverter.class
+            ? new TimingJacksonConverter(((MappingJackson2HttpMessageConverter) converter).getObjectMapper())
+            : converter);
+    }
+}
@@ -0,0 +1,63 @@
+package co.edu.eci.blueprints.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Rate limits API requests per caller so one client polling in a loop cannot starve the rest.
+ * Runs after Spring Security: requests with a JWT are keyed by its subject, while the public
+ * controller and unauthenticated requests are keyed by client address (the proxy's unless
+ * forwarded headers are trusted) and share a separate, lower limit. Requests over
+ * the limit get 429 with a Retry-After header. Admin endpoints are not limited.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final TokenBucketRateLimiter users;
+    private final TokenBucketRateLimiter anonymous;
+    private final Counter rejected;
+
+    public RateLimitFilter(TokenBucketRateLimiter users, TokenBucketRateLimiter anonymous, MeterRegistry registry) {
+        this.users = users;
+        this.anonymous = anonymous;
+        this.rejected = Counter.builder("blueprints.requests.rejected")
+            .description("API requests turned away before reaching a handler")
+            .tag("reason", "rate_limit")
+            .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/api/v1/admin/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        boolean byAddress = request.getRequestURI().startsWith(request.getContextPath() + "/api/v1/public/");
+        Duration wait = !byAddress && auth instanceof JwtAuthenticationToken jwt
+            ? users.tryAcquire(jwt.getName())
+            : anonymous.tryAcquire(request.getRemoteAddr());
+        if (!wait.isZero()) {
+            rejected.increment();
+            response.setStatus(429);
+            // Whole seconds, rounded up so that retrying right on time finds a token
+            response.setHeader("Retry-After", String.valueOf((wait.toMillis() + 999) / 1000));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"code\":429,\"message\":\"too many requests\",\"data\":null}");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
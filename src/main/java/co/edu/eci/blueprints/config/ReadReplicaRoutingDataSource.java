@@ -0,0 +1,230 @@
+package co.edu.eci.blueprints.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica (round robin over the healthy ones) and everything
+ * else, including work outside a transaction, to the primary. Replicas are probed periodically;
+ * one that fails a probe or refuses a connection is skipped until a later probe succeeds, and
+ * when none is healthy reads go to the primary.
+ * <p>
+ * After a principal commits a read-write transaction, that principal's reads stay on the primary
+ * for {@code stickyFor} (read-your-writes while the replicas catch up). Work without an
+ * authenticated principal is never sticky.
+ * <p>
+ * The router decides when the connection is fetched, so it must sit behind a
+ * {@link LazyConnectionDataSourceProxy} ({@link #lazyProxy()}) for the transaction's read-only
+ * flag to be known at that point.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private static final int MAX_STICKY_PRINCIPALS = 10_000;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long stickyNanos;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthCheck;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                        Duration stickyFor, Duration healthCheckInterval) {
+        if (replicas.isEmpty()) throw new IllegalArgumentException("At least one replica is required");
+        this.primary = primary;
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("replica-" + i, replicas.get(i)));
+        }
+        this.stickyNanos = stickyFor.toNanos();
+        if (healthCheckInterval.isZero()) {
+            this.healthCheck = null;
+        } else {
+            CustomizableThreadFactory threads = new CustomizableThreadFactory("replica-health-");
+            threads.setDaemon(true);
+            this.healthCheck = Executors.newSingleThreadScheduledExecutor(threads);
+            long millis = healthCheckInterval.toMillis();
+            this.healthCheck.scheduleWithFixedDelay(this::checkReplicas, 0, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * This router behind a lazy proxy, which fetches the real connection on the first statement
+     * instead of at transaction begin. Closing the proxy closes the router.
+     */
+    public DataSource lazyProxy() {
+        return new LazyProxy(this);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = route();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = route();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection(username, password);
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    /** Replica for the current transaction, or {@code null} when it has to use the primary. */
+    private Replica route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) return null;
+        String principal = currentPrincipal();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (principal != null && stickyNanos > 0 && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        stick(principal);
+                    }
+                });
+            }
+            return null;
+        }
+        if (principal != null && isSticky(principal)) return null;
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) return replica;
+        }
+        return null;
+    }
+
+    private static String currentPrincipal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() ? auth.getName() : null;
+    }
+
+    private void stick(String principal) {
+        long now = System.nanoTime();
+        if (stickyUntil.size() >= MAX_STICKY_PRINCIPALS) {
+            stickyUntil.values().removeIf(until -> until - now <= 0);
+        }
+        stickyUntil.put(principal, now + stickyNanos);
+    }
+
+    private boolean isSticky(String principal) {
+        Long until = stickyUntil.get(principal);
+        if (until == null) return false;
+        if (until - System.nanoTime() > 0) return true;
+        stickyUntil.remove(principal, until);
+        return false;
+    }
+
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection c = replica.dataSource.getConnection()) {
+                if (c.isValid(2)) replica.markUp();
+                else replica.markDown(new SQLException("connection is not valid"));
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    /** Number of replicas currently receiving reads. */
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(r -> r.healthy).count();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        // Lets callers reach the primary pool (e.g. to read its size) through the router
+        return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    @Override
+    public void close() {
+        if (healthCheck != null) healthCheck.shutdownNow();
+        for (Replica replica : replicas) closeQuietly(replica.dataSource);
+        closeQuietly(primary);
+    }
+
+    private static void closeQuietly(DataSource ds) {
+        if (ds instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close datasource: {}", e.toString());
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void markDown(SQLException cause) {
+            if (healthy) log.warn("Read replica {} is unavailable, routing its reads elsewhere: {}", name, cause.toString());
+            healthy = false;
+        }
+
+        void markUp() {
+            if (!healthy) log.info("Read replica {} is back", name);
+            healthy = true;
+        }
+    }
+
+    private static final class LazyProxy extends LazyConnectionDataSourceProxy implements Closeable {
+        private final ReadReplicaRoutingDataSource router;
+
+        LazyProxy(ReadReplicaRoutingDataSource router) {
+            super(router);
+            this.router = router;
+        }
+
+        @Override
+        public void close() {
+            router.close();
+        }
+    }
+}
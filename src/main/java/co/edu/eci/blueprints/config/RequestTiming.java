@@ -0,0 +1,92 @@
+package co.edu.eci.blueprints.config;
+
+import java.util.Locale;
+
+/**
+ * Per-request time spent in each phase (JWT decoding, persistence, filter, JSON serialization),
+ * kept in a thread local by {@link RequestTimingFilter}. Recording is an array update on the
+ * request thread, so instrumented code calls {@link #record} unconditionally; outside a timed
+ * request (e.g. on the async API's pool threads) it does nothing.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        AUTH("auth"), DB("db"), FILTER("filter"), SERIALIZATION("ser");
+
+        private final String metric;
+
+        Phase(String metric) { this.metric = metric; }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long start = System.nanoTime();
+    private final boolean serverTimingHeader;
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] calls = new int[PHASES.length];
+
+    private RequestTiming(boolean serverTimingHeader) {
+        this.serverTimingHeader = serverTimingHeader;
+    }
+
+    static RequestTiming start(boolean serverTimingHeader) {
+        RequestTiming timing = new RequestTiming(serverTimingHeader);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /** Timing of the request running on this thread, or {@code null}. */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void record(Phase phase, long elapsedNanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.nanos[phase.ordinal()] += elapsedNanos;
+            timing.calls[phase.ordinal()]++;
+        }
+    }
+
+    /** Whether the response should carry a {@code Server-Timing} header. */
+    public boolean serverTimingHeader() {
+        return serverTimingHeader;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - start;
+    }
+
+    /** {@code Server-Timing} value with the phases seen so far and the total up to now. */
+    public String headerValue() {
+        StringBuilder value = new StringBuilder();
+        for (Phase phase : PHASES) {
+            int i = phase.ordinal();
+            if (calls[i] == 0) continue;
+            value.append(phase.metric).append(";dur=").append(millis(nanos[i]));
+            if (calls[i] > 1) value.append(";desc=\"").append(calls[i]).append(" calls\"");
+            value.append(", ");
+        }
+        return value.append("total;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    /** {@code key=value} pairs for the slow-request log. */
+    String summary() {
+        StringBuilder summary = new StringBuilder();
+        for (Phase phase : PHASES) {
+            int i = phase.ordinal();
+            summary.append(' ').append(phase.metric).append("_ms=").append(millis(nanos[i]));
+            if (phase == Phase.DB) summary.append(" db_calls=").append(calls[i]);
+        }
+        return summary.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
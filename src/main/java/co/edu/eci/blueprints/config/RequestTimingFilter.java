@@ -0,0 +1,56 @@
+package co.edu.eci.blueprints.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Opens a {@link RequestTiming} for each request and, when it ends, logs a {@code key=value}
+ * record if it took longer than the slow-request threshold. With the header enabled the
+ * response carries {@code Server-Timing}; the JSON converter adds it just before writing the
+ * body (so serialization is included) and this filter adds it for responses without one.
+ * Requests handed to the async API are not timed past the handler: their work runs on other threads.
+ */
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestTimingFilter.class);
+
+    private final boolean serverTimingHeader;
+    private final long slowNanos;
+
+    public RequestTimingFilter(boolean serverTimingHeader, Duration slowThreshold) {
+        this.serverTimingHeader = serverTimingHeader;
+        this.slowNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.start(serverTimingHeader);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTiming.clear();
+        }
+        if (request.isAsyncStarted()) return;
+        if (serverTimingHeader && !response.isCommitted() && !response.containsHeader("Server-Timing")) {
+            response.addHeader("Server-Timing", timing.headerValue());
+        }
+        long elapsed = timing.elapsedNanos();
+        if (elapsed >= slowNanos) {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            log.warn("slow_request method={} route={} uri={} status={} total_ms={}{}",
+                request.getMethod(), route != null ? route : "UNKNOWN", request.getRequestURI(), response.getStatus(),
+                String.format(Locale.ROOT, "%.2f", elapsed / 1_000_000.0), timing.summary());
+        }
+    }
+}
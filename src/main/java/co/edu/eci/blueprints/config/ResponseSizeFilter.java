@@ -0,0 +1,102 @@
+package co.edu.eci.blueprints.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * Records the body size of API responses as {@code http.server.response.size}, tagged like
+ * {@code http.server.requests} (method, route template, status), by counting what the handler
+ * writes. Asynchronous responses are recorded when the async request completes. Bodies written
+ * through a {@link PrintWriter} are counted in characters, which matches bytes for JSON.
+ */
+public class ResponseSizeFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+
+    public ResponseSizeFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CountingResponse counting = new CountingResponse(response);
+        chain.doFilter(request, counting);
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override public void onComplete(AsyncEvent event) { record(request, counting); }
+                @Override public void onTimeout(AsyncEvent event) { }
+                @Override public void onError(AsyncEvent event) { }
+                @Override public void onStartAsync(AsyncEvent event) { }
+            });
+        } else {
+            record(request, counting);
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponse response) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.response.size")
+            .description("Size of API response bodies")
+            .baseUnit("bytes")
+            .tags("method", request.getMethod(),
+                  "uri", route != null ? route.toString() : "UNKNOWN",
+                  "status", String.valueOf(response.getStatus()))
+            .register(registry)
+            .record(response.count);
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private long count;
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (stream == null) {
+                ServletOutputStream target = super.getOutputStream();
+                stream = new ServletOutputStream() {
+                    @Override public void write(int b) throws IOException { target.write(b); count++; }
+                    @Override public void write(byte[] b, int off, int len) throws IOException { target.write(b, off, len); count += len; }
+                    @Override public void flush() throws IOException { target.flush(); }
+                    @Override public void close() throws IOException { target.close(); }
+                    @Override public boolean isReady() { return target.isReady(); }
+                    @Override public void setWriteListener(WriteListener listener) { target.setWriteListener(listener); }
+                };
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                PrintWriter target = super.getWriter();
+                writer = new PrintWriter(new Writer() {
+                    @Override public void write(char[] buf, int off, int len) { target.write(buf, off, len); count += len; }
+                    @Override public void flush() { target.flush(); }
+                    @Override public void close() { target.close(); }
+                });
+            }
+            return writer;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package co.edu.eci.blueprints.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+/**
+ * Upgrades a Postgres schema created before the ordered point list and the version/stats columns
+ * ({@code db/postgresql/upgrade-points-and-stats.sql}): backfills {@code blueprint_points.point_index}
+ * from the rows' physical order and initializes the new {@code blueprint} columns. It is registered
+ * as a database initializer, so it runs before Hibernate's {@code ddl-auto}, which cannot add a
+ * NOT NULL order column to a populated table. The script is idempotent and skipped on other
+ * databases (the H2 fallback is always created from scratch). Disable with
+ * {@code blueprints.schema.upgrade=false} when the schema is managed outside the application.
+ */
+@Configuration
+@ConditionalOnProperty(name = "blueprints.schema.upgrade", havingValue = "true", matchIfMissing = true)
+public class SchemaUpgradeConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaUpgradeConfig.class);
+
+    @Bean
+    public DataSourceScriptDatabaseInitializer postgresSchemaUpgrade(DataSource dataSource) {
+        DatabaseInitializationSettings settings = new DatabaseInitializationSettings();
+        settings.setSchemaLocations(List.of("classpath:db/postgresql/upgrade-points-and-stats.sql"));
+        settings.setMode(DatabaseInitializationMode.ALWAYS);
+        // A single DO block: the script must not be split on semicolons
+        settings.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+        return new DataSourceScriptDatabaseInitializer(dataSource, settings) {
+            @Override
+            public boolean initializeDatabase() {
+                if (!isPostgres(dataSource)) return false;
+                log.info("Upgrading blueprint schema (point_index, version and stats columns) if needed");
+                return super.initializeDatabase();
+            }
+        };
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(product);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect the database product; skipping the schema upgrade", e);
+            return false;
+        }
+    }
+}
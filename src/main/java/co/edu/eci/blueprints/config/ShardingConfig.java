@@ -0,0 +1,60 @@
+package co.edu.eci.blueprints.config;
+
+import co.edu.eci.blueprints.persistence.ShardRebalancer;
+import co.edu.eci.blueprints.persistence.ShardedBlueprintPersistence;
+import co.edu.eci.blueprints.persistence.ShardingProperties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Author-sharded blueprint storage ({@code blueprints.sharding.enabled=true}). Each configured
+ * shard gets its own Hikari pool, tuned like the main one from {@code spring.datasource.hikari.*},
+ * and {@link ShardedBlueprintPersistence} replaces the JPA persistence. The main datasource is
+ * still used by JPA for schema management only.
+ */
+@Configuration
+@ConditionalOnProperty(name = "blueprints.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public ShardedBlueprintPersistence shardedBlueprintPersistence(ShardingProperties props, Environment env,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        if (props.shards().isEmpty()) {
+            throw new IllegalStateException("blueprints.sharding.enabled=true but no blueprints.sharding.shards configured");
+        }
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : props.shards()) {
+            HikariConfig cfg = DataSourceConfig.poolConfig(env, "blueprints-shard-" + shard.name(), meterRegistry.getIfAvailable());
+            cfg.setJdbcUrl(shard.url());
+            if (shard.username() != null) cfg.setUsername(shard.username());
+            if (shard.password() != null) cfg.setPassword(shard.password());
+            if (shard.url().startsWith("jdbc:h2:")) cfg.getDataSourceProperties().clear();
+            if (shards.put(shard.name(), new HikariDataSource(cfg)) != null) {
+                throw new IllegalStateException("Duplicate shard name " + shard.name());
+            }
+        }
+        return new ShardedBlueprintPersistence(shards, props.virtualNodes());
+    }
+
+    /**
+     * Moves authors to their shard after one was added; run it as a one-off job (see README).
+     */
+    @Bean
+    @ConditionalOnProperty(name = "blueprints.sharding.rebalance", havingValue = "true")
+    public ApplicationRunner shardRebalance(ShardedBlueprintPersistence persistence) {
+        return args -> new ShardRebalancer(persistence).rebalance();
+    }
+}
@@ -0,0 +1,51 @@
+package co.edu.eci.blueprints.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter that adds the time spent serializing the body to the {@code ser} phase of the
+ * current {@link RequestTiming}. When the request wants a {@code Server-Timing} header the body is
+ * serialized into a buffer first, so the header can include serialization and still be sent
+ * before the body; otherwise it is written straight to the response (and the time includes
+ * writing to the socket).
+ */
+class TimingJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+    TimingJacksonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        if (!timing.serverTimingHeader()) {
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                RequestTiming.record(RequestTiming.Phase.SERIALIZATION, System.nanoTime() - start);
+            }
+            return;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override public OutputStream getBody() { return buffer; }
+            @Override public HttpHeaders getHeaders() { return outputMessage.getHeaders(); }
+        });
+        RequestTiming.record(RequestTiming.Phase.SERIALIZATION, System.nanoTime() - start);
+        outputMessage.getHeaders().add("Server-Timing", timing.headerValue());
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
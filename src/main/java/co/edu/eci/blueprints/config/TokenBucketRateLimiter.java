@@ -0,0 +1,80 @@
+package co.edu.eci.blueprints.config;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per key ({@code rate} tokens per second, up to {@code burst} saved), lock-free.
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (the generic cell rate algorithm): taking a token moves that time one interval forward with a
+ * CAS, and the request is allowed while it stays within {@code burst} intervals of now.
+ * <p>
+ * A bucket whose time has passed is full, which is the same as not having one, so idle keys are
+ * dropped without losing anything once the map reaches {@code maxKeys}. If it is still full after
+ * that (many active keys, e.g. spoofed addresses), arbitrary buckets are dropped down to three
+ * quarters of the cap; those keys get a fresh burst.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public TokenBucketRateLimiter(double ratePerSecond, int burst, int maxKeys) {
+        this(ratePerSecond, burst, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double ratePerSecond, int burst, int maxKeys, LongSupplier clock) {
+        if (ratePerSecond <= 0 || burst < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("rate, burst and max keys must be positive");
+        }
+        this.intervalNanos = Math.max(1, Math.round(1e9 / ratePerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    /**
+     * Takes a token from the key's bucket.
+     * @return {@link Duration#ZERO} if the request may go ahead, otherwise how long until the next token
+     */
+    public Duration tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong full = buckets.get(key);
+        if (full == null) {
+            if (buckets.size() >= maxKeys) evict(now);
+            full = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = full.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) return Duration.ofNanos(wait);
+            if (full.compareAndSet(current, next)) return Duration.ZERO;
+        }
+    }
+
+    public int keys() { return buckets.size(); }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) return;
+        try {
+            buckets.values().removeIf(full -> full.get() - now <= 0);
+            Iterator<AtomicLong> it = buckets.values().iterator();
+            int target = maxKeys - maxKeys / 4;
+            while (buckets.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
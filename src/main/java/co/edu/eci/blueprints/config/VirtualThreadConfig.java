@@ -0,0 +1,46 @@
+package co.edu.eci.blueprints.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Backpressure for the virtual-thread execution mode ({@code spring.threads.virtual.enabled=true}).
+ * In that mode Tomcat and the persistence calls run on virtual threads, so API concurrency is
+ * bounded by a semaphore sized to the JDBC pool instead of by the Tomcat thread pool.
+ * The limiter can also be enabled on its own with {@code blueprints.concurrency.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "blueprints.concurrency.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(DataSource dataSource, Environment env)
+            throws SQLException {
+        // unwrap reaches the primary pool through the read-replica router, when there is one
+        int poolSize = dataSource.isWrapperFor(HikariDataSource.class)
+            ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()
+            : env.getProperty("blueprints.concurrency.pool-size", Integer.class, 10);
+        // A few extra permits keep the pool busy while finished requests serialize their responses
+        double factor = env.getProperty("blueprints.concurrency.permits-per-connection", Double.class, 1.5);
+        int limit = Math.max(1, (int) Math.round(poolSize * factor));
+        Duration maxWait = env.getProperty("blueprints.concurrency.max-wait", Duration.class, Duration.ofMillis(500));
+        log.info("API concurrency limited to {} requests (pool size {}), max wait {}", limit, poolSize, maxWait);
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+            new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limit, maxWait));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
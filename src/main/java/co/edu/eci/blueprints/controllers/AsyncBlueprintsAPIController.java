@@ -0,0 +1,266 @@
+package co.edu.eci.blueprints.controllers;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.Point;
+import co.edu.eci.blueprints.persistence.BlueprintNotFoundException;
+import co.edu.eci.blueprints.persistence.BlueprintPersistenceException;
+import co.edu.eci.blueprints.services.AsyncBlueprintsServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/v1/async/blueprints")
+@CrossOrigin(origins = "http://localhost:5173")
+/**
+ * Controlador REST asíncrono para planos (blueprints).
+ * Los métodos retornan un {@link CompletableFuture}: el hilo del servlet se libera mientras
+ * la base de datos trabaja y la respuesta se escribe cuando el futuro completa.
+ */
+public class AsyncBlueprintsAPIController {
+
+    /**
+     * Servicio asíncrono de blueprints.
+     */
+    private final AsyncBlueprintsServices services;
+    private static final String EXECUTE_OK = "execute ok";
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param services Servicio asíncrono de blueprints
+     */
+    public AsyncBlueprintsAPIController(AsyncBlueprintsServices services) { this.services = services; }
+
+    /**
+     * Obtiene todos los planos, o los de varios autores consultados en paralelo.
+     * @param authors Autores a consultar (opcional)
+     * @return Futuro con todos los blueprints, o con un mapa autor → blueprints si se indican autores.
+     */
+    @Operation(
+        summary = "Obtiene todos los planos o los de varios autores",
+        description = "Sin parámetros devuelve todos los blueprints; con authors=a,b lanza una consulta por autor en paralelo"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Consulta exitosa",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = Blueprint.class)
+        )
+    )
+    @GetMapping
+    public CompletableFuture<ResponseEntity<ApiResponseDTO<Object>>> getAll(@RequestParam(required = false) List<String> authors) {
+        CompletableFuture<?> data = authors == null || authors.isEmpty()
+            ? services.getAllBlueprints()
+            : services.getBlueprintsByAuthors(authors);
+        return data.handle((result, error) -> error == null
+            ? ResponseEntity.ok(new ApiResponseDTO<Object>(200, EXECUTE_OK, result))
+            : failure(error));
+    }
+
+    /**
+     * Transmite todos los planos como JSON delimitado por saltos de línea, uno por línea,
+     * pidiendo el siguiente a la persistencia solo después de escribir el anterior.
+     * @return Emisor de la respuesta
+     */
+    @Operation(
+        summary = "Transmite todos los planos",
+        description = "Devuelve los blueprints como NDJSON a medida que se escriben"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Transmisión iniciada"
+    )
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseBodyEmitter stream() {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        services.publishAllBlueprints().subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription = s;
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(Blueprint bp) {
+                try {
+                    emitter.send(bp, MediaType.APPLICATION_JSON);
+                    emitter.send("\n", MediaType.TEXT_PLAIN);
+                    subscription.request(1);
+                } catch (IOException e) {
+                    subscription.cancel();
+                    emitter.completeWithError(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) { emitter.completeWithError(t); }
+
+            @Override
+            public void onComplete() { emitter.complete(); }
+        });
+        return emitter;
+    }
+
+    /**
+     * Obtiene los planos de un autor específico.
+     * @param author Nombre del autor
+     * @return Futuro con el listado de planos o error 404 si no existe el autor.
+     */
+    @Operation(
+        summary = "Obtiene los planos por autor",
+        description = "Devuelve todos los blueprints de un autor específico"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Consulta exitosa",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = Blueprint.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "Autor no encontrado"
+    )
+    @GetMapping("/{author}")
+    public CompletableFuture<ResponseEntity<ApiResponseDTO<Set<Blueprint>>>> byAuthor(@PathVariable String author) {
+        return services.getBlueprintsByAuthor(author).handle((blueprints, error) -> error == null
+            ? ResponseEntity.ok(new ApiResponseDTO<>(200, EXECUTE_OK, blueprints))
+            : failure(error));
+    }
+
+    /**
+     * Obtiene un plano específico por autor y nombre.
+     * @param author Nombre del autor
+     * @param bpname Nombre del plano
+     * @return Futuro con el plano o error 404 si no existe.
+     */
+    @Operation(
+        summary = "Obtiene un plano por autor y nombre",
+        description = "Devuelve un blueprint específico dado el autor y el nombre"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Consulta exitosa",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = Blueprint.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "Plano no encontrado"
+    )
+    @GetMapping("/{author}/{bpname}")
+    public CompletableFuture<ResponseEntity<ApiResponseDTO<Blueprint>>> byAuthorAndName(@PathVariable String author,
+                                                                                      @PathVariable String bpname) {
+        return services.getBlueprint(author, bpname).handle((blueprint, error) -> error == null
+            ? ResponseEntity.ok(new ApiResponseDTO<>(200, EXECUTE_OK, blueprint))
+            : failure(error));
+    }
+
+    /**
+     * Crea un nuevo plano en el sistema.
+     * @param req Datos del nuevo plano
+     * @return Futuro con el plano creado o error 400 si falla la persistencia.
+     */
+    @Operation(
+        summary = "Crea un nuevo plano",
+        description = "Agrega un nuevo blueprint al sistema"
+    )
+    @ApiResponse(
+        responseCode = "201",
+        description = "Plano creado",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = Blueprint.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Error de persistencia"
+    )
+    @PostMapping
+    public CompletableFuture<ResponseEntity<ApiResponseDTO<Blueprint>>> add(
+            @Valid @RequestBody BlueprintsAPIController.NewBlueprintRequest req) {
+        Blueprint bp = new Blueprint(req.author(), req.name(), req.points());
+        return services.addNewBlueprint(bp).handle((done, error) -> error == null
+            ? ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponseDTO<>(201, "created", bp))
+            : failure(error));
+    }
+
+    /**
+     * Agrega un punto a un plano existente.
+     * @param author Nombre del autor
+     * @param bpname Nombre del plano
+     * @param p Punto a agregar
+     * @return Futuro con estado 202 si se agrega, o 404 si no existe el plano.
+     */
+    @Operation(
+        summary = "Agrega un punto a un plano existente",
+        description = "Añade un nuevo punto a un blueprint específico"
+    )
+    @ApiResponse(
+        responseCode = "202",
+        description = "Punto agregado"
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "Plano no encontrado"
+    )
+    @PutMapping("/{author}/{bpname}/points")
+    public CompletableFuture<ResponseEntity<ApiResponseDTO<Blueprint>>> addPoint(@PathVariable String author,
+                                                                               @PathVariable String bpname,
+                                                                               @RequestBody Point p) {
+        return services.addPoint(author, bpname, p.x(), p.y()).handle((done, error) -> error == null
+            ? ResponseEntity.status(HttpStatus.ACCEPTED).body(new ApiResponseDTO<Blueprint>(202, "point added", null))
+            : failure(error));
+    }
+
+    /**
+     * Traduce el error de un futuro a la respuesta equivalente del controlador síncrono.
+     * Un executor saturado se reporta como 503; los errores inesperados se propagan.
+     */
+    private static <T> ResponseEntity<ApiResponseDTO<T>> failure(Throwable error) {
+        Throwable cause = AsyncBlueprintsServices.unwrap(error);
+        if (cause instanceof BlueprintNotFoundException) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponseDTO<>(404, cause.getMessage(), null));
+        }
+        if (cause instanceof BlueprintPersistenceException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponseDTO<>(400, cause.getMessage(), null));
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(new ApiResponseDTO<>(503, "server busy", null));
+        }
+        throw error instanceof CompletionException ce ? ce : new CompletionException(cause);
+    }
+}
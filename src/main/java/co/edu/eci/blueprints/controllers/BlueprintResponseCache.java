@@ -0,0 +1,261 @@
+package co.edu.eci.blueprints.controllers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.eci.blueprints.config.RequestTiming;
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.persistence.BlueprintNotFoundException;
+import co.edu.eci.blueprints.persistence.BlueprintVersion;
+import co.edu.eci.blueprints.services.BlueprintsServices;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Caché de respuestas ya serializadas de {@code GET /{author}/{bpname}}: el {@link ApiResponseDTO}
+ * en JSON y sus variantes gzip y deflate, comprimidas una sola vez al máximo nivel. Cada entrada
+ * corresponde a una versión (id y número de versión) del plano ya filtrado por el filtro activo;
+ * antes de usarla se consulta solo la versión actual, así que un acierto no carga puntos, no
+ * filtra, no serializa ni comprime: escribe los bytes guardados.
+ * <p>
+ * Se guarda una versión por plano y representación. El tamaño total está acotado por
+ * {@code max-size}; al superarlo se descartan entradas arbitrarias.
+ */
+@Component
+public class BlueprintResponseCache implements MeterBinder {
+
+    /**
+     * Clave de una entrada.
+     * @param representation Forma de la respuesta (hoy solo el plano dentro de ApiResponseDTO)
+     * @param author Autor del plano
+     * @param name Nombre del plano
+     */
+    private record Key(String representation, String author, String name) { }
+
+    /**
+     * Cuerpo serializado de una versión del plano.
+     * @param id Id del plano (distingue un plano borrado y vuelto a crear)
+     * @param version Versión del plano
+     * @param raw JSON sin comprimir
+     * @param gzip Variante gzip, o null si no reduce el tamaño
+     * @param deflate Variante deflate (zlib), o null si no reduce el tamaño
+     */
+    private record Body(Long id, long version, byte[] raw, byte[] gzip, byte[] deflate) {
+        long size() {
+            return raw.length + (gzip != null ? gzip.length : 0) + (deflate != null ? deflate.length : 0);
+        }
+
+        boolean matches(BlueprintVersion v) {
+            return version == v.version() && id != null && id.equals(v.id());
+        }
+    }
+
+    private static final String BLUEPRINT = "blueprint";
+    /**
+     * Por debajo de este tamaño no vale la pena comprimir.
+     */
+    private static final int MIN_COMPRESS_SIZE = 256;
+
+    private final BlueprintsServices services;
+    private final ObjectMapper mapper;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final Map<Key, Body> cache = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param services Servicio de blueprints
+     * @param mapper ObjectMapper de Spring MVC, para producir el mismo JSON que el conversor
+     * @param enabled Si la caché está activa
+     * @param maxSize Tamaño máximo de todas las entradas
+     */
+    public BlueprintResponseCache(BlueprintsServices services, ObjectMapper mapper,
+                                  @Value("${blueprints.response-cache.enabled:true}") boolean enabled,
+                                  @Value("${blueprints.response-cache.max-size:64MB}") DataSize maxSize) {
+        this.services = services;
+        this.mapper = mapper;
+        this.enabled = enabled;
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    public boolean enabled() { return enabled; }
+
+    /**
+     * Respuesta 200 con el plano, desde la caché si la versión guardada es la actual.
+     * @param author Autor del plano
+     * @param name Nombre del plano
+     * @param acceptEncoding Cabecera Accept-Encoding de la petición (puede ser null)
+     * @return ResponseEntity con el cuerpo en la codificación preferida por el cliente
+     * @throws BlueprintNotFoundException si el plano no existe
+     */
+    public ResponseEntity<byte[]> blueprint(String author, String name, String acceptEncoding) throws BlueprintNotFoundException {
+        Key key = new Key(BLUEPRINT, author, name);
+        Body body = cache.get(key);
+        if (body != null && matchesCurrent(key, body)) {
+            hits.increment();
+        } else {
+            misses.increment();
+            body = serialize(services.getBlueprint(author, name));
+            store(key, body);
+        }
+        return respond(body, acceptEncoding);
+    }
+
+    private boolean matchesCurrent(Key key, Body body) throws BlueprintNotFoundException {
+        try {
+            return body.matches(services.getVersion(key.author(), key.name()));
+        } catch (BlueprintNotFoundException e) {
+            // El plano se borró: su entrada ya no sirve
+            if (cache.remove(key, body)) bytes.addAndGet(-body.size());
+            throw e;
+        }
+    }
+
+    private Body serialize(Blueprint bp) {
+        long start = System.nanoTime();
+        try {
+            byte[] raw = mapper.writeValueAsBytes(new ApiResponseDTO<>(200, "execute ok", bp));
+            byte[] gzip = null;
+            byte[] deflate = null;
+            if (raw.length >= MIN_COMPRESS_SIZE) {
+                gzip = smaller(raw, compress(raw, true));
+                deflate = smaller(raw, compress(raw, false));
+            }
+            return new Body(bp.getId(), bp.getVersion(), raw, gzip, deflate);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            RequestTiming.record(RequestTiming.Phase.SERIALIZATION, System.nanoTime() - start);
+        }
+    }
+
+    private static byte[] smaller(byte[] raw, byte[] compressed) {
+        return compressed.length < raw.length ? compressed : null;
+    }
+
+    private static byte[] compress(byte[] raw, boolean gzip) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(raw.length / 4 + 64);
+        Deflater deflater = gzip ? null : new Deflater(Deflater.BEST_COMPRESSION);
+        // GZIPOutputStream usa su propio Deflater; el nivel se fija antes de escribir
+        try (OutputStream out = gzip
+                ? new GZIPOutputStream(buffer) { { def.setLevel(Deflater.BEST_COMPRESSION); } }
+                : new DeflaterOutputStream(buffer, deflater)) {
+            out.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (deflater != null) deflater.end();
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Guarda la entrada salvo que ya haya una versión más nueva del mismo plano, y descarta
+     * entradas si el total supera el máximo.
+     */
+    private void store(Key key, Body body) {
+        if (body.size() > maxBytes / 4) return;
+        long[] delta = new long[1];
+        cache.compute(key, (k, old) -> {
+            if (old != null && old.id() != null && old.id().equals(body.id()) && old.version() > body.version()) return old;
+            delta[0] = body.size() - (old != null ? old.size() : 0);
+            return body;
+        });
+        if (bytes.addAndGet(delta[0]) <= maxBytes) return;
+        long target = maxBytes - maxBytes / 4;
+        for (Key k : cache.keySet()) {
+            if (bytes.get() <= target) break;
+            Body removed = cache.remove(k);
+            if (removed != null) bytes.addAndGet(-removed.size());
+        }
+    }
+
+    private static ResponseEntity<byte[]> respond(Body body, String acceptEncoding) {
+        String encoding = preferredEncoding(acceptEncoding);
+        byte[] bytes = switch (encoding) {
+            case "gzip" -> body.gzip();
+            case "deflate" -> body.deflate();
+            default -> null;
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (bytes == null) {
+            bytes = body.raw();
+        } else {
+            response.header(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null && timing.serverTimingHeader()) response.header("Server-Timing", timing.headerValue());
+        return response.contentLength(bytes.length).body(bytes);
+    }
+
+    /**
+     * Elige gzip o deflate si el cliente los acepta (q &gt; 0), en ese orden; si no, identity.
+     * @param acceptEncoding Cabecera Accept-Encoding (puede ser null)
+     * @return "gzip", "deflate" o "identity"
+     */
+    static String preferredEncoding(String acceptEncoding) {
+        if (acceptEncoding == null) return "identity";
+        boolean gzip = false;
+        boolean deflate = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = true;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (!accepted) continue;
+            if (coding.equals("gzip") || coding.equals("x-gzip") || coding.equals("*")) gzip = true;
+            if (coding.equals("deflate")) deflate = true;
+        }
+        return gzip ? "gzip" : deflate ? "deflate" : "identity";
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("blueprints.response.cache.requests", hits, LongAdder::sum)
+            .tag("result", "hit").description("Blueprint responses written from the serialized-response cache")
+            .register(registry);
+        FunctionCounter.builder("blueprints.response.cache.requests", misses, LongAdder::sum)
+            .tag("result", "miss").description("Blueprint responses serialized and compressed on request")
+            .register(registry);
+        Gauge.builder("blueprints.response.cache.size", bytes, AtomicLong::get)
+            .description("Bytes held by the serialized-response cache")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+}
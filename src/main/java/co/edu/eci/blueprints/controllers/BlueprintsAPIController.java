@@ -1,7 +1,11 @@
 package co.edu.eci.blueprints.controllers;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,13 +14,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import co.edu.eci.blueprints.events.BlueprintEventBroadcaster;
 import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintChanges;
+import co.edu.eci.blueprints.model.BlueprintKey;
+import co.edu.eci.blueprints.model.BlueprintStats;
 import co.edu.eci.blueprints.model.Point;
 import co.edu.eci.blueprints.persistence.BlueprintNotFoundException;
 import co.edu.eci.blueprints.persistence.BlueprintPersistenceException;
+import co.edu.eci.blueprints.services.BatchOperation;
+import co.edu.eci.blueprints.services.BatchResult;
+import co.edu.eci.blueprints.services.BlueprintsBatchService;
 import co.edu.eci.blueprints.services.BlueprintsServices;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -39,13 +53,46 @@ public class BlueprintsAPIController {
      * Servicio principal para operaciones sobre blueprints.
      */
     private final BlueprintsServices services;
+    /**
+     * Difusor de eventos para las suscripciones en vivo.
+     */
+    private final BlueprintEventBroadcaster broadcaster;
+    /**
+     * Servicio para lotes de modificaciones.
+     */
+    private final BlueprintsBatchService batchService;
+    /**
+     * Caché de respuestas serializadas y comprimidas de un plano.
+     */
+    private final BlueprintResponseCache responseCache;
     private static final String EXECUTE_OK = "execute ok";
+    /**
+     * Máximo número de puntos que se pueden pedir en un solo rango.
+     */
+    private static final int MAX_POINTS_LIMIT = 10_000;
+    /**
+     * Máximo número de claves en una consulta múltiple.
+     */
+    private static final int MAX_LOOKUP_KEYS = 500;
+    /**
+     * Máximo número de operaciones en un lote.
+     */
+    private static final int MAX_BATCH_OPERATIONS = 1000;
 
     /**
      * Constructor con inyección de dependencias.
      * @param services Servicio de blueprints
+     * @param broadcaster Difusor de eventos de cambio
+     * @param batchService Servicio de lotes
+     * @param responseCache Caché de respuestas serializadas
      */
-    public BlueprintsAPIController(BlueprintsServices services) { this.services = services; }
+    public BlueprintsAPIController(BlueprintsServices services, BlueprintEventBroadcaster broadcaster,
+                                   BlueprintsBatchService batchService, BlueprintResponseCache responseCache) {
+        this.services = services;
+        this.broadcaster = broadcaster;
+        this.batchService = batchService;
+        this.responseCache = responseCache;
+    }
 
     /**
      * Obtiene todos los planos almacenados.
@@ -104,7 +151,8 @@ public class BlueprintsAPIController {
      * Obtiene un plano específico por autor y nombre.
      * @param author Nombre del autor
      * @param bpname Nombre del plano
-     * @return ResponseEntity con el plano o error 404 si no existe.
+     * @param acceptEncoding Codificaciones aceptadas por el cliente (gzip, deflate)
+     * @return ResponseEntity con el plano (comprimido si el cliente lo acepta) o error 404 si no existe.
      */
     @Operation(
         summary = "Obtiene un plano por autor y nombre",
@@ -123,8 +171,10 @@ public class BlueprintsAPIController {
         description = "Plano no encontrado"
     )
     @GetMapping("/{author}/{bpname}")
-    public ResponseEntity<ApiResponseDTO<Blueprint>> byAuthorAndName(@PathVariable String author, @PathVariable String bpname) {
+    public ResponseEntity<?> byAuthorAndName(@PathVariable String author, @PathVariable String bpname,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
+            if (responseCache.enabled()) return responseCache.blueprint(author, bpname, acceptEncoding);
             Blueprint blueprint = services.getBlueprint(author, bpname);
             ApiResponseDTO<Blueprint> response = new ApiResponseDTO<>(200, EXECUTE_OK, blueprint);
             return ResponseEntity.ok(response);
@@ -134,6 +184,200 @@ public class BlueprintsAPIController {
         }
     }
 
+    /**
+     * Obtiene varios planos por autor y nombre en una sola petición y un solo acceso a la base de datos.
+     * @param req Claves de los planos buscados
+     * @return ResponseEntity con un resultado por clave (200 o 404), en el orden pedido, o 400 si la petición es inválida
+     * (sin claves, más de {@value #MAX_LOOKUP_KEYS}, o una clave nula o con autor o nombre vacío).
+     */
+    @Operation(
+        summary = "Obtiene varios planos por autor y nombre",
+        description = "Devuelve un resultado por cada clave pedida, con code 404 para las que no existen"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Consulta exitosa",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = LookupResult.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Petición inválida"
+    )
+    @PostMapping("/lookup")
+    public ResponseEntity<ApiResponseDTO<List<LookupResult>>> lookup(@Valid @RequestBody LookupRequest req) {
+        if (req.keys() == null || req.keys().isEmpty() || req.keys().size() > MAX_LOOKUP_KEYS) {
+            ApiResponseDTO<List<LookupResult>> response = new ApiResponseDTO<>(400,
+                "keys must contain between 1 and " + MAX_LOOKUP_KEYS + " entries", null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        if (req.keys().stream().anyMatch(k -> k == null || k.author() == null || k.author().isBlank()
+                || k.name() == null || k.name().isBlank())) {
+            ApiResponseDTO<List<LookupResult>> response = new ApiResponseDTO<>(400,
+                "every key needs a non-blank author and name", null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        Map<BlueprintKey, Blueprint> found = services.getBlueprints(req.keys());
+        List<LookupResult> results = req.keys().stream()
+            .map(k -> {
+                Blueprint bp = found.get(k);
+                return bp != null
+                    ? new LookupResult(k.author(), k.name(), 200, bp)
+                    : new LookupResult(k.author(), k.name(), 404, null);
+            })
+            .toList();
+        return ResponseEntity.ok(new ApiResponseDTO<>(200, EXECUTE_OK, results));
+    }
+
+    /**
+     * Obtiene un rango de puntos de un plano sin cargar la lista completa.
+     * @param author Nombre del autor
+     * @param bpname Nombre del plano
+     * @param offset Índice del primer punto (base 0)
+     * @param limit Número máximo de puntos a retornar
+     * @return ResponseEntity con los puntos del rango, 400 si el rango es inválido o 404 si no existe el plano.
+     */
+    @Operation(
+        summary = "Obtiene un rango de puntos de un plano",
+        description = "Devuelve los puntos en las posiciones [offset, offset + limit) tal como están almacenados"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Consulta exitosa",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = co.edu.eci.blueprints.model.Point.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Rango inválido"
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "Plano no encontrado"
+    )
+    @GetMapping("/{author}/{bpname}/points")
+    public ResponseEntity<ApiResponseDTO<List<Point>>> pointsRange(@PathVariable String author, @PathVariable String bpname,
+                                                                  @RequestParam(defaultValue = "0") int offset,
+                                                                  @RequestParam(defaultValue = "1000") int limit) {
+        if (offset < 0 || limit < 1 || limit > MAX_POINTS_LIMIT) {
+            ApiResponseDTO<List<Point>> response = new ApiResponseDTO<>(400,
+                "offset must be >= 0 and limit between 1 and " + MAX_POINTS_LIMIT, null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        try {
+            List<Point> points = services.getPoints(author, bpname, offset, limit);
+            ApiResponseDTO<List<Point>> response = new ApiResponseDTO<>(200, EXECUTE_OK, points);
+            return ResponseEntity.ok(response);
+        } catch (BlueprintNotFoundException e) {
+            ApiResponseDTO<List<Point>> response = new ApiResponseDTO<>(404, e.getMessage(), null);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+
+    /**
+     * Obtiene los cambios de un plano desde una versión conocida por el cliente.
+     * @param author Nombre del autor
+     * @param bpname Nombre del plano
+     * @param id Id del plano al que corresponde la versión del cliente (el de la respuesta anterior)
+     * @param since Última versión conocida por el cliente
+     * @return ResponseEntity con los puntos agregados o la lista completa si fue reemplazada, o 404 si no existe el plano.
+     */
+    @Operation(
+        summary = "Obtiene los cambios de un plano desde una versión",
+        description = "Devuelve solo los puntos agregados desde la versión indicada del plano con el id indicado, "
+            + "o la lista completa con fullReplace=true si fue reescrita o el plano es otro (borrado y vuelto a crear)"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Consulta exitosa",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = BlueprintChanges.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Versión inválida"
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "Plano no encontrado"
+    )
+    @GetMapping("/{author}/{bpname}/changes")
+    public ResponseEntity<ApiResponseDTO<BlueprintChanges>> changes(@PathVariable String author, @PathVariable String bpname,
+                                                                   @RequestParam long id, @RequestParam long since) {
+        if (since < 0) {
+            ApiResponseDTO<BlueprintChanges> response = new ApiResponseDTO<>(400, "since must be >= 0", null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        try {
+            BlueprintChanges changes = services.getChanges(author, bpname, id, since);
+            ApiResponseDTO<BlueprintChanges> response = new ApiResponseDTO<>(200, EXECUTE_OK, changes);
+            return ResponseEntity.ok(response);
+        } catch (BlueprintNotFoundException e) {
+            ApiResponseDTO<BlueprintChanges> response = new ApiResponseDTO<>(404, e.getMessage(), null);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+
+    /**
+     * Obtiene las estadísticas geométricas de un plano, guardadas junto a él, sin leer sus puntos.
+     * @param author Nombre del autor
+     * @param bpname Nombre del plano
+     * @return ResponseEntity con las estadísticas, o 404 si no existe el plano.
+     */
+    @Operation(
+        summary = "Obtiene las estadísticas de un plano",
+        description = "Número de puntos, extremos, longitud del recorrido y centroide de los puntos almacenados (sin filtrar), sin leer los puntos"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Consulta exitosa",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = BlueprintStats.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "Plano no encontrado"
+    )
+    @GetMapping("/{author}/{bpname}/stats")
+    public ResponseEntity<ApiResponseDTO<BlueprintStats>> stats(@PathVariable String author, @PathVariable String bpname) {
+        try {
+            BlueprintStats stats = services.getStats(author, bpname);
+            ApiResponseDTO<BlueprintStats> response = new ApiResponseDTO<>(200, EXECUTE_OK, stats);
+            return ResponseEntity.ok(response);
+        } catch (BlueprintNotFoundException e) {
+            ApiResponseDTO<BlueprintStats> response = new ApiResponseDTO<>(404, e.getMessage(), null);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+
+    /**
+     * Suscribe al cliente a los cambios de un plano mediante Server-Sent Events.
+     * Eventos: POINT_ADDED, UPDATED, DELETED y RESYNC (el cliente debe consultar /changes).
+     * @param author Nombre del autor
+     * @param bpname Nombre del plano
+     * @return Emisor SSE de la suscripción
+     */
+    @Operation(
+        summary = "Suscripción a los cambios de un plano",
+        description = "Flujo SSE con los puntos agregados, actualizaciones y eliminación del blueprint"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Suscripción abierta"
+    )
+    @GetMapping(path = "/{author}/{bpname}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String author, @PathVariable String bpname) {
+        return broadcaster.subscribe(author, bpname);
+    }
+
     /**
      * Crea un nuevo plano en el sistema.
      * @param req Datos del nuevo plano
@@ -168,6 +412,54 @@ public class BlueprintsAPIController {
         }
     }
 
+    /**
+     * Aplica un lote ordenado de creaciones, actualizaciones, puntos y eliminaciones en una sola transacción.
+     * @param req Operaciones del lote y modo atómico
+     * @return ResponseEntity con el resultado de cada operación: 200 si el lote se confirmó,
+     *         409 si un lote atómico fue revertido, o 400 si la petición es inválida.
+     */
+    @Operation(
+        summary = "Aplica un lote de modificaciones",
+        description = "Ejecuta las operaciones CREATE, UPDATE, ADD_POINT y DELETE en orden dentro de una transacción; con atomic=true cualquier error revierte todo el lote"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Lote confirmado",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = BatchResult.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "409",
+        description = "Lote atómico revertido"
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Petición inválida"
+    )
+    @ApiResponse(
+        responseCode = "501",
+        description = "Lote atómico no disponible con la persistencia por shards"
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponseDTO<BatchResult>> batch(@RequestBody BatchRequest req) {
+        if (req.operations() == null || req.operations().isEmpty() || req.operations().size() > MAX_BATCH_OPERATIONS) {
+            ApiResponseDTO<BatchResult> response = new ApiResponseDTO<>(400,
+                "operations must contain between 1 and " + MAX_BATCH_OPERATIONS + " entries", null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        if (req.atomic() && !batchService.isAtomicSupported()) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(new ApiResponseDTO<>(501,
+                "atomic batches are not supported with sharded persistence", null));
+        }
+        BatchResult result = batchService.apply(req.operations(), req.atomic());
+        if (!result.committed()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponseDTO<>(409, "rolled back", result));
+        }
+        return ResponseEntity.ok(new ApiResponseDTO<>(200, EXECUTE_OK, result));
+    }
+
     /**
      * Agrega un punto a un plano existente.
      * @param author Nombre del autor
@@ -294,6 +586,38 @@ public class BlueprintsAPIController {
             @Valid java.util.List<Point> points
     ) { }
 
+    /**
+     * DTO para la consulta múltiple de planos.
+     * @param keys Claves (autor, nombre) de los planos buscados
+     */
+    public record LookupRequest(
+            java.util.List<BlueprintKey> keys
+    ) { }
+
+    /**
+     * DTO para lotes de modificaciones.
+     * @param atomic Si es verdadero, cualquier error revierte todo el lote
+     * @param operations Operaciones a ejecutar en orden
+     */
+    public record BatchRequest(
+            boolean atomic,
+            java.util.List<BatchOperation> operations
+    ) { }
+
+    /**
+     * Resultado de la consulta múltiple para una clave.
+     * @param author Autor pedido
+     * @param name Nombre pedido
+     * @param code 200 si el plano existe, 404 si no
+     * @param blueprint Plano filtrado (null si no existe)
+     */
+    public record LookupResult(
+            String author,
+            String name,
+            int code,
+            Blueprint blueprint
+    ) { }
+
     /**
      * DTO para la actualización de planos existentes.
      * @param author Autor del plano
@@ -0,0 +1,129 @@
+package co.edu.eci.blueprints.controllers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.eci.blueprints.jfr.FlightRecordingService;
+import co.edu.eci.blueprints.jfr.FlightRecordingService.RecordingStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+/**
+ * Controlador de administración para grabar con JDK Flight Recorder en producción sin reiniciar
+ * ni instalar agentes. Requiere el scope {@code blueprints.admin}.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/jfr")
+public class FlightRecorderController {
+
+    /**
+     * Servicio que maneja la grabación.
+     */
+    private final FlightRecordingService recordings;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param recordings Servicio de grabaciones JFR
+     */
+    public FlightRecorderController(FlightRecordingService recordings) {
+        this.recordings = recordings;
+    }
+
+    /**
+     * Estado de la grabación actual o de la última.
+     * @return ResponseEntity con el estado o 404 si nunca se inició una grabación.
+     */
+    @Operation(summary = "Estado de la grabación JFR")
+    @ApiResponse(responseCode = "200", description = "Grabación actual o última")
+    @ApiResponse(responseCode = "404", description = "No se ha iniciado ninguna grabación")
+    @GetMapping
+    public ResponseEntity<ApiResponseDTO<RecordingStatus>> status() {
+        RecordingStatus status = recordings.status();
+        return status == null
+            ? ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponseDTO<>(404, "no recording", null))
+            : ResponseEntity.ok(new ApiResponseDTO<>(200, "execute ok", status));
+    }
+
+    /**
+     * Inicia una grabación acotada por antigüedad y tamaño (nunca por encima de lo configurado).
+     * @param settings Configuración del JDK: default (bajo costo) o profile
+     * @param maxAge Antigüedad máxima de los datos conservados, p. ej. 10m
+     * @param maxSize Tamaño máximo de los datos conservados, p. ej. 100MB
+     * @return ResponseEntity con el estado, 400 si los parámetros son inválidos o 409 si ya hay una grabación en curso.
+     */
+    @Operation(summary = "Inicia una grabación JFR")
+    @ApiResponse(responseCode = "201", description = "Grabación iniciada")
+    @ApiResponse(responseCode = "400", description = "Parámetros inválidos")
+    @ApiResponse(responseCode = "409", description = "Ya hay una grabación en curso")
+    @PostMapping("/start")
+    public ResponseEntity<ApiResponseDTO<RecordingStatus>> start(@RequestParam(defaultValue = "default") String settings,
+                                                                 @RequestParam(required = false) String maxAge,
+                                                                 @RequestParam(required = false) String maxSize) throws IOException {
+        try {
+            RecordingStatus status = recordings.start(settings,
+                maxAge != null ? DurationStyle.detectAndParse(maxAge) : null,
+                maxSize != null ? DataSize.parse(maxSize) : null);
+            return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponseDTO<>(201, "recording started", status));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponseDTO<>(400, e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponseDTO<>(409, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Detiene la grabación en curso; sus datos se pueden seguir descargando.
+     * @return ResponseEntity con el estado o 409 si no hay grabación en curso.
+     */
+    @Operation(summary = "Detiene la grabación JFR")
+    @ApiResponse(responseCode = "200", description = "Grabación detenida")
+    @ApiResponse(responseCode = "409", description = "No hay grabación en curso")
+    @PostMapping("/stop")
+    public ResponseEntity<ApiResponseDTO<RecordingStatus>> stop() {
+        try {
+            return ResponseEntity.ok(new ApiResponseDTO<>(200, "recording stopped", recordings.stop()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponseDTO<>(409, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Descarga lo grabado hasta ahora como archivo .jfr (para JDK Mission Control o {@code jfr print}).
+     * @return ResponseEntity con el archivo o 409 si no hay grabación.
+     */
+    @Operation(summary = "Descarga la grabación JFR")
+    @ApiResponse(responseCode = "200", description = "Archivo .jfr")
+    @ApiResponse(responseCode = "409", description = "No hay grabación")
+    @GetMapping("/dump")
+    public ResponseEntity<?> dump() throws IOException {
+        Path file;
+        try {
+            file = recordings.dump();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponseDTO<>(409, e.getMessage(), null));
+        }
+        long size = Files.size(file);
+        // El archivo temporal se borra al cerrar el stream, una vez enviado
+        InputStreamResource body = new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"blueprints.jfr\"")
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .contentLength(size)
+            .body(body);
+    }
+}
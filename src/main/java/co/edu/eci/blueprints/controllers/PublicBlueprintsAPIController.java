@@ -2,6 +2,7 @@ package co.edu.eci.blueprints.controllers;
 
 import java.util.Set;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -39,13 +41,19 @@ public class PublicBlueprintsAPIController {
      * Servicio principal para operaciones sobre blueprints.
      */
     private final BlueprintsServices services;
+    /**
+     * Caché de respuestas serializadas y comprimidas de un plano.
+     */
+    private final BlueprintResponseCache responseCache;
 
     /**
      * Constructor con inyección de dependencias.
      * @param services Servicio de blueprints
+     * @param responseCache Caché de respuestas serializadas
      */
-    public PublicBlueprintsAPIController(BlueprintsServices services) { 
+    public PublicBlueprintsAPIController(BlueprintsServices services, BlueprintResponseCache responseCache) { 
         this.services = services; 
+        this.responseCache = responseCache;
     }
 
     /**
@@ -104,7 +112,8 @@ public class PublicBlueprintsAPIController {
      * Obtiene un plano específico por autor y nombre.
      * @param author Nombre del autor
      * @param bpname Nombre del plano
-     * @return ResponseEntity con el plano solicitado y estado 200, o 404 si no se encuentra.
+     * @param acceptEncoding Codificaciones aceptadas por el cliente (gzip, deflate)
+     * @return ResponseEntity con el plano solicitado (comprimido si el cliente lo acepta) y estado 200, o 404 si no se encuentra.
      */
     @Operation(
         summary = "Obtiene un plano específico",
@@ -123,8 +132,10 @@ public class PublicBlueprintsAPIController {
         description = "Plano no encontrado"
     )
     @GetMapping("/{author}/{bpname}")
-    public ResponseEntity<ApiResponseDTO<Blueprint>> byAuthorAndName(@PathVariable String author, @PathVariable String bpname) {
+    public ResponseEntity<?> byAuthorAndName(@PathVariable String author, @PathVariable String bpname,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
+            if (responseCache.enabled()) return responseCache.blueprint(author, bpname, acceptEncoding);
             Blueprint blueprint = services.getBlueprint(author, bpname);
             ApiResponseDTO<Blueprint> response = new ApiResponseDTO<>(200, "execute ok", blueprint);
             return ResponseEntity.ok(response);
@@ -0,0 +1,52 @@
+package co.edu.eci.blueprints.events;
+
+import co.edu.eci.blueprints.model.Point;
+
+/**
+ * Evento de cambio sobre un blueprint, publicado por el servicio después de cada modificación
+ * y enviado a los suscriptores del blueprint.
+ * @param type Tipo de cambio
+ * @param id Id del blueprint: junto con {@code version} es lo que el cliente envía a
+ *           {@code /changes?id=&since=}; si cambia, el blueprint fue borrado y creado de nuevo
+ * @param author Autor del blueprint
+ * @param name Nombre del blueprint
+ * @param version Versión del blueprint después del cambio (null si no se conoce)
+ * @param point Punto agregado (solo para {@link Type#POINT_ADDED})
+ */
+public record BlueprintEvent(Type type, Long id, String author, String name, Long version, Point point) {
+
+    /**
+     * Tipos de evento.
+     * {@code RESYNC} se envía en lugar de los eventos descartados cuando un suscriptor
+     * es lento: el cliente debe consultar {@code /changes?id=&since=} con su último id y versión.
+     * Su id es el del último evento descartado.
+     */
+    public enum Type { POINT_ADDED, UPDATED, DELETED, RESYNC }
+
+    public static BlueprintEvent pointAdded(Long id, String author, String name, long version, Point point) {
+        return new BlueprintEvent(Type.POINT_ADDED, id, author, name, version, point);
+    }
+
+    public static BlueprintEvent updated(Long id, String author, String name, long version) {
+        return new BlueprintEvent(Type.UPDATED, id, author, name, version, null);
+    }
+
+    /**
+     * Evento para una actualización: si el plano fue renombrado, para los suscriptores
+     * del nombre original el plano deja de existir.
+     */
+    public static BlueprintEvent updated(Long id, long version, String originalAuthor, String originalName,
+                                         String newAuthor, String newName) {
+        return originalAuthor.equals(newAuthor) && originalName.equals(newName)
+            ? updated(id, originalAuthor, originalName, version)
+            : deleted(id, originalAuthor, originalName);
+    }
+
+    public static BlueprintEvent deleted(Long id, String author, String name) {
+        return new BlueprintEvent(Type.DELETED, id, author, name, null, null);
+    }
+
+    static BlueprintEvent resync(Long id, String author, String name) {
+        return new BlueprintEvent(Type.RESYNC, id, author, name, null, null);
+    }
+}
@@ -0,0 +1,200 @@
+package co.edu.eci.blueprints.events;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Difunde los eventos de cambio de blueprints a los suscriptores SSE de cada blueprint.
+ * <p>
+ * Publicar nunca bloquea: cada suscriptor tiene un buffer acotado y el envío lo hace una
+ * tarea en un hilo virtual que solo existe mientras hay eventos pendientes, de modo que
+ * un suscriptor inactivo no ocupa ningún hilo. Si el buffer de un suscriptor lento se llena,
+ * sus eventos pendientes se reemplazan por un único {@code RESYNC}.
+ * Los eventos se procesan después del commit de la transacción que los produjo.
+ */
+@Component
+public class BlueprintEventBroadcaster {
+
+    // Marcador interno de heartbeat en la cola de un suscriptor
+    private static final BlueprintEvent HEARTBEAT = new BlueprintEvent(null, null, null, null, null, null);
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Executor sender;
+    private final ScheduledExecutorService heartbeat;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    @Autowired
+    public BlueprintEventBroadcaster(@Value("${blueprints.events.buffer-size:64}") int bufferSize,
+                                     @Value("${blueprints.events.timeout:30m}") Duration timeout,
+                                     @Value("${blueprints.events.heartbeat:25s}") Duration heartbeatInterval) {
+        this(Executors.newVirtualThreadPerTaskExecutor(), bufferSize, timeout);
+        this.heartbeat.scheduleAtFixedRate(this::heartbeat, heartbeatInterval.toMillis(),
+            heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    BlueprintEventBroadcaster(Executor sender, int bufferSize, Duration timeout) {
+        this.sender = sender;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "blueprint-events-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Crea una suscripción a los eventos de un blueprint.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Emisor SSE asociado a la suscripción
+     */
+    public SseEmitter subscribe(String author, String name) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(author, name, emitter);
+        return emitter;
+    }
+
+    void register(String author, String name, SseEmitter emitter) {
+        String key = key(author, name);
+        Subscriber s = new Subscriber(key, emitter);
+        subscribers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(s);
+        emitter.onCompletion(() -> remove(s));
+        emitter.onTimeout(() -> remove(s));
+        emitter.onError(e -> remove(s));
+    }
+
+    /**
+     * Encola el evento para todos los suscriptores del blueprint.
+     * @param event Evento publicado por el servicio
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvent(BlueprintEvent event) {
+        Set<Subscriber> set = subscribers.get(key(event.author(), event.name()));
+        if (set == null) return;
+        for (Subscriber s : set) s.offer(event);
+    }
+
+    /**
+     * @return Número de suscripciones activas en este nodo
+     */
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void heartbeat() {
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber s : set) s.offer(null);
+        }
+    }
+
+    private void remove(Subscriber s) {
+        subscribers.computeIfPresent(s.key, (k, set) -> {
+            set.remove(s);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static String key(String author, String name) {
+        return author + '/' + name;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        if (sender instanceof ExecutorService es) es.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+    }
+
+    /**
+     * Suscriptor con buffer acotado. {@code offer(null)} encola un heartbeat.
+     */
+    private final class Subscriber {
+        private final String key;
+        private final SseEmitter emitter;
+        private final ArrayDeque<BlueprintEvent> queue = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private boolean coalesced;
+
+        private Subscriber(String key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        void offer(BlueprintEvent event) {
+            synchronized (this) {
+                if (event == null) {
+                    if (!queue.isEmpty()) return; // ya hay tráfico pendiente, no hace falta heartbeat
+                    queue.add(HEARTBEAT);
+                } else if (coalesced) {
+                    // El RESYNC pendiente (único elemento de la cola) ya cubre este evento,
+                    // pero debe llevar el id más reciente por si el blueprint se volvió a crear
+                    queue.clear();
+                    queue.add(BlueprintEvent.resync(event.id(), event.author(), event.name()));
+                    return;
+                } else if (queue.size() >= bufferSize) {
+                    queue.clear();
+                    queue.add(BlueprintEvent.resync(event.id(), event.author(), event.name()));
+                    coalesced = true;
+                } else {
+                    queue.add(event);
+                }
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                BlueprintEvent next;
+                synchronized (this) {
+                    next = queue.poll();
+                    if (next == null) {
+                        draining.set(false);
+                        return;
+                    }
+                    if (next.type() == BlueprintEvent.Type.RESYNC) coalesced = false;
+                }
+                try {
+                    if (next == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().name(next.type().name()).data(next));
+                        if (next.type() == BlueprintEvent.Type.DELETED) {
+                            emitter.complete();
+                        }
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    remove(this);
+                    emitter.completeWithError(e);
+                    synchronized (this) {
+                        queue.clear();
+                        draining.set(false);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
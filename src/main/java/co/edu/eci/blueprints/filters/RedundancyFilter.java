@@ -30,6 +30,6 @@ public class RedundancyFilter implements BlueprintsFilter {
             prev = p;
         }
     }
-    return new Blueprint(bp.getAuthor(), bp.getName(), out);
+    return bp.withPoints(out);
     }
 }
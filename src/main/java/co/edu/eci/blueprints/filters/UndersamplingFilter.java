@@ -26,6 +26,6 @@ public class UndersamplingFilter implements BlueprintsFilter {
     for (int i = 0; i < in.size(); i++) {
         if (i % 2 == 0) out.add(in.get(i));      
     }
-    return new Blueprint(bp.getAuthor(), bp.getName(), out);
+    return bp.withPoints(out);
 }
 }
@@ -0,0 +1,29 @@
+package co.edu.eci.blueprints.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A lookup in one of the application's caches. Misses last as long as it took to compute the
+ * value. Emitted once per request, so it is off unless the recording enables it (recordings
+ * started through {@link FlightRecordingService} do).
+ */
+@Name("co.edu.eci.blueprints.CacheLookup")
+@Label("Cache Lookup")
+@Category({"Blueprints", "Cache"})
+@Description("A cache hit or miss")
+@StackTrace(false)
+@Enabled(false)
+public class CacheLookupEvent extends Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Hit")
+    public boolean hit;
+}
@@ -0,0 +1,32 @@
+package co.edu.eci.blueprints.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** A {@code BlueprintsFilter} applied to a blueprint. */
+@Name("co.edu.eci.blueprints.Filter")
+@Label("Blueprint Filter")
+@Category({"Blueprints", "Filter"})
+@Description("A blueprint filter run, with the points before and after filtering")
+@StackTrace(false)
+public class FilterEvent extends Event {
+
+    @Label("Filter")
+    public String filter;
+
+    @Label("Author")
+    public String author;
+
+    @Label("Blueprint")
+    public String name;
+
+    @Label("Points In")
+    public int pointsIn;
+
+    @Label("Points Out")
+    public int pointsOut;
+}
@@ -0,0 +1,124 @@
+package co.edu.eci.blueprints.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Runs at most one on-demand flight recording with the blueprint events enabled. Recordings are
+ * bounded: they keep at most {@code max-age} and {@code max-size} of data (older chunks are
+ * dropped) and stop on their own after {@code max-duration}. A stopped recording can still be
+ * dumped until the next one starts. Events that would copy the environment or system properties
+ * into the recording are always disabled.
+ */
+@Service
+public class FlightRecordingService {
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+    /**
+     * JDK events that copy the process environment, system properties and command line into the
+     * recording (passwords, datasource credentials, key paths); a dump must not carry them.
+     */
+    private static final Set<String> SECRET_EVENTS = Set.of(
+        "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration maxDuration;
+    private Recording recording;
+
+    public FlightRecordingService(@Value("${blueprints.jfr.max-age:30m}") Duration maxAge,
+                                  @Value("${blueprints.jfr.max-size:250MB}") DataSize maxSize,
+                                  @Value("${blueprints.jfr.max-duration:1h}") Duration maxDuration) {
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.maxDuration = maxDuration;
+    }
+
+    public record RecordingStatus(long id, String state, String settings, Instant startTime,
+                                  Duration maxAge, long maxSizeBytes, Duration duration) { }
+
+    /**
+     * Starts a recording with the JDK's {@code default} (low overhead) or {@code profile} settings.
+     * Limits larger than the configured ones are capped.
+     */
+    public synchronized RecordingStatus start(String settings, Duration age, DataSize size) throws IOException {
+        if (!SETTINGS.contains(settings)) throw new IllegalArgumentException("settings must be one of " + SETTINGS);
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        Recording next;
+        try {
+            next = new Recording(Configuration.getConfiguration(settings));
+        } catch (ParseException e) {
+            throw new IOException("Cannot read JFR settings " + settings, e);
+        }
+        next.setName("blueprints-" + settings);
+        next.enable(PersistenceEvent.class);
+        next.enable(FilterEvent.class);
+        next.enable(CacheLookupEvent.class);
+        SECRET_EVENTS.forEach(next::disable);
+        next.setToDisk(true);
+        next.setMaxAge(age == null || age.compareTo(maxAge) > 0 ? maxAge : age);
+        next.setMaxSize((size == null || size.compareTo(maxSize) > 0 ? maxSize : size).toBytes());
+        next.setDuration(maxDuration);
+        next.start();
+        if (recording != null) recording.close();
+        recording = next;
+        return status(recording);
+    }
+
+    public synchronized RecordingStatus stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        return status(recording);
+    }
+
+    /** Current or last recording, or {@code null} if none was started. */
+    public synchronized RecordingStatus status() {
+        return recording == null ? null : status(recording);
+    }
+
+    /**
+     * Writes the data recorded so far to a temporary {@code .jfr} file, which the caller deletes.
+     * The recording keeps running.
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            throw new IllegalStateException("No recording to dump");
+        }
+        Path file = Files.createTempFile("blueprints-", ".jfr");
+        try {
+            recording.dump(file);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) recording.close();
+        recording = null;
+    }
+
+    private static RecordingStatus status(Recording r) {
+        return new RecordingStatus(r.getId(), r.getState().name(), r.getName().substring("blueprints-".length()),
+            r.getStartTime(), r.getMaxAge(), r.getMaxSize(), r.getDuration());
+    }
+}
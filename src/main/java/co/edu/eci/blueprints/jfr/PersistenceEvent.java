@@ -0,0 +1,35 @@
+package co.edu.eci.blueprints.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A {@code BlueprintPersistence} call. Author and name are those of the blueprint the call is
+ * about (empty for calls spanning several); points counts the points read or written.
+ */
+@Name("co.edu.eci.blueprints.Persistence")
+@Label("Blueprint Persistence")
+@Category({"Blueprints", "Persistence"})
+@Description("A call to the blueprint persistence")
+@StackTrace(false)
+public class PersistenceEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Author")
+    public String author;
+
+    @Label("Blueprint")
+    public String name;
+
+    @Label("Points")
+    public int points;
+
+    @Label("Exception")
+    public String exception;
+}
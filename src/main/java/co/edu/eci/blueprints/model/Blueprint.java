@@ -5,11 +5,18 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.ColumnDefault;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.OrderColumn;
 
 @Entity
 public class Blueprint {
@@ -19,12 +26,23 @@ public class Blueprint {
     private String author;
     private String name;
     @ElementCollection
+    @OrderColumn(name = "point_index")
     private final List<Point> points = new ArrayList<>();
+    // Versión monótona: aumenta en 1 por cada punto agregado o reemplazo de la lista
+    @ColumnDefault("1")
+    private long version = 1;
+    // Versión en la que la lista de puntos fue reescrita por última vez
+    @ColumnDefault("1")
+    private long pointsResetVersion = 1;
+    // Estadísticas de los puntos; null en filas anteriores a estas columnas (se calculan al pedirlas)
+    @Embedded
+    private PointStats stats;
     public Blueprint() { };
     public Blueprint(String author, String name, List<Point> pts) {
         this.author = author;
         this.name = name;
         if (pts != null) points.addAll(pts);
+        this.stats = PointStats.of(points);
     }
 
     public Long getId() { return id; }
@@ -32,8 +50,35 @@ public class Blueprint {
     public String getAuthor() { return author; }
     public String getName() { return name; }
     public List<Point> getPoints() { return Collections.unmodifiableList(points); }
+    public long getVersion() { return version; }
+    @JsonIgnore
+    public long getPointsResetVersion() { return pointsResetVersion; }
+
+    // Estadísticas de los puntos, calculadas desde la lista si la fila aún no las tenía
+    @JsonIgnore
+    public PointStats getStats() {
+        if (stats == null) stats = PointStats.of(points);
+        return stats;
+    }
 
-    public void addPoint(Point p) { points.add(p); }
+    public void addPoint(Point p) {
+        getStats().add(p);
+        points.add(p);
+        version++;
+    }
+
+    // Si la lista de puntos ya está en memoria (cargada por JPA en esta sesión o creada sin JPA)
+    @JsonIgnore
+    public boolean isPointsLoaded() {
+        return Hibernate.isInitialized(points);
+    }
+
+    // Registra un punto que el llamador inserta por su cuenta en la posición getStats().getPointCount(),
+    // sin cargar ni modificar la lista; las estadísticas ya deben existir
+    public void pointAppended(Point p) {
+        stats.add(p);
+        version++;
+    }
     
     // Method to clear and replace all points (needed for updates)
     public void replacePoints(List<Point> newPoints) {
@@ -41,6 +86,29 @@ public class Blueprint {
         if (newPoints != null) {
             points.addAll(newPoints);
         }
+        stats = PointStats.of(points);
+        version++;
+        pointsResetVersion = version;
+    }
+
+    // Copy with the same identity and version but different points (used by filters)
+    public Blueprint withPoints(List<Point> newPoints) {
+        Blueprint copy = new Blueprint(author, name, newPoints);
+        copy.id = id;
+        copy.version = version;
+        copy.pointsResetVersion = pointsResetVersion;
+        return copy;
+    }
+
+    // Rebuilds a blueprint read without JPA (e.g. from a shard) with its id and versions
+    public static Blueprint restore(Long id, String author, String name, List<Point> pts,
+                                    long version, long pointsResetVersion) {
+        // El constructor calcula las estadísticas a partir de los puntos
+        Blueprint bp = new Blueprint(author, name, pts);
+        bp.id = id;
+        bp.version = version;
+        bp.pointsResetVersion = pointsResetVersion;
+        return bp;
     }
 
     @Override
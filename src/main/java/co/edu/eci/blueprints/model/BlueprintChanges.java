@@ -0,0 +1,22 @@
+package co.edu.eci.blueprints.model;
+
+import java.util.List;
+
+/**
+ * Cambios de un blueprint a partir de una versión conocida por el cliente.
+ * Si {@code fullReplace} es verdadero la lista fue reescrita (o la versión del cliente
+ * no es válida) y {@code points} contiene todos los puntos; en otro caso contiene solo
+ * los puntos agregados, que ocupan las posiciones desde {@code fromIndex}.
+ * <p>
+ * La versión solo es comparable dentro del mismo {@code id}: un blueprint borrado y vuelto a
+ * crear (o renombrado) es otra fila y vuelve a empezar en la versión 1.
+ * @param author Autor del blueprint
+ * @param name Nombre del blueprint
+ * @param id Id del blueprint; el cliente lo envía junto a la versión en la siguiente consulta
+ * @param version Versión actual del blueprint
+ * @param fullReplace Indica si el cliente debe reemplazar toda su lista de puntos
+ * @param fromIndex Índice del primer punto retornado
+ * @param points Puntos agregados o lista completa
+ */
+public record BlueprintChanges(String author, String name, Long id, long version, boolean fullReplace,
+                               int fromIndex, List<Point> points) { }
@@ -0,0 +1,13 @@
+package co.edu.eci.blueprints.model;
+
+/**
+ * Identificador natural de un blueprint.
+ * @param author Autor del blueprint
+ * @param name Nombre del blueprint
+ */
+public record BlueprintKey(String author, String name) {
+
+    public static BlueprintKey of(Blueprint bp) {
+        return new BlueprintKey(bp.getAuthor(), bp.getName());
+    }
+}
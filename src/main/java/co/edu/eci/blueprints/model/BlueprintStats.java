@@ -0,0 +1,20 @@
+package co.edu.eci.blueprints.model;
+
+/**
+ * Estadísticas geométricas de un blueprint, tal como se exponen en la API.
+ * Los extremos y el centroide son null si el blueprint no tiene puntos.
+ * @param author Autor del blueprint
+ * @param name Nombre del blueprint
+ * @param version Versión del blueprint a la que corresponden
+ * @param pointCount Número de puntos
+ * @param minX Menor coordenada X
+ * @param maxX Mayor coordenada X
+ * @param minY Menor coordenada Y
+ * @param maxY Mayor coordenada Y
+ * @param pathLength Longitud de la polilínea que une los puntos en orden
+ * @param centroidX Promedio de las coordenadas X
+ * @param centroidY Promedio de las coordenadas Y
+ */
+public record BlueprintStats(String author, String name, long version, int pointCount,
+                             Integer minX, Integer maxX, Integer minY, Integer maxY,
+                             double pathLength, Double centroidX, Double centroidY) { }
@@ -0,0 +1,125 @@
+package co.edu.eci.blueprints.model;
+
+import java.util.List;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Estadísticas geométricas de la lista de puntos de un blueprint, guardadas como columnas de su
+ * fila para poder leerlas sin la tabla de puntos. Agregar un punto al final las actualiza en O(1):
+ * además de los extremos se guardan las sumas de coordenadas (el centroide es suma / cantidad) y
+ * el último punto (para sumar el tramo nuevo a la longitud del recorrido).
+ * <p>
+ * Las columnas son nulas en las filas escritas antes de existir estas estadísticas; en ese caso
+ * la entidad no tiene estadísticas y se calculan una vez a partir de los puntos. Los nombres de
+ * columna se fijan porque {@link co.edu.eci.blueprints.persistence.ShardedBlueprintPersistence}
+ * usa las mismas columnas con JDBC.
+ */
+@Embeddable
+public class PointStats {
+    private Integer pointCount;
+    @Column(name = "min_x")
+    private Integer minX;
+    @Column(name = "max_x")
+    private Integer maxX;
+    @Column(name = "min_y")
+    private Integer minY;
+    @Column(name = "max_y")
+    private Integer maxY;
+    @Column(name = "sum_x")
+    private Long sumX;
+    @Column(name = "sum_y")
+    private Long sumY;
+    private Double pathLength;
+    @Column(name = "last_x")
+    private Integer lastX;
+    @Column(name = "last_y")
+    private Integer lastY;
+
+    public PointStats() {
+        pointCount = 0;
+        sumX = 0L;
+        sumY = 0L;
+        pathLength = 0.0;
+    }
+
+    /**
+     * Calcula las estadísticas de una lista completa de puntos.
+     * @param points Puntos en orden
+     * @return Estadísticas de la lista
+     */
+    public static PointStats of(List<Point> points) {
+        PointStats stats = new PointStats();
+        for (Point p : points) stats.add(p);
+        return stats;
+    }
+
+    /**
+     * Restaura estadísticas leídas de columnas sueltas (persistencia sin JPA).
+     * @return Estadísticas, o null si la fila aún no las tiene (pointCount nulo)
+     */
+    public static PointStats restore(Integer pointCount, Integer minX, Integer maxX, Integer minY, Integer maxY,
+                                     Long sumX, Long sumY, Double pathLength, Integer lastX, Integer lastY) {
+        if (pointCount == null) return null;
+        PointStats stats = new PointStats();
+        stats.pointCount = pointCount;
+        stats.minX = minX;
+        stats.maxX = maxX;
+        stats.minY = minY;
+        stats.maxY = maxY;
+        stats.sumX = sumX;
+        stats.sumY = sumY;
+        stats.pathLength = pathLength;
+        stats.lastX = lastX;
+        stats.lastY = lastY;
+        return stats;
+    }
+
+    /**
+     * Incorpora un punto agregado al final de la lista.
+     * @param p Punto agregado
+     */
+    public void add(Point p) {
+        if (pointCount == 0) {
+            minX = maxX = p.x();
+            minY = maxY = p.y();
+        } else {
+            minX = Math.min(minX, p.x());
+            maxX = Math.max(maxX, p.x());
+            minY = Math.min(minY, p.y());
+            maxY = Math.max(maxY, p.y());
+            pathLength += Math.hypot((double) p.x() - lastX, (double) p.y() - lastY);
+        }
+        sumX += p.x();
+        sumY += p.y();
+        lastX = p.x();
+        lastY = p.y();
+        pointCount++;
+    }
+
+    public int getPointCount() { return pointCount; }
+    public Integer getMinX() { return minX; }
+    public Integer getMaxX() { return maxX; }
+    public Integer getMinY() { return minY; }
+    public Integer getMaxY() { return maxY; }
+    public long getSumX() { return sumX; }
+    public long getSumY() { return sumY; }
+    public double getPathLength() { return pathLength; }
+    public Integer getLastX() { return lastX; }
+    public Integer getLastY() { return lastY; }
+
+    /**
+     * Vista de solo lectura para la API.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @param version Versión del blueprint a la que corresponden las estadísticas
+     * @return Estadísticas con el centroide ya calculado
+     */
+    public BlueprintStats toStats(String author, String name, long version) {
+        Double centroidX = pointCount == 0 ? null : (double) sumX / pointCount;
+        Double centroidY = pointCount == 0 ? null : (double) sumY / pointCount;
+        return new BlueprintStats(author, name, version, pointCount, minX, maxX, minY, maxY,
+            pathLength, centroidX, centroidY);
+    }
+}
@@ -0,0 +1,79 @@
+
+package co.edu.eci.blueprints.persistence;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import co.edu.eci.blueprints.model.Blueprint;
+
+/**
+ * Variante asíncrona de {@link BlueprintPersistence}.
+ * Cada operación se ejecuta en un executor acotado y retorna de inmediato; los errores
+ * ({@link BlueprintNotFoundException}, {@link BlueprintPersistenceException}, o
+ * {@link java.util.concurrent.RejectedExecutionException} si el executor está saturado)
+ * se entregan completando el futuro excepcionalmente.
+ */
+public interface AsyncBlueprintPersistence {
+
+    /**
+     * Guarda un nuevo blueprint.
+     * @param bp Blueprint a guardar
+     * @return Futuro que completa cuando el blueprint queda guardado
+     */
+    CompletableFuture<Void> saveBlueprint(Blueprint bp);
+
+    /**
+     * Obtiene un blueprint por autor y nombre.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Futuro con el blueprint encontrado
+     */
+    CompletableFuture<Blueprint> getBlueprint(String author, String name);
+
+    /**
+     * Obtiene todos los blueprints de un autor.
+     * @param author Autor
+     * @return Futuro con el set de blueprints
+     */
+    CompletableFuture<Set<Blueprint>> getBlueprintsByAuthor(String author);
+
+    /**
+     * Obtiene todos los blueprints almacenados.
+     * @return Futuro con el set de todos los blueprints
+     */
+    CompletableFuture<Set<Blueprint>> getAllBlueprints();
+
+    /**
+     * Publica todos los blueprints uno a uno, respetando la demanda del suscriptor.
+     * @return Publicador de blueprints
+     */
+    Flow.Publisher<Blueprint> publishAllBlueprints();
+
+    /**
+     * Agrega un punto a un blueprint existente.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @param x Coordenada X
+     * @param y Coordenada Y
+     * @return Futuro con el id y la versión del blueprint después de agregar el punto
+     */
+    CompletableFuture<BlueprintRevision> addPoint(String author, String name, int x, int y);
+
+    /**
+     * Actualiza un blueprint existente.
+     * @param originalAuthor Autor original del blueprint
+     * @param originalName Nombre original del blueprint
+     * @param updatedBlueprint Blueprint con los nuevos datos
+     * @return Futuro con el id y la versión del blueprint original después de actualizarlo
+     */
+    CompletableFuture<BlueprintRevision> updateBlueprint(String originalAuthor, String originalName, Blueprint updatedBlueprint);
+
+    /**
+     * Elimina un blueprint.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Futuro con el id y la última versión del blueprint eliminado
+     */
+    CompletableFuture<BlueprintRevision> deleteBlueprint(String author, String name);
+}
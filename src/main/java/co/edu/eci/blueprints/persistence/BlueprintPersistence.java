@@ -1,9 +1,16 @@
 
 package co.edu.eci.blueprints.persistence;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintChanges;
+import co.edu.eci.blueprints.model.BlueprintKey;
+import co.edu.eci.blueprints.model.BlueprintStats;
+import co.edu.eci.blueprints.model.Point;
 
 /**
  * Interfaz para la persistencia de blueprints.
@@ -27,6 +34,13 @@ public interface BlueprintPersistence {
      */
     Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException;
 
+    /**
+     * Obtiene varios blueprints por su clave en un solo acceso a la base de datos.
+     * @param keys Claves (autor, nombre) buscadas
+     * @return Mapa con los blueprints encontrados; las claves inexistentes no aparecen
+     */
+    Map<BlueprintKey, Blueprint> getBlueprints(Collection<BlueprintKey> keys);
+
     /**
      * Obtiene todos los blueprints de un autor.
      * @param author Autor
@@ -41,32 +55,98 @@ public interface BlueprintPersistence {
      */
     Set<Blueprint> getAllBlueprints();
 
+    /**
+     * Obtiene una página de blueprints con sus puntos, en un orden estable propio de la
+     * persistencia (por autor y nombre), para recorrer todo el catálogo sin cargarlo completo.
+     * @param after Último blueprint de la página anterior, o null para la primera página
+     * @param limit Tamaño máximo de la página
+     * @return Blueprints siguientes a {@code after}; menos de {@code limit} solo si no hay más
+     */
+    List<Blueprint> getBlueprintsPage(BlueprintKey after, int limit);
+
+    /**
+     * Obtiene un rango de puntos de un blueprint sin cargar la lista completa.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @param offset Índice del primer punto (base 0)
+     * @param limit Número máximo de puntos a retornar
+     * @return Puntos en las posiciones [offset, offset + limit), en orden
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    List<Point> getPoints(String author, String name, int offset, int limit) throws BlueprintNotFoundException;
+
+    /**
+     * Obtiene los puntos agregados a un blueprint después de una versión dada.
+     * Si la lista fue reemplazada después de esa versión, la versión no es válida o el id no es
+     * el del blueprint actual (fue borrado y vuelto a crear), retorna la lista completa marcada
+     * como reemplazo total.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @param sinceId Id del blueprint al que corresponde la versión del cliente
+     * @param sinceVersion Última versión conocida por el cliente
+     * @return Cambios desde la versión indicada
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    BlueprintChanges getChanges(String author, String name, Long sinceId, long sinceVersion) throws BlueprintNotFoundException;
+
+    /**
+     * Obtiene el id y la versión actual de un blueprint sin cargar sus puntos, para validar
+     * copias en caché.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Id, versiones y número de puntos del blueprint
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    BlueprintVersion getVersion(String author, String name) throws BlueprintNotFoundException;
+
+    /**
+     * Obtiene las estadísticas geométricas de un blueprint (número de puntos, extremos, longitud
+     * del recorrido y centroide), guardadas junto al blueprint para no leer sus puntos.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Estadísticas de los puntos del blueprint
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    BlueprintStats getStats(String author, String name) throws BlueprintNotFoundException;
+
     /**
      * Agrega un punto a un blueprint existente.
      * @param author Autor del blueprint
      * @param name Nombre del blueprint
      * @param x Coordenada X
      * @param y Coordenada Y
+     * @return Id y versión del blueprint después de agregar el punto
      * @throws BlueprintNotFoundException si el blueprint no existe
      */
-    void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException;
+    BlueprintRevision addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException;
 
     /**
      * Actualiza un blueprint existente.
      * @param originalAuthor Autor original del blueprint
      * @param originalName Nombre original del blueprint
      * @param updatedBlueprint Blueprint con los nuevos datos
+     * @return Id y versión del blueprint original después de actualizarlo
      * @throws BlueprintNotFoundException si el blueprint original no existe
      * @throws BlueprintPersistenceException si hay problemas de persistencia
      */
-    void updateBlueprint(String originalAuthor, String originalName, Blueprint updatedBlueprint) 
+    BlueprintRevision updateBlueprint(String originalAuthor, String originalName, Blueprint updatedBlueprint) 
         throws BlueprintNotFoundException, BlueprintPersistenceException;
 
     /**
      * Elimina un blueprint.
      * @param author Autor del blueprint
      * @param name Nombre del blueprint
+     * @return Id y última versión del blueprint eliminado
      * @throws BlueprintNotFoundException si el blueprint no existe
      */
-    void deleteBlueprint(String author, String name) throws BlueprintNotFoundException;
+    BlueprintRevision deleteBlueprint(String author, String name) throws BlueprintNotFoundException;
+
+    /**
+     * Indica si cada escritura se confirma por su cuenta, fuera de la transacción de Spring en
+     * curso. En ese caso un lote de escrituras no se puede revertir como un todo.
+     * @return true si las escrituras no participan de la transacción del llamador
+     */
+    default boolean commitsEachWrite() {
+        return false;
+    }
 }
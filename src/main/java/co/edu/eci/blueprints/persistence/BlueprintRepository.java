@@ -1,29 +1,179 @@
 
 package co.edu.eci.blueprints.persistence;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintKey;
+import co.edu.eci.blueprints.model.Point;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.criteria.Predicate;
 
 /**
  * Repositorio JPA para la entidad Blueprint.
  * Permite consultas personalizadas por autor y nombre.
+ * Las consultas que retornan blueprints completos cargan los puntos en la misma consulta,
+ * para evitar una consulta adicional por blueprint y para que el resultado pueda usarse
+ * fuera de la sesión de persistencia.
  */
-public interface BlueprintRepository extends JpaRepository<Blueprint, Long> {
+public interface BlueprintRepository extends JpaRepository<Blueprint, Long>, JpaSpecificationExecutor<Blueprint> {
     /**
-     * Busca todos los blueprints de un autor.
+     * Busca todos los blueprints de un autor, con sus puntos.
      * @param author Autor
      * @return Set de blueprints
      */
+    @EntityGraph(attributePaths = "points")
     Set<Blueprint> findByAuthor(String author);
 
     /**
-     * Busca un blueprint por autor y nombre.
+     * Busca un blueprint por autor y nombre, con sus puntos.
      * @param author Autor
      * @param name Nombre del blueprint
      * @return Blueprint encontrado o null si no existe
      */
+    @EntityGraph(attributePaths = "points")
     Blueprint findByAuthorAndName(String author, String name);
-}
\ No newline at end of file
+
+    /**
+     * Busca todos los blueprints, con sus puntos.
+     * @return Lista de blueprints
+     */
+    @Override
+    @EntityGraph(attributePaths = "points")
+    List<Blueprint> findAll();
+
+    /**
+     * Ids de la primera página de blueprints, ordenados por autor y nombre.
+     * @param page Tamaño de la página (se usa solo la primera)
+     * @return Ids en orden
+     */
+    @Query("select b.id from Blueprint b order by b.author, b.name")
+    List<Long> findIdsOrdered(Pageable page);
+
+    /**
+     * Ids de la página de blueprints siguiente a un autor y nombre, en el mismo orden.
+     * @param author Autor del último blueprint de la página anterior
+     * @param name Nombre del último blueprint de la página anterior
+     * @param page Tamaño de la página (se usa solo la primera)
+     * @return Ids en orden
+     */
+    @Query("select b.id from Blueprint b where b.author > :author or (b.author = :author and b.name > :name) "
+         + "order by b.author, b.name")
+    List<Long> findIdsAfter(@Param("author") String author, @Param("name") String name, Pageable page);
+
+    /**
+     * Busca blueprints por id, con sus puntos.
+     * @param ids Ids buscados
+     * @return Blueprints encontrados, sin orden
+     */
+    @EntityGraph(attributePaths = "points")
+    List<Blueprint> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Busca únicamente el identificador de un blueprint, sin cargar sus puntos.
+     * @param author Autor
+     * @param name Nombre del blueprint
+     * @return Id del blueprint, vacío si no existe
+     */
+    @Query("select b.id from Blueprint b where b.author = :author and b.name = :name")
+    Optional<Long> findIdByAuthorAndName(@Param("author") String author, @Param("name") String name);
+
+    /**
+     * Busca un blueprint por autor y nombre sin cargar sus puntos: solo se lee su fila,
+     * que incluye las estadísticas de los puntos.
+     * @param author Autor
+     * @param name Nombre del blueprint
+     * @return Blueprint con la colección de puntos sin inicializar, vacío si no existe
+     */
+    @Query("select b from Blueprint b where b.author = :author and b.name = :name")
+    Optional<Blueprint> findWithoutPoints(@Param("author") String author, @Param("name") String name);
+
+    /**
+     * Inserta un punto directamente en la tabla de la colección, sin cargar los puntos existentes.
+     * El llamador debe tener la fila del blueprint bloqueada y pasar como índice el número de puntos actual.
+     * @param id Id del blueprint
+     * @param index Posición del punto en la lista
+     * @param x Coordenada X
+     * @param y Coordenada Y
+     */
+    @Modifying
+    @Query(value = "insert into blueprint_points (blueprint_id, point_index, x, y) values (:id, :index, :x, :y)",
+           nativeQuery = true)
+    void insertPoint(@Param("id") Long id, @Param("index") int index, @Param("x") int x, @Param("y") int y);
+
+    /**
+     * Lee un rango de puntos usando la columna de orden de la colección.
+     * Solo se leen de la base de datos las filas con índice en [from, to).
+     * @param id Id del blueprint
+     * @param from Índice inicial (inclusivo)
+     * @param to Índice final (exclusivo)
+     * @return Puntos del rango en orden
+     */
+    @Query("select p from Blueprint b join b.points p where b.id = :id and index(p) >= :from and index(p) < :to order by index(p)")
+    List<Point> findPointRange(@Param("id") Long id, @Param("from") int from, @Param("to") int to);
+
+    /**
+     * Busca un blueprint por autor y nombre bloqueando su fila hasta el fin de la transacción,
+     * para que las modificaciones concurrentes de puntos y versión se serialicen.
+     * @param author Autor
+     * @param name Nombre del blueprint
+     * @return Blueprint encontrado o null si no existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Blueprint b where b.author = :author and b.name = :name")
+    Blueprint findForUpdate(@Param("author") String author, @Param("name") String name);
+
+    /**
+     * Lee la versión y el número de puntos de un blueprint solo de su fila, sin tocar la tabla de
+     * puntos. El número de puntos es el de las estadísticas guardadas, o -1 si la fila aún no las tiene.
+     * @param author Autor
+     * @param name Nombre del blueprint
+     * @return Versión del blueprint, vacío si no existe
+     */
+    @Query("select new co.edu.eci.blueprints.persistence.BlueprintVersion(b.id, b.version, b.pointsResetVersion, "
+         + "coalesce(b.stats.pointCount, -1)) from Blueprint b where b.author = :author and b.name = :name")
+    Optional<BlueprintVersion> findVersion(@Param("author") String author, @Param("name") String name);
+
+    /**
+     * Cuenta los puntos de un blueprint (filas anteriores a las estadísticas guardadas).
+     * @param id Id del blueprint
+     * @return Número de puntos
+     */
+    @Query("select size(b.points) from Blueprint b where b.id = :id")
+    int countPoints(@Param("id") Long id);
+
+    /**
+     * Busca, con sus puntos, los blueprints que cumplen la especificación.
+     * @param spec Condición sobre el blueprint
+     * @return Blueprints encontrados con los puntos ya cargados
+     */
+    @Override
+    @EntityGraph(attributePaths = "points")
+    List<Blueprint> findAll(Specification<Blueprint> spec);
+
+    /**
+     * Busca en una sola consulta, con sus puntos, exactamente los blueprints de las claves dadas:
+     * la condición es un OR de pares {@code (author = ? and name = ?)}, así que no se leen
+     * combinaciones de autor y nombre que no se pidieron. El llamador acota el número de claves.
+     * @param keys Claves (autor, nombre) buscadas, no vacías
+     * @return Blueprints encontrados con los puntos ya cargados
+     */
+    default List<Blueprint> findWithPointsByKeyIn(Collection<BlueprintKey> keys) {
+        return findAll((root, query, cb) -> cb.or(keys.stream()
+            .map(k -> cb.and(cb.equal(root.get("author"), k.author()), cb.equal(root.get("name"), k.name())))
+            .toArray(Predicate[]::new)));
+    }
+}
@@ -0,0 +1,10 @@
+package co.edu.eci.blueprints.persistence;
+
+/**
+ * Id y versión del blueprint que dejó una escritura, leídos en la misma transacción que la
+ * escritura. El id permite a quien recibe el cambio distinguir un blueprint borrado y vuelto a
+ * crear con el mismo nombre.
+ * @param id Id del blueprint escrito (en un renombre o un borrado, el de la fila que dejó de existir)
+ * @param version Versión después de la escritura (en un renombre o un borrado, la última que tuvo)
+ */
+public record BlueprintRevision(Long id, long version) { }
@@ -0,0 +1,12 @@
+package co.edu.eci.blueprints.persistence;
+
+/**
+ * Proyección liviana con la versión y el tamaño de un blueprint, leída de su fila en una sola
+ * sentencia para que ambos valores sean consistentes entre sí (el tamaño es el de las
+ * estadísticas guardadas en la fila; las filas anteriores a ellas cuentan sus puntos aparte).
+ * @param id Id del blueprint
+ * @param version Versión actual
+ * @param pointsResetVersion Versión del último reemplazo de la lista de puntos
+ * @param pointCount Número de puntos almacenados
+ */
+public record BlueprintVersion(Long id, long version, long pointsResetVersion, int pointCount) { }
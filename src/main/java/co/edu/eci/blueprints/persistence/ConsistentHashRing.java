@@ -0,0 +1,57 @@
+package co.edu.eci.blueprints.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Anillo de hashing consistente: cada shard ocupa {@code virtualNodes} posiciones del anillo y
+ * una clave pertenece al primer shard que aparece después de su hash. Al agregar un shard solo
+ * cambian de dueño las claves que caen en sus nuevas posiciones (≈ 1/N del total).
+ * El hash (MD5) no depende de la JVM, así que todas las instancias ubican igual cada autor.
+ */
+final class ConsistentHashRing {
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final List<String> shards;
+
+    /**
+     * @param shards Nombres de los shards; el nombre, no el orden, fija sus posiciones
+     * @param virtualNodes Posiciones por shard (más posiciones reparten las claves más parejo)
+     */
+    ConsistentHashRing(Collection<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) throw new IllegalArgumentException("At least one shard is required");
+        this.shards = List.copyOf(shards);
+        for (String shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(shard + "#" + i), shard);
+            }
+        }
+    }
+
+    /**
+     * Shard dueño de una clave.
+     * @param key Clave (el autor)
+     * @return Nombre del shard
+     */
+    String shardFor(String key) {
+        Map.Entry<Long, String> owner = ring.ceilingEntry(hash(key));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    List<String> shards() { return shards; }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package co.edu.eci.blueprints.persistence;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import co.edu.eci.blueprints.model.Blueprint;
+import jakarta.annotation.PreDestroy;
+
+@Component
+/**
+ * Implementación de {@link AsyncBlueprintPersistence} que ejecuta las operaciones de la
+ * persistencia síncrona en un pool de hilos propio y acotado.
+ * Libera el hilo de la petición mientras la base de datos trabaja y permite lanzar
+ * varias consultas en paralelo. El pool debe tener el tamaño del pool JDBC (más hilos solo
+ * esperarían conexiones) y, con la cola llena, rechaza el trabajo en lugar de acumularlo.
+ * La publicación en flujo lee por páginas en ese pool y entrega a los suscriptores en hilos
+ * virtuales aparte, para que un cliente lento no ocupe un hilo de base de datos.
+ */
+public class ExecutorAsyncBlueprintPersistence implements AsyncBlueprintPersistence {
+
+    /**
+     * Persistencia síncrona a la que se delegan las operaciones.
+     */
+    private final BlueprintPersistence persistence;
+    /**
+     * Executor acotado para las operaciones de base de datos.
+     */
+    private final Executor executor;
+    /**
+     * Executor donde se entregan los blueprints publicados a los suscriptores.
+     */
+    private final ExecutorService delivery;
+    /**
+     * Blueprints leídos por página al publicar el catálogo.
+     */
+    private final int pageSize;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param persistence Persistencia síncrona
+     * @param poolSize Número de hilos (blueprints.async.pool-size)
+     * @param queueCapacity Operaciones en espera antes de rechazar (blueprints.async.queue-capacity)
+     * @param pageSize Blueprints por página al publicar el catálogo (blueprints.async.stream-page-size)
+     */
+    @Autowired
+    public ExecutorAsyncBlueprintPersistence(BlueprintPersistence persistence,
+                                             @Value("${blueprints.async.pool-size:10}") int poolSize,
+                                             @Value("${blueprints.async.queue-capacity:500}") int queueCapacity,
+                                             @Value("${blueprints.async.stream-page-size:100}") int pageSize) {
+        this(persistence, new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("blueprints-db-"),
+            new ThreadPoolExecutor.AbortPolicy()), pageSize);
+    }
+
+    ExecutorAsyncBlueprintPersistence(BlueprintPersistence persistence, Executor executor, int pageSize) {
+        this.persistence = persistence;
+        this.executor = executor;
+        this.pageSize = pageSize;
+        this.delivery = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("blueprints-stream-", 0).factory());
+    }
+
+    @Override
+    public CompletableFuture<Void> saveBlueprint(Blueprint bp) {
+        return supply(() -> { persistence.saveBlueprint(bp); return null; });
+    }
+
+    @Override
+    public CompletableFuture<Blueprint> getBlueprint(String author, String name) {
+        return supply(() -> persistence.getBlueprint(author, name));
+    }
+
+    @Override
+    public CompletableFuture<Set<Blueprint>> getBlueprintsByAuthor(String author) {
+        return supply(() -> persistence.getBlueprintsByAuthor(author));
+    }
+
+    @Override
+    public CompletableFuture<Set<Blueprint>> getAllBlueprints() {
+        return supply(persistence::getAllBlueprints);
+    }
+
+    /**
+     * Publica los blueprints leyendo una página a la vez, solo cuando el suscriptor pide más:
+     * la memoria usada no depende del tamaño del catálogo y ningún hilo del pool de base de
+     * datos espera al suscriptor.
+     */
+    @Override
+    public Flow.Publisher<Blueprint> publishAllBlueprints() {
+        return new PagedBlueprintPublisher(persistence::getBlueprintsPage, pageSize, executor, delivery);
+    }
+
+    @Override
+    public CompletableFuture<BlueprintRevision> addPoint(String author, String name, int x, int y) {
+        return supply(() -> persistence.addPoint(author, name, x, y));
+    }
+
+    @Override
+    public CompletableFuture<BlueprintRevision> updateBlueprint(String originalAuthor, String originalName, Blueprint updatedBlueprint) {
+        return supply(() -> persistence.updateBlueprint(originalAuthor, originalName, updatedBlueprint));
+    }
+
+    @Override
+    public CompletableFuture<BlueprintRevision> deleteBlueprint(String author, String name) {
+        return supply(() -> persistence.deleteBlueprint(author, name));
+    }
+
+    /**
+     * Operación de persistencia que puede lanzar las excepciones de negocio.
+     */
+    @FunctionalInterface
+    private interface PersistenceCall<T> {
+        T call() throws BlueprintNotFoundException, BlueprintPersistenceException;
+    }
+
+    private <T> CompletableFuture<T> supply(PersistenceCall<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return call.call();
+                } catch (BlueprintNotFoundException | BlueprintPersistenceException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService es) es.shutdown();
+        delivery.shutdown();
+    }
+}
@@ -0,0 +1,158 @@
+package co.edu.eci.blueprints.persistence;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintKey;
+
+/**
+ * Publicador que recorre todos los blueprints por páginas y según la demanda del suscriptor:
+ * una página se pide a la base solo cuando la anterior ya se entregó y el suscriptor quiere
+ * más, así que en memoria hay a lo sumo una página por suscripción.
+ * <p>
+ * Las páginas se leen en el executor de base de datos, sin bloquearlo nunca; las señales al
+ * suscriptor ({@code onNext}, que puede bloquear escribiendo la respuesta a un cliente lento)
+ * se entregan en otro executor, una a la vez por suscripción.
+ */
+final class PagedBlueprintPublisher implements Flow.Publisher<Blueprint> {
+
+    private final BiFunction<BlueprintKey, Integer, List<Blueprint>> pages;
+    private final int pageSize;
+    private final Executor database;
+    private final Executor delivery;
+
+    /**
+     * @param pages Lectura de la página siguiente a una clave (null para la primera)
+     * @param pageSize Blueprints por página
+     * @param database Executor donde se leen las páginas
+     * @param delivery Executor donde se entregan las señales al suscriptor
+     */
+    PagedBlueprintPublisher(BiFunction<BlueprintKey, Integer, List<Blueprint>> pages, int pageSize,
+                            Executor database, Executor delivery) {
+        this.pages = pages;
+        this.pageSize = pageSize;
+        this.database = database;
+        this.delivery = delivery;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Blueprint> subscriber) {
+        PageSubscription subscription = new PageSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Estado de una suscripción. El bucle {@link #run()} es el único que toca la página actual y
+     * el cursor; {@code wip} asegura que no corra en dos hilos a la vez.
+     */
+    private final class PageSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super Blueprint> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final ArrayDeque<Blueprint> page = new ArrayDeque<>();
+        private volatile boolean cancelled;
+        private volatile List<Blueprint> loaded;
+        private volatile Throwable error;
+        private BlueprintKey cursor;
+        private boolean loading;
+        private boolean exhausted;
+
+        PageSubscription(Flow.Subscriber<? super Blueprint> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("non-positive subscription request: " + n);
+            } else {
+                requested.getAndUpdate(r -> r + n < 0 ? Long.MAX_VALUE : r + n);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() != 0) return;
+            try {
+                delivery.execute(this);
+            } catch (RejectedExecutionException e) {
+                cancelled = true;
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            while (true) {
+                if (cancelled) {
+                    page.clear();
+                    return;
+                }
+                List<Blueprint> next = loaded;
+                if (next != null) {
+                    loaded = null;
+                    loading = false;
+                    page.addAll(next);
+                    exhausted = next.size() < pageSize;
+                    if (!next.isEmpty()) cursor = BlueprintKey.of(next.get(next.size() - 1));
+                }
+                if (error != null) {
+                    cancelled = true;
+                    subscriber.onError(error);
+                    return;
+                }
+                long emitted = 0;
+                long wanted = requested.get();
+                while (emitted < wanted && !page.isEmpty() && !cancelled) {
+                    subscriber.onNext(page.poll());
+                    emitted++;
+                }
+                if (emitted > 0 && wanted != Long.MAX_VALUE) requested.addAndGet(-emitted);
+                if (page.isEmpty() && !cancelled) {
+                    if (exhausted) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (!loading && requested.get() > 0) {
+                        loading = true;
+                        load(cursor);
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) return;
+            }
+        }
+
+        private void load(BlueprintKey after) {
+            try {
+                CompletableFuture.supplyAsync(() -> pages.apply(after, pageSize), database)
+                    .whenComplete((result, failure) -> {
+                        if (failure != null) {
+                            error = failure.getCause() != null ? failure.getCause() : failure;
+                        } else {
+                            loaded = result;
+                        }
+                        schedule();
+                    });
+            } catch (RejectedExecutionException e) {
+                error = e;
+                // El bucle actual vuelve a pasar por wip y entrega el error
+                wip.incrementAndGet();
+            }
+        }
+    }
+}
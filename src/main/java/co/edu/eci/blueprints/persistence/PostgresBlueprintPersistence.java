@@ -1,20 +1,36 @@
 package co.edu.eci.blueprints.persistence;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintChanges;
+import co.edu.eci.blueprints.model.BlueprintKey;
+import co.edu.eci.blueprints.model.BlueprintStats;
 import co.edu.eci.blueprints.model.Point;
+import co.edu.eci.blueprints.model.PointStats;
 
 
 @Primary
 @Repository
+@ConditionalOnProperty(name = "blueprints.sharding.enabled", havingValue = "false", matchIfMissing = true)
 /**
  * Implementación de persistencia de blueprints usando PostgreSQL y Spring Data JPA.
  * Proporciona operaciones CRUD y gestión de puntos en planos.
+ * Con {@code blueprints.sharding.enabled=true} la reemplaza {@link ShardedBlueprintPersistence}.
  */
 public class PostgresBlueprintPersistence implements BlueprintPersistence {
 
@@ -22,6 +38,11 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
      * Repositorio JPA para acceso a datos de blueprints.
      */
     private final BlueprintRepository blueprintRepository;
+    /**
+     * Claves por consulta en {@link #getBlueprints}: acota el número de parámetros de la sentencia
+     * (dos por clave). Cubre el máximo de {@code POST /lookup}, que así es siempre una sola consulta.
+     */
+    static final int KEYS_PER_QUERY = 500;
 
     /**
      * Constructor con inyección de dependencias.
@@ -37,6 +58,7 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
      * @throws BlueprintPersistenceException si ya existe un blueprint con el mismo autor y nombre
      */
     @Override
+    @Transactional
     public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
         if (blueprintRepository.findByAuthorAndName(bp.getAuthor(), bp.getName()) != null) {
             throw new BlueprintPersistenceException("Blueprint already exists: " + bp.getAuthor() + "/" + bp.getName());
@@ -52,12 +74,33 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
      * @throws BlueprintNotFoundException si no existe el blueprint solicitado
      */
     @Override
+    @Transactional(readOnly = true)
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
         Blueprint bp = blueprintRepository.findByAuthorAndName(author, name);
         if (bp == null) throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
         return bp;
     }
 
+    /**
+     * Obtiene varios blueprints buscando exactamente los pares (autor, nombre) pedidos, con una
+     * consulta por cada {@value #KEYS_PER_QUERY} claves.
+     * @param keys Claves (autor, nombre) buscadas
+     * @return Mapa con los blueprints encontrados
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<BlueprintKey, Blueprint> getBlueprints(Collection<BlueprintKey> keys) {
+        Map<BlueprintKey, Blueprint> found = new HashMap<>();
+        List<BlueprintKey> distinct = List.copyOf(new LinkedHashSet<>(keys));
+        for (int from = 0; from < distinct.size(); from += KEYS_PER_QUERY) {
+            List<BlueprintKey> chunk = distinct.subList(from, Math.min(distinct.size(), from + KEYS_PER_QUERY));
+            for (Blueprint bp : blueprintRepository.findWithPointsByKeyIn(chunk)) {
+                found.put(BlueprintKey.of(bp), bp);
+            }
+        }
+        return found;
+    }
+
     /**
      * Obtiene todos los blueprints de un autor.
      * @param author Autor de los blueprints
@@ -65,6 +108,7 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
      * @throws BlueprintNotFoundException si el autor no tiene planos
      */
     @Override
+    @Transactional(readOnly = true)
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
         Set<Blueprint> set = blueprintRepository.findByAuthor(author);
         if (set.isEmpty()) throw new BlueprintNotFoundException("No blueprints for author: " + author);
@@ -76,23 +120,138 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
      * @return Set de todos los blueprints
      */
     @Override
+    @Transactional(readOnly = true)
     public Set<Blueprint> getAllBlueprints() {
         return new HashSet<>(blueprintRepository.findAll());
     }
 
     /**
-     * Agrega un punto a un blueprint existente.
+     * Obtiene una página de blueprints por autor y nombre: una consulta lee los ids de la página
+     * (por índice, sin puntos) y otra los blueprints con sus puntos.
+     * @param after Último blueprint de la página anterior, o null para la primera página
+     * @param limit Tamaño máximo de la página
+     * @return Blueprints de la página en orden
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Blueprint> getBlueprintsPage(BlueprintKey after, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<Long> ids = after == null
+            ? blueprintRepository.findIdsOrdered(page)
+            : blueprintRepository.findIdsAfter(after.author(), after.name(), page);
+        if (ids.isEmpty()) return List.of();
+        // Se conserva el orden de la base (su intercalación puede no coincidir con String.compareTo)
+        Map<Long, Integer> position = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) position.put(ids.get(i), i);
+        List<Blueprint> blueprints = new ArrayList<>(blueprintRepository.findByIdIn(ids));
+        blueprints.sort(Comparator.comparing(bp -> position.get(bp.getId())));
+        return blueprints;
+    }
+
+    /**
+     * Obtiene un rango de puntos leyendo solo las filas solicitadas por su índice.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @param offset Índice del primer punto (base 0)
+     * @param limit Número máximo de puntos a retornar
+     * @return Puntos en las posiciones [offset, offset + limit)
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Point> getPoints(String author, String name, int offset, int limit) throws BlueprintNotFoundException {
+        Long id = blueprintRepository.findIdByAuthorAndName(author, name)
+            .orElseThrow(() -> new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name)));
+        int to = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        return blueprintRepository.findPointRange(id, offset, to);
+    }
+
+    /**
+     * Obtiene los puntos agregados desde una versión. Como cada versión posterior al último
+     * reemplazo corresponde a exactamente un punto agregado al final, los puntos nuevos son
+     * los últimos {@code version - sinceVersion} de la lista y se leen por rango de índice.
+     * Una versión de otra fila (otro id) no sirve de base y recibe la lista completa.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @param sinceId Id del blueprint al que corresponde la versión del cliente
+     * @param sinceVersion Última versión conocida por el cliente
+     * @return Cambios desde la versión indicada
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BlueprintChanges getChanges(String author, String name, Long sinceId, long sinceVersion) throws BlueprintNotFoundException {
+        BlueprintVersion v = getVersion(author, name);
+        if (!v.id().equals(sinceId) || sinceVersion < v.pointsResetVersion() || sinceVersion > v.version()) {
+            return new BlueprintChanges(author, name, v.id(), v.version(), true, 0,
+                blueprintRepository.findPointRange(v.id(), 0, v.pointCount()));
+        }
+        int from = v.pointCount() - (int) (v.version() - sinceVersion);
+        return new BlueprintChanges(author, name, v.id(), v.version(), false, from,
+            from == v.pointCount() ? List.of() : blueprintRepository.findPointRange(v.id(), from, v.pointCount()));
+    }
+
+    /**
+     * Obtiene el id y la versión de un blueprint con una sola consulta a su fila, sin leer sus
+     * puntos. Solo una fila anterior a las estadísticas guardadas obliga a contarlos.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Id, versiones y número de puntos del blueprint
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BlueprintVersion getVersion(String author, String name) throws BlueprintNotFoundException {
+        BlueprintVersion v = blueprintRepository.findVersion(author, name)
+            .orElseThrow(() -> new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name)));
+        if (v.pointCount() >= 0) return v;
+        return new BlueprintVersion(v.id(), v.version(), v.pointsResetVersion(), blueprintRepository.countPoints(v.id()));
+    }
+
+    /**
+     * Obtiene las estadísticas guardadas en la fila del blueprint, sin leer la tabla de puntos.
+     * Solo una fila anterior a estas columnas obliga a leer sus puntos, hasta su siguiente escritura.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Estadísticas de los puntos del blueprint
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BlueprintStats getStats(String author, String name) throws BlueprintNotFoundException {
+        Blueprint bp = blueprintRepository.findWithoutPoints(author, name)
+            .orElseThrow(() -> new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name)));
+        return bp.getStats().toStats(author, name, bp.getVersion());
+    }
+
+    /**
+     * Agrega un punto a un blueprint existente. El punto se inserta en la posición indicada por el
+     * número de puntos guardado en la fila, y las estadísticas se actualizan en O(1), así que los
+     * puntos existentes no se cargan. Si la misma transacción ya cargó la colección, el punto se
+     * agrega a ella para que la sesión no quede con una lista distinta de la tabla.
      * @param author Autor del blueprint
      * @param name Nombre del blueprint
      * @param x Coordenada X del punto
      * @param y Coordenada Y del punto
+     * @return Id y versión del blueprint después de agregar el punto
      * @throws BlueprintNotFoundException si el blueprint no existe
      */
     @Override
-    public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
-        Blueprint bp = getBlueprint(author, name);
-        bp.addPoint(new Point(x, y));
-        blueprintRepository.save(bp); // Guardar los cambios en la base de datos
+    @Transactional
+    public BlueprintRevision addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
+        Blueprint bp = blueprintRepository.findForUpdate(author, name);
+        if (bp == null) throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
+        // En una fila anterior a las estadísticas, esto las calcula (una vez) a partir de los puntos
+        PointStats stats = bp.getStats();
+        if (bp.isPointsLoaded()) {
+            // La colección ya está en la sesión (p. ej. un lote que antes reemplazó los puntos):
+            // una inserción directa la dejaría desactualizada, así que el punto pasa por ella
+            bp.addPoint(new Point(x, y));
+        } else {
+            blueprintRepository.insertPoint(bp.getId(), stats.getPointCount(), x, y);
+            bp.pointAppended(new Point(x, y)); // Estadísticas y versión se guardan al confirmar
+        }
+        return new BlueprintRevision(bp.getId(), bp.getVersion());
     }
 
     /**
@@ -100,14 +259,19 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
      * @param originalAuthor Autor original del blueprint
      * @param originalName Nombre original del blueprint
      * @param updatedBlueprint Blueprint con los nuevos datos
+     * @return Id y versión del blueprint original después de actualizarlo
      * @throws BlueprintNotFoundException si el blueprint original no existe
      * @throws BlueprintPersistenceException si hay problemas de persistencia
      */
     @Override
-    public void updateBlueprint(String originalAuthor, String originalName, Blueprint updatedBlueprint) 
+    @Transactional
+    public BlueprintRevision updateBlueprint(String originalAuthor, String originalName, Blueprint updatedBlueprint) 
             throws BlueprintNotFoundException, BlueprintPersistenceException {
         // Verificar que el blueprint original existe
-        Blueprint originalBp = getBlueprint(originalAuthor, originalName);
+        Blueprint originalBp = blueprintRepository.findForUpdate(originalAuthor, originalName);
+        if (originalBp == null) {
+            throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(originalAuthor, originalName));
+        }
         
         // Si cambió el autor o nombre, verificar que no existe ya uno con el nuevo nombre
         if (!originalAuthor.equals(updatedBlueprint.getAuthor()) || 
@@ -126,17 +290,21 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
             originalBp.replacePoints(updatedBlueprint.getPoints());
             blueprintRepository.save(originalBp); // Update existing entity
         }
+        return new BlueprintRevision(originalBp.getId(), originalBp.getVersion());
     }
 
     /**
      * Elimina un blueprint.
      * @param author Autor del blueprint
      * @param name Nombre del blueprint
+     * @return Id y última versión del blueprint eliminado
      * @throws BlueprintNotFoundException si el blueprint no existe
      */
     @Override
-    public void deleteBlueprint(String author, String name) throws BlueprintNotFoundException {
+    @Transactional
+    public BlueprintRevision deleteBlueprint(String author, String name) throws BlueprintNotFoundException {
         Blueprint bp = getBlueprint(author, name);
         blueprintRepository.delete(bp);
+        return new BlueprintRevision(bp.getId(), bp.getVersion());
     }
 }
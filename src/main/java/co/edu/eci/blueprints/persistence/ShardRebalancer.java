@@ -0,0 +1,43 @@
+package co.edu.eci.blueprints.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reubica los autores después de agregar un shard. Con hashing consistente solo cambian de
+ * dueño los autores que caen en las posiciones del shard nuevo, así que se recorre cada shard
+ * buscando autores que ya no le pertenecen y se mueven uno a uno (copiar y luego borrar).
+ * <p>
+ * Se ejecuta como tarea aparte, con la API detenida o sin tráfico de escritura, porque mientras
+ * un autor se mueve sus blueprints se buscan ya en el shard nuevo:
+ * <pre>
+ * java -jar app.jar --blueprints.sharding.rebalance=true --spring.main.web-application-type=none
+ * </pre>
+ */
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private final ShardedBlueprintPersistence persistence;
+
+    public ShardRebalancer(ShardedBlueprintPersistence persistence) {
+        this.persistence = persistence;
+    }
+
+    /**
+     * Mueve cada autor fuera de lugar a su shard actual.
+     * @return Número de blueprints movidos
+     */
+    public int rebalance() {
+        int moved = 0;
+        for (String shard : persistence.shardNames()) {
+            for (String author : persistence.misplacedAuthors(shard)) {
+                int count = persistence.moveAuthor(author, shard);
+                log.info("Moved {} blueprints of {} from {} to {}", count, author, shard, persistence.shardFor(author));
+                moved += count;
+            }
+        }
+        log.info("Rebalance finished: {} blueprints moved", moved);
+        return moved;
+    }
+}
@@ -0,0 +1,630 @@
+package co.edu.eci.blueprints.persistence;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintChanges;
+import co.edu.eci.blueprints.model.BlueprintKey;
+import co.edu.eci.blueprints.model.BlueprintStats;
+import co.edu.eci.blueprints.model.Point;
+import co.edu.eci.blueprints.model.PointStats;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Implementación de {@link BlueprintPersistence} repartida en varias bases de datos (shards).
+ * Cada autor vive completo en un solo shard, elegido por hashing consistente de su nombre, de
+ * modo que las escrituras (p. ej. {@code addPoint}) se reparten entre los shards y las consultas
+ * por autor tocan uno solo. {@link #getAllBlueprints()} y {@link #getBlueprints(Collection)}
+ * consultan los shards en paralelo y unen los resultados.
+ * <p>
+ * Usa JDBC directo sobre las mismas tablas que genera JPA ({@code blueprint} y
+ * {@code blueprint_points}) y las crea si no existen. Las operaciones son atómicas dentro de un
+ * shard; renombrar un blueprint a otro autor que vive en otro shard no lo es (primero se inserta
+ * en el destino y luego se borra del origen). Cierra los pools de los shards al terminar.
+ */
+public class ShardedBlueprintPersistence implements BlueprintPersistence {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedBlueprintPersistence.class);
+
+    /**
+     * Claves por consulta en {@link #getBlueprints}: acota el número de parámetros de la sentencia
+     * (dos por clave). Cubre el máximo de {@code POST /lookup}: una sola consulta por shard.
+     */
+    static final int KEYS_PER_QUERY = 500;
+    private static final String BLUEPRINT_COLUMNS = "b.id, b.author, b.name, b.version, b.points_reset_version";
+    /**
+     * Columnas de {@link PointStats} con sus tipos, en el orden de {@link PointStats#restore}.
+     */
+    private static final String[][] STATS_COLUMNS = {
+        {"point_count", "integer"}, {"min_x", "integer"}, {"max_x", "integer"}, {"min_y", "integer"},
+        {"max_y", "integer"}, {"sum_x", "bigint"}, {"sum_y", "bigint"}, {"path_length", "double precision"},
+        {"last_x", "integer"}, {"last_y", "integer"}};
+    private static final String STATS_SELECT = String.join(", ",
+        Arrays.stream(STATS_COLUMNS).map(c -> c[0]).toList());
+
+    private final Map<String, Shard> shards = new LinkedHashMap<>();
+    private final ConsistentHashRing ring;
+    private final ExecutorService fanOut;
+
+    /**
+     * @param dataSources Shards por nombre; el nombre determina qué autores le corresponden
+     * @param virtualNodes Posiciones de cada shard en el anillo de hashing
+     */
+    public ShardedBlueprintPersistence(Map<String, DataSource> dataSources, int virtualNodes) {
+        dataSources.forEach((name, ds) -> shards.put(name, new Shard(name, ds)));
+        this.ring = new ConsistentHashRing(dataSources.keySet(), virtualNodes);
+        // Un hilo por shard; si están todos ocupados la consulta corre en el hilo que la pidió
+        this.fanOut = new ThreadPoolExecutor(shards.size(), shards.size(), 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(shards.size() * 4), new CustomizableThreadFactory("shard-query-"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        shards.values().forEach(Shard::createSchema);
+        log.info("Blueprint storage sharded by author across {}", shards.keySet());
+    }
+
+    /**
+     * Shard al que pertenece un autor.
+     * @param author Autor
+     * @return Nombre del shard
+     */
+    public String shardFor(String author) {
+        return ring.shardFor(author);
+    }
+
+    private Shard shardOf(String author) {
+        return shards.get(ring.shardFor(author));
+    }
+
+    /**
+     * Guarda un nuevo blueprint en el shard de su autor.
+     * @param bp Blueprint a guardar
+     * @throws BlueprintPersistenceException si ya existe un blueprint con el mismo autor y nombre
+     */
+    @Override
+    public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
+        Shard shard = shardOf(bp.getAuthor());
+        try {
+            shard.write.executeWithoutResult(status -> shard.insert(bp));
+        } catch (DuplicateKeyException e) {
+            throw new BlueprintPersistenceException("Blueprint already exists: " + bp.getAuthor() + "/" + bp.getName());
+        }
+    }
+
+    /**
+     * Obtiene un blueprint por autor y nombre.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Blueprint encontrado
+     * @throws BlueprintNotFoundException si no existe el blueprint solicitado
+     */
+    @Override
+    public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
+        List<Blueprint> found = shardOf(author).load("b.author = :author and b.name = :name",
+            new MapSqlParameterSource("author", author).addValue("name", name));
+        if (found.isEmpty()) throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
+        return found.get(0);
+    }
+
+    /**
+     * Cada escritura se confirma en la transacción de su shard, que la transacción JPA del
+     * llamador no abarca.
+     * @return true
+     */
+    @Override
+    public boolean commitsEachWrite() {
+        return true;
+    }
+
+    /**
+     * Obtiene varios blueprints agrupando las claves por shard y consultando esos shards en paralelo.
+     * Cada shard busca exactamente sus pares (autor, nombre), {@value #KEYS_PER_QUERY} por consulta.
+     * @param keys Claves (autor, nombre) buscadas
+     * @return Mapa con los blueprints encontrados
+     */
+    @Override
+    public Map<BlueprintKey, Blueprint> getBlueprints(Collection<BlueprintKey> keys) {
+        Map<String, List<BlueprintKey>> byShard = new HashMap<>();
+        for (BlueprintKey key : new LinkedHashSet<>(keys)) {
+            byShard.computeIfAbsent(ring.shardFor(key.author()), s -> new ArrayList<>()).add(key);
+        }
+        Map<BlueprintKey, Blueprint> found = new HashMap<>();
+        for (Blueprint bp : fanOut(byShard.keySet(), shard -> shard.byKeys(byShard.get(shard.name)))) {
+            found.put(BlueprintKey.of(bp), bp);
+        }
+        return found;
+    }
+
+    /**
+     * Obtiene todos los blueprints de un autor, consultando solo su shard.
+     * @param author Autor de los blueprints
+     * @return Set de blueprints
+     * @throws BlueprintNotFoundException si el autor no tiene planos
+     */
+    @Override
+    public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
+        List<Blueprint> found = shardOf(author).load("b.author = :author", new MapSqlParameterSource("author", author));
+        if (found.isEmpty()) throw new BlueprintNotFoundException("No blueprints for author: " + author);
+        return new HashSet<>(found);
+    }
+
+    /**
+     * Obtiene todos los blueprints consultando todos los shards en paralelo.
+     * @return Set de todos los blueprints
+     */
+    @Override
+    public Set<Blueprint> getAllBlueprints() {
+        return new HashSet<>(fanOut(shards.keySet(), shard -> shard.load("1 = 1", new MapSqlParameterSource())));
+    }
+
+    /**
+     * Obtiene una página de blueprints recorriendo los shards en orden y, dentro de cada uno, por
+     * autor y nombre. Como cada autor vive en un solo shard, el último blueprint de la página
+     * anterior indica en qué shard continuar.
+     * @param after Último blueprint de la página anterior, o null para la primera página
+     * @param limit Tamaño máximo de la página
+     * @return Blueprints de la página en orden
+     */
+    @Override
+    public List<Blueprint> getBlueprintsPage(BlueprintKey after, int limit) {
+        List<String> order = new ArrayList<>(shards.keySet());
+        int start = after == null ? 0 : order.indexOf(ring.shardFor(after.author()));
+        BlueprintKey cursor = after;
+        List<Blueprint> page = new ArrayList<>();
+        for (int i = start; i < order.size() && page.size() < limit; i++) {
+            page.addAll(shards.get(order.get(i)).page(cursor, limit - page.size()));
+            cursor = null;
+        }
+        return page;
+    }
+
+    /**
+     * Obtiene un rango de puntos leyendo solo las filas solicitadas por su índice.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @param offset Índice del primer punto (base 0)
+     * @param limit Número máximo de puntos a retornar
+     * @return Puntos en las posiciones [offset, offset + limit)
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    @Override
+    public List<Point> getPoints(String author, String name, int offset, int limit) throws BlueprintNotFoundException {
+        Shard shard = shardOf(author);
+        BlueprintVersion v = shard.read.execute(status -> shard.version(author, name));
+        if (v == null) throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
+        int to = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        return shard.pointRange(v.id(), offset, to);
+    }
+
+    /**
+     * Obtiene el id y la versión de un blueprint en su shard, sin cargar sus puntos.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Id, versiones y número de puntos del blueprint
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    @Override
+    public BlueprintVersion getVersion(String author, String name) throws BlueprintNotFoundException {
+        Shard shard = shardOf(author);
+        BlueprintVersion v = shard.read.execute(status -> shard.version(author, name));
+        if (v == null) throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
+        return v;
+    }
+
+    /**
+     * Obtiene las estadísticas guardadas en la fila del blueprint, sin leer la tabla de puntos
+     * (salvo en filas anteriores a estas columnas, hasta su siguiente escritura).
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Estadísticas de los puntos del blueprint
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    @Override
+    public BlueprintStats getStats(String author, String name) throws BlueprintNotFoundException {
+        Shard shard = shardOf(author);
+        BlueprintStats stats = shard.read.execute(status -> {
+            List<StatsRow> row = shard.statsRow(author, name, false);
+            if (row.isEmpty()) return null;
+            return shard.statsOf(row.get(0)).toStats(author, name, row.get(0).version());
+        });
+        if (stats == null) throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
+        return stats;
+    }
+
+    /**
+     * Obtiene los puntos agregados desde una versión, con la misma regla que la persistencia JPA:
+     * los puntos nuevos son los últimos {@code version - sinceVersion} de la lista, y una versión
+     * de otra fila (otro id) recibe la lista completa.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @param sinceId Id del blueprint al que corresponde la versión del cliente
+     * @param sinceVersion Última versión conocida por el cliente
+     * @return Cambios desde la versión indicada
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    @Override
+    public BlueprintChanges getChanges(String author, String name, Long sinceId, long sinceVersion) throws BlueprintNotFoundException {
+        Shard shard = shardOf(author);
+        BlueprintChanges changes = shard.read.execute(status -> {
+            BlueprintVersion v = shard.version(author, name);
+            if (v == null) return null;
+            if (!v.id().equals(sinceId) || sinceVersion < v.pointsResetVersion() || sinceVersion > v.version()) {
+                return new BlueprintChanges(author, name, v.id(), v.version(), true, 0, shard.pointRange(v.id(), 0, v.pointCount()));
+            }
+            int from = v.pointCount() - (int) (v.version() - sinceVersion);
+            return new BlueprintChanges(author, name, v.id(), v.version(), false, from,
+                from == v.pointCount() ? List.of() : shard.pointRange(v.id(), from, v.pointCount()));
+        });
+        if (changes == null) throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
+        return changes;
+    }
+
+    /**
+     * Agrega un punto al final de la lista bloqueando solo la fila del blueprint en su shard.
+     * La posición del punto sale del número de puntos guardado en la fila y las estadísticas se
+     * actualizan en O(1), sin leer los puntos existentes.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @param x Coordenada X del punto
+     * @param y Coordenada Y del punto
+     * @return Id y versión del blueprint después de agregar el punto
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    @Override
+    public BlueprintRevision addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
+        Shard shard = shardOf(author);
+        BlueprintRevision revision = shard.write.execute(status -> {
+            List<StatsRow> row = shard.statsRow(author, name, true);
+            if (row.isEmpty()) return null;
+            long id = row.get(0).id();
+            long next = row.get(0).version() + 1;
+            PointStats stats = shard.statsOf(row.get(0));
+            shard.jdbc.update("insert into blueprint_points (blueprint_id, point_index, x, y) values (:id, :index, :x, :y)",
+                new MapSqlParameterSource("id", id).addValue("index", stats.getPointCount()).addValue("x", x).addValue("y", y));
+            stats.add(new Point(x, y));
+            shard.jdbc.update("update blueprint set version = :version, " + Shard.STATS_ASSIGNMENTS + " where id = :id",
+                Shard.statsParams(stats).addValue("version", next).addValue("id", id));
+            return new BlueprintRevision(id, next);
+        });
+        if (revision == null) throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
+        return revision;
+    }
+
+    /**
+     * Actualiza un blueprint existente. Si cambia de autor o nombre se crea el nuevo (en el shard
+     * de su autor) y luego se elimina el original.
+     * @param originalAuthor Autor original del blueprint
+     * @param originalName Nombre original del blueprint
+     * @param updatedBlueprint Blueprint con los nuevos datos
+     * @return Id y versión del blueprint original después de actualizarlo
+     * @throws BlueprintNotFoundException si el blueprint original no existe
+     * @throws BlueprintPersistenceException si ya existe un blueprint con el nuevo autor y nombre
+     */
+    @Override
+    public BlueprintRevision updateBlueprint(String originalAuthor, String originalName, Blueprint updatedBlueprint)
+            throws BlueprintNotFoundException, BlueprintPersistenceException {
+        Shard shard = shardOf(originalAuthor);
+        if (originalAuthor.equals(updatedBlueprint.getAuthor()) && originalName.equals(updatedBlueprint.getName())) {
+            BlueprintRevision updated = shard.write.execute(status -> {
+                List<long[]> row = shard.jdbc.query(
+                    "select id, version from blueprint where author = :author and name = :name for update",
+                    new MapSqlParameterSource("author", originalAuthor).addValue("name", originalName),
+                    (rs, i) -> new long[] {rs.getLong(1), rs.getLong(2)});
+                if (row.isEmpty()) return null;
+                long id = row.get(0)[0];
+                long next = row.get(0)[1] + 1;
+                shard.jdbc.update("delete from blueprint_points where blueprint_id = :id", new MapSqlParameterSource("id", id));
+                shard.insertPoints(id, updatedBlueprint.getPoints());
+                shard.jdbc.update("update blueprint set version = :version, points_reset_version = :version, "
+                        + Shard.STATS_ASSIGNMENTS + " where id = :id",
+                    Shard.statsParams(PointStats.of(updatedBlueprint.getPoints())).addValue("version", next).addValue("id", id));
+                return new BlueprintRevision(id, next);
+            });
+            if (updated == null) {
+                throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(originalAuthor, originalName));
+            }
+            return updated;
+        }
+        if (shard.read.execute(status -> shard.version(originalAuthor, originalName)) == null) {
+            throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(originalAuthor, originalName));
+        }
+        saveBlueprint(updatedBlueprint);
+        return deleteBlueprint(originalAuthor, originalName);
+    }
+
+    /**
+     * Elimina un blueprint.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Id y última versión del blueprint eliminado
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    @Override
+    public BlueprintRevision deleteBlueprint(String author, String name) throws BlueprintNotFoundException {
+        Shard shard = shardOf(author);
+        BlueprintRevision deleted = shard.write.execute(status -> {
+            List<BlueprintRevision> row = shard.jdbc.query(
+                "select id, version from blueprint where author = :author and name = :name for update",
+                new MapSqlParameterSource("author", author).addValue("name", name),
+                (rs, i) -> new BlueprintRevision(rs.getLong(1), rs.getLong(2)));
+            if (row.isEmpty()) return null;
+            shard.delete("id = :id", new MapSqlParameterSource("id", row.get(0).id()));
+            return row.get(0);
+        });
+        if (deleted == null) throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
+        return deleted;
+    }
+
+    /**
+     * Autores guardados en un shard que, según el anillo actual, pertenecen a otro.
+     * Aparecen después de agregar un shard y los mueve {@link ShardRebalancer}.
+     * @param shardName Shard revisado
+     * @return Autores fuera de lugar
+     */
+    List<String> misplacedAuthors(String shardName) {
+        return shards.get(shardName).jdbc.queryForList("select distinct author from blueprint",
+                new MapSqlParameterSource(), String.class).stream()
+            .filter(author -> !ring.shardFor(author).equals(shardName))
+            .toList();
+    }
+
+    /**
+     * Copia todos los blueprints de un autor a su shard actual (conservando versiones) y luego
+     * los borra del shard de origen. Si se interrumpe puede repetirse: los que ya estaban en el
+     * destino no se vuelven a copiar.
+     * @param author Autor a mover
+     * @param fromShard Shard donde está guardado
+     * @return Número de blueprints movidos
+     */
+    int moveAuthor(String author, String fromShard) {
+        Shard from = shards.get(fromShard);
+        Shard to = shardOf(author);
+        if (from == to) return 0;
+        SqlParameterSource byAuthor = new MapSqlParameterSource("author", author);
+        List<Blueprint> blueprints = from.load("b.author = :author", byAuthor);
+        to.write.executeWithoutResult(status -> {
+            Set<String> present = new HashSet<>(to.jdbc.queryForList(
+                "select name from blueprint where author = :author", byAuthor, String.class));
+            for (Blueprint bp : blueprints) {
+                if (!present.contains(bp.getName())) to.insert(bp);
+            }
+        });
+        from.write.executeWithoutResult(status -> from.delete("author = :author", byAuthor));
+        return blueprints.size();
+    }
+
+    /** Nombres de los shards configurados. */
+    List<String> shardNames() {
+        return ring.shards();
+    }
+
+    private <T> List<T> fanOut(Collection<String> shardNames, Function<Shard, List<T>> query) {
+        List<CompletableFuture<List<T>>> futures = shardNames.stream()
+            .map(name -> CompletableFuture.supplyAsync(() -> query.apply(shards.get(name)), fanOut))
+            .toList();
+        List<T> merged = new ArrayList<>();
+        for (CompletableFuture<List<T>> future : futures) {
+            merged.addAll(future.join());
+        }
+        return merged;
+    }
+
+    @PreDestroy
+    void close() {
+        fanOut.shutdown();
+        for (Shard shard : shards.values()) {
+            if (shard.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close shard {}: {}", shard.name, e.toString());
+                }
+            }
+        }
+    }
+
+    /**
+     * Fila del blueprint con su versión y sus estadísticas (null si la fila aún no las tiene).
+     */
+    private record StatsRow(long id, long version, PointStats stats) { }
+
+    /**
+     * Acceso JDBC a un shard.
+     */
+    private static final class Shard {
+        private static final String STATS_ASSIGNMENTS = String.join(", ",
+            Arrays.stream(STATS_COLUMNS).map(c -> c[0] + " = :" + c[0]).toList());
+
+        private final String name;
+        private final DataSource dataSource;
+        private final NamedParameterJdbcTemplate jdbc;
+        private final TransactionTemplate write;
+        private final TransactionTemplate read;
+
+        Shard(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+            DataSourceTransactionManager tm = new DataSourceTransactionManager(dataSource);
+            this.write = new TransactionTemplate(tm);
+            this.read = new TransactionTemplate(tm);
+            // El blueprint y sus puntos se leen en dos sentencias: deben ver la misma foto
+            this.read.setReadOnly(true);
+            this.read.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        }
+
+        void createSchema() {
+            var ops = jdbc.getJdbcOperations();
+            ops.execute("create table if not exists blueprint (id bigint generated by default as identity primary key, "
+                + "author varchar(255), name varchar(255), version bigint default 1 not null, "
+                + "points_reset_version bigint default 1 not null)");
+            ops.execute("create table if not exists blueprint_points (blueprint_id bigint not null, "
+                + "point_index integer not null, x integer not null, y integer not null, "
+                + "primary key (blueprint_id, point_index))");
+            ops.execute("create unique index if not exists blueprint_author_name on blueprint (author, name)");
+            // Nulas en las filas existentes: se calculan desde los puntos hasta la siguiente escritura
+            for (String[] column : STATS_COLUMNS) {
+                ops.execute("alter table blueprint add column if not exists " + column[0] + " " + column[1]);
+            }
+        }
+
+        static MapSqlParameterSource statsParams(PointStats stats) {
+            return new MapSqlParameterSource("point_count", stats.getPointCount())
+                .addValue("min_x", stats.getMinX()).addValue("max_x", stats.getMaxX())
+                .addValue("min_y", stats.getMinY()).addValue("max_y", stats.getMaxY())
+                .addValue("sum_x", stats.getSumX()).addValue("sum_y", stats.getSumY())
+                .addValue("path_length", stats.getPathLength())
+                .addValue("last_x", stats.getLastX()).addValue("last_y", stats.getLastY());
+        }
+
+        private static PointStats readStats(ResultSet rs, int first) throws SQLException {
+            return PointStats.restore(rs.getObject(first, Integer.class),
+                rs.getObject(first + 1, Integer.class), rs.getObject(first + 2, Integer.class),
+                rs.getObject(first + 3, Integer.class), rs.getObject(first + 4, Integer.class),
+                rs.getObject(first + 5, Long.class), rs.getObject(first + 6, Long.class),
+                rs.getObject(first + 7, Double.class),
+                rs.getObject(first + 8, Integer.class), rs.getObject(first + 9, Integer.class));
+        }
+
+        /** Id, versión y estadísticas de un blueprint, bloqueando la fila si se pide. */
+        List<StatsRow> statsRow(String author, String name, boolean forUpdate) {
+            return jdbc.query("select id, version, " + STATS_SELECT + " from blueprint "
+                    + "where author = :author and name = :name" + (forUpdate ? " for update" : ""),
+                new MapSqlParameterSource("author", author).addValue("name", name),
+                (rs, i) -> new StatsRow(rs.getLong(1), rs.getLong(2), readStats(rs, 3)));
+        }
+
+        /** Estadísticas de la fila, calculadas desde sus puntos si aún no las tiene. */
+        PointStats statsOf(StatsRow row) {
+            return row.stats() != null ? row.stats() : PointStats.of(pointRange(row.id(), 0, Integer.MAX_VALUE));
+        }
+
+        void insert(Blueprint bp) {
+            KeyHolder key = new GeneratedKeyHolder();
+            jdbc.update("insert into blueprint (author, name, version, points_reset_version, " + STATS_SELECT + ") "
+                    + "values (:author, :name, :version, :resetVersion, :" + STATS_SELECT.replace(", ", ", :") + ")",
+                statsParams(bp.getStats()).addValue("author", bp.getAuthor()).addValue("name", bp.getName())
+                    .addValue("version", bp.getVersion()).addValue("resetVersion", bp.getPointsResetVersion()),
+                key, new String[] {"id"});
+            insertPoints(key.getKey().longValue(), bp.getPoints());
+        }
+
+        void insertPoints(long id, List<Point> points) {
+            if (points.isEmpty()) return;
+            SqlParameterSource[] rows = new SqlParameterSource[points.size()];
+            for (int i = 0; i < rows.length; i++) {
+                Point p = points.get(i);
+                rows[i] = new MapSqlParameterSource("id", id).addValue("index", i).addValue("x", p.x()).addValue("y", p.y());
+            }
+            jdbc.batchUpdate("insert into blueprint_points (blueprint_id, point_index, x, y) values (:id, :index, :x, :y)", rows);
+        }
+
+        int delete(String where, SqlParameterSource params) {
+            jdbc.update("delete from blueprint_points where blueprint_id in (select id from blueprint where " + where + ")", params);
+            return jdbc.update("delete from blueprint where " + where, params);
+        }
+
+        /** Blueprints que cumplen el filtro, con sus puntos: una consulta para cada tabla. */
+        List<Blueprint> load(String where, SqlParameterSource params) {
+            return read.execute(status -> {
+                Map<Long, List<Point>> points = new HashMap<>();
+                jdbc.query("select p.blueprint_id, p.x, p.y from blueprint_points p join blueprint b on b.id = p.blueprint_id "
+                        + "where " + where + " order by p.blueprint_id, p.point_index", params,
+                    rs -> {
+                        points.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(new Point(rs.getInt(2), rs.getInt(3)));
+                    });
+                return jdbc.query("select " + BLUEPRINT_COLUMNS + " from blueprint b where " + where, params,
+                    (rs, i) -> Blueprint.restore(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        points.getOrDefault(rs.getLong(1), List.of()), rs.getLong(4), rs.getLong(5)));
+            });
+        }
+
+        /** Blueprints de exactamente esas claves, con sus puntos, en consultas de a lo sumo {@link #KEYS_PER_QUERY} claves. */
+        List<Blueprint> byKeys(List<BlueprintKey> keys) {
+            List<Blueprint> found = new ArrayList<>();
+            for (int from = 0; from < keys.size(); from += KEYS_PER_QUERY) {
+                List<BlueprintKey> chunk = keys.subList(from, Math.min(keys.size(), from + KEYS_PER_QUERY));
+                MapSqlParameterSource params = new MapSqlParameterSource();
+                List<String> pairs = new ArrayList<>();
+                for (int i = 0; i < chunk.size(); i++) {
+                    pairs.add("(b.author = :a" + i + " and b.name = :n" + i + ")");
+                    params.addValue("a" + i, chunk.get(i).author()).addValue("n" + i, chunk.get(i).name());
+                }
+                found.addAll(load("(" + String.join(" or ", pairs) + ")", params));
+            }
+            return found;
+        }
+
+        /** Blueprints siguientes a {@code after} por autor y nombre, con sus puntos. */
+        List<Blueprint> page(BlueprintKey after, int limit) {
+            MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+            String where = "1 = 1";
+            if (after != null) {
+                where = "b.author > :author or (b.author = :author and b.name > :name)";
+                params.addValue("author", after.author()).addValue("name", after.name());
+            }
+            List<Long> ids = jdbc.queryForList("select b.id from blueprint b where " + where
+                + " order by b.author, b.name limit :limit", params, Long.class);
+            if (ids.isEmpty()) return List.of();
+            Map<Long, Integer> position = new HashMap<>();
+            for (int i = 0; i < ids.size(); i++) position.put(ids.get(i), i);
+            List<Blueprint> blueprints = new ArrayList<>(load("b.id in (:ids)", new MapSqlParameterSource("ids", ids)));
+            blueprints.sort(Comparator.comparing(bp -> position.get(bp.getId())));
+            return blueprints;
+        }
+
+        BlueprintVersion version(String author, String name) {
+            List<BlueprintVersion> found = jdbc.query(
+                "select b.id, b.version, b.points_reset_version, b.point_count "
+                    + "from blueprint b where b.author = :author and b.name = :name",
+                new MapSqlParameterSource("author", author).addValue("name", name),
+                (rs, i) -> new BlueprintVersion(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                    rs.getObject(4) != null ? rs.getInt(4) : -1));
+            if (found.isEmpty()) return null;
+            BlueprintVersion v = found.get(0);
+            if (v.pointCount() >= 0) return v;
+            // Fila anterior a las estadísticas guardadas: se cuentan sus puntos
+            return new BlueprintVersion(v.id(), v.version(), v.pointsResetVersion(), jdbc.queryForObject(
+                "select count(*) from blueprint_points where blueprint_id = :id",
+                new MapSqlParameterSource("id", v.id()), Integer.class));
+        }
+
+        List<Point> pointRange(long id, int from, int to) {
+            return jdbc.query("select x, y from blueprint_points where blueprint_id = :id "
+                    + "and point_index >= :from and point_index < :to order by point_index",
+                new MapSqlParameterSource("id", id).addValue("from", from).addValue("to", to),
+                (rs, i) -> new Point(rs.getInt(1), rs.getInt(2)));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package co.edu.eci.blueprints.persistence;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración del almacenamiento repartido por autor ({@code blueprints.sharding.*}).
+ * @param enabled Usa {@link ShardedBlueprintPersistence} en lugar de la persistencia JPA
+ * @param virtualNodes Posiciones de cada shard en el anillo de hashing
+ * @param rebalance Al arrancar, mueve los autores que cambiaron de shard (ver {@link ShardRebalancer})
+ * @param shards Shards con un nombre estable: renombrar uno cambia qué autores le tocan
+ */
+@ConfigurationProperties(prefix = "blueprints.sharding")
+public record ShardingProperties(boolean enabled, Integer virtualNodes, boolean rebalance, List<Shard> shards) {
+
+    public ShardingProperties {
+        if (virtualNodes == null) virtualNodes = 160;
+        if (shards == null) shards = List.of();
+    }
+
+    public record Shard(String name, String url, String username, String password) { }
+}
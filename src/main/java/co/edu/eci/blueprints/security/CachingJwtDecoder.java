@@ -0,0 +1,122 @@
+package co.edu.eci.blueprints.security;
+
+import co.edu.eci.blueprints.jfr.CacheLookupEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers tokens that the delegate decoder already verified, so a client that sends the
+ * same bearer token on every request pays for the signature check and claims parsing once.
+ * Entries are keyed by the SHA-256 of the token (raw tokens are not kept as keys) and are only
+ * served until the token's {@code exp}; tokens without {@code exp} and rejected tokens are never
+ * cached. The cache holds at most {@code maxEntries} tokens: when full, expired entries are
+ * purged first and then arbitrary entries are evicted. Lookups are emitted as
+ * {@link CacheLookupEvent}s when a flight recording enables them.
+ */
+public class CachingJwtDecoder implements JwtDecoder, MeterBinder {
+
+    private final JwtDecoder delegate;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<String, Jwt> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries) {
+        this(delegate, maxEntries, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int maxEntries, Clock clock) {
+        if (maxEntries < 1) throw new IllegalArgumentException("maxEntries must be positive");
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = digest(token);
+        Instant now = clock.instant();
+        Jwt cached = cache.get(key);
+        if (cached != null) {
+            if (now.isBefore(cached.getExpiresAt())) {
+                hits.increment();
+                CacheLookupEvent event = new CacheLookupEvent();
+                if (event.shouldCommit()) {
+                    event.cache = "jwt";
+                    event.hit = true;
+                    event.commit();
+                }
+                return cached;
+            }
+            cache.remove(key, cached);
+        }
+        misses.increment();
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        Jwt jwt = delegate.decode(token);
+        event.end();
+        if (event.shouldCommit()) {
+            event.cache = "jwt";
+            event.commit();
+        }
+        if (jwt.getExpiresAt() != null && now.isBefore(jwt.getExpiresAt())) {
+            if (cache.size() >= maxEntries) evict(now);
+            cache.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    private void evict(Instant now) {
+        cache.values().removeIf(jwt -> !now.isBefore(jwt.getExpiresAt()));
+        Iterator<String> keys = cache.keySet().iterator();
+        while (cache.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public long hits() { return hits.sum(); }
+
+    public long misses() { return misses.sum(); }
+
+    public int size() { return cache.size(); }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("blueprints.jwt.cache.requests", hits, LongAdder::sum)
+            .tag("result", "hit").description("Bearer tokens served from the verified-token cache")
+            .register(registry);
+        FunctionCounter.builder("blueprints.jwt.cache.requests", misses, LongAdder::sum)
+            .tag("result", "miss").description("Bearer tokens verified by the delegate decoder")
+            .register(registry);
+        Gauge.builder("blueprints.jwt.cache.size", cache, Map::size)
+            .description("Verified tokens currently cached")
+            .register(registry);
+    }
+}
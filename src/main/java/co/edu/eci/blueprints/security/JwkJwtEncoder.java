@@ -0,0 +1,64 @@
+package co.edu.eci.blueprints.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+import java.net.URL;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Signs tokens with a single key through a signer built once.
+ * Used instead of {@code NimbusJwtEncoder}, whose per-token JWK selection does not support
+ * Ed25519 keys in the Nimbus version we ship.
+ */
+class JwkJwtEncoder implements JwtEncoder {
+
+    private final JwtAlgorithm algorithm;
+    private final JWSSigner signer;
+    private final String keyId;
+
+    JwkJwtEncoder(JwtAlgorithm algorithm, JWSSigner signer, String keyId) {
+        this.algorithm = algorithm;
+        this.signer = signer;
+        this.keyId = keyId;
+    }
+
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) {
+        if (parameters.getJwsHeader() != null
+                && !algorithm.getName().equals(parameters.getJwsHeader().getAlgorithm().getName())) {
+            throw new JwtEncodingException("Tokens are signed with " + algorithm.getName() + ", not "
+                + parameters.getJwsHeader().getAlgorithm().getName());
+        }
+        JwtClaimsSet claims = parameters.getClaims();
+        JWTClaimsSet.Builder nimbusClaims = new JWTClaimsSet.Builder();
+        claims.getClaims().forEach((name, value) -> nimbusClaims.claim(name, toNimbus(value)));
+        JWSHeader header = new JWSHeader.Builder(algorithm.jwsAlgorithm()).keyID(keyId).build();
+
+        SignedJWT jwt = new SignedJWT(header, nimbusClaims.build());
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException e) {
+            throw new JwtEncodingException("Failed to sign the JWT: " + e.getMessage(), e);
+        }
+        Map<String, Object> headers = new LinkedHashMap<>(header.toJSONObject());
+        return new Jwt(jwt.serialize(), claims.getIssuedAt(), claims.getExpiresAt(), headers, claims.getClaims());
+    }
+
+    private static Object toNimbus(Object value) {
+        if (value instanceof Instant instant) return Date.from(instant);
+        if (value instanceof URL url) return url.toExternalForm();
+        return value;
+    }
+}
@@ -0,0 +1,82 @@
+package co.edu.eci.blueprints.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Signer;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import org.springframework.security.oauth2.jose.jws.JwsAlgorithm;
+
+/**
+ * Signing algorithms supported for the tokens issued by {@code /auth/login}.
+ * RS256 stays the default for compatibility; ES256 and EdDSA (Ed25519) sign much faster
+ * and generate their keys in microseconds instead of the hundreds of milliseconds a
+ * 2048-bit RSA key takes at startup.
+ */
+public enum JwtAlgorithm implements JwsAlgorithm {
+    RS256(JWSAlgorithm.RS256),
+    ES256(JWSAlgorithm.ES256),
+    EDDSA(JWSAlgorithm.EdDSA);
+
+    private final JWSAlgorithm jwsAlgorithm;
+
+    JwtAlgorithm(JWSAlgorithm jwsAlgorithm) { this.jwsAlgorithm = jwsAlgorithm; }
+
+    /** The JOSE {@code alg} header value (RS256, ES256, EdDSA). */
+    @Override
+    public String getName() { return jwsAlgorithm.getName(); }
+
+    public JWSAlgorithm jwsAlgorithm() { return jwsAlgorithm; }
+
+    /** Generates a fresh signing key (with its private part) for this algorithm. */
+    public JWK generateKey() throws JOSEException {
+        return switch (this) {
+            case RS256 -> new RSAKeyGenerator(2048).keyUse(KeyUse.SIGNATURE).algorithm(jwsAlgorithm)
+                .keyIDFromThumbprint(true).generate();
+            case ES256 -> new ECKeyGenerator(Curve.P_256).keyUse(KeyUse.SIGNATURE).algorithm(jwsAlgorithm)
+                .keyIDFromThumbprint(true).generate();
+            case EDDSA -> new OctetKeyPairGenerator(Curve.Ed25519).keyUse(KeyUse.SIGNATURE).algorithm(jwsAlgorithm)
+                .keyIDFromThumbprint(true).generate();
+        };
+    }
+
+    /** The algorithm a loaded key signs with: RSA → RS256, EC P-256 → ES256, Ed25519 → EdDSA. */
+    public static JwtAlgorithm forKey(JWK key) {
+        if (key instanceof RSAKey) return RS256;
+        if (key instanceof ECKey ec && Curve.P_256.equals(ec.getCurve())) return ES256;
+        if (key instanceof OctetKeyPair okp && Curve.Ed25519.equals(okp.getCurve())) return EDDSA;
+        throw new IllegalArgumentException("Unsupported signing key " + key.getKeyType() + " (kid " + key.getKeyID() + ")");
+    }
+
+    /** Signer for a private key of this algorithm; signers are thread-safe and meant to be reused. */
+    public JWSSigner signer(JWK key) throws JOSEException {
+        return switch (this) {
+            case RS256 -> new RSASSASigner(key.toRSAKey());
+            case ES256 -> new ECDSASigner(key.toECKey());
+            case EDDSA -> new Ed25519Signer(key.toOctetKeyPair());
+        };
+    }
+
+    /** Verifier for a public key of this algorithm; verifiers are thread-safe and meant to be reused. */
+    public JWSVerifier verifier(JWK publicKey) throws JOSEException {
+        return switch (this) {
+            case RS256 -> new RSASSAVerifier(publicKey.toRSAKey());
+            case ES256 -> new ECDSAVerifier(publicKey.toECKey());
+            case EDDSA -> new Ed25519Verifier(publicKey.toOctetKeyPair());
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package co.edu.eci.blueprints.security;
+
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPrivateKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads signing keys (RSA, EC P-256 and Ed25519) from a key store, with kid = alias, or from
+ * PEM files holding SubjectPublicKeyInfo public keys and PKCS#8 private keys.
+ */
+final class JwtKeyLoader {
+
+    private static final List<String> KEY_FACTORIES = List.of("RSA", "EC", "Ed25519");
+    // An Ed25519 public key is the last 32 bytes of its X.509 encoding
+    private static final int ED25519_KEY_LENGTH = 32;
+
+    private JwtKeyLoader() { }
+
+    static List<JWK> load(JwtKeyProperties props) {
+        List<JWK> keys = new ArrayList<>();
+        try {
+            if (props.keyStore() != null) keys.addAll(fromKeyStore(props.keyStore(), props.keyStoreType(), props.keyStorePassword()));
+            for (JwtKeyProperties.PemKey pem : props.pem()) keys.add(fromPem(pem));
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudieron cargar las llaves de firma", e);
+        }
+        return keys;
+    }
+
+    static List<JWK> fromKeyStore(Resource location, String type, String password)
+            throws IOException, GeneralSecurityException {
+        char[] pin = password != null ? password.toCharArray() : new char[0];
+        KeyStore keyStore = KeyStore.getInstance(type);
+        try (InputStream in = location.getInputStream()) {
+            keyStore.load(in, pin);
+        }
+        List<JWK> keys = new ArrayList<>();
+        for (String alias : Collections.list(keyStore.aliases())) {
+            Certificate certificate = keyStore.getCertificate(alias);
+            if (certificate == null) continue;
+            PublicKey publicKey = certificate.getPublicKey();
+            // Key entries sign and verify; trusted certificate entries only verify
+            PrivateKey privateKey = keyStore.isKeyEntry(alias) ? (PrivateKey) keyStore.getKey(alias, pin) : null;
+            keys.add(toJwk(alias, publicKey, privateKey, publicKey.getEncoded()));
+        }
+        return keys;
+    }
+
+    static JWK fromPem(JwtKeyProperties.PemKey pem) throws IOException, GeneralSecurityException {
+        if (pem.kid() == null || pem.publicKey() == null) {
+            throw new IllegalArgumentException("PEM keys need a kid and a public key");
+        }
+        byte[] publicDer = readPem(pem.publicKey());
+        byte[] privateDer = pem.privateKey() != null ? readPem(pem.privateKey()) : null;
+        for (String algorithm : KEY_FACTORIES) {
+            KeyFactory factory = KeyFactory.getInstance(algorithm);
+            PublicKey publicKey;
+            try {
+                publicKey = factory.generatePublic(new X509EncodedKeySpec(publicDer));
+            } catch (GeneralSecurityException notThisType) {
+                continue;
+            }
+            PrivateKey privateKey = privateDer != null ? factory.generatePrivate(new PKCS8EncodedKeySpec(privateDer)) : null;
+            return toJwk(pem.kid(), publicKey, privateKey, publicDer);
+        }
+        throw new IllegalArgumentException("Unsupported public key for kid " + pem.kid());
+    }
+
+    private static JWK toJwk(String kid, PublicKey publicKey, PrivateKey privateKey, byte[] publicDer) {
+        if (publicKey instanceof RSAPublicKey rsa) {
+            RSAKey.Builder builder = new RSAKey.Builder(rsa).keyID(kid).keyUse(KeyUse.SIGNATURE);
+            if (privateKey != null) builder.privateKey((RSAPrivateKey) privateKey);
+            return builder.build();
+        }
+        if (publicKey instanceof ECPublicKey ec) {
+            ECKey.Builder builder = new ECKey.Builder(Curve.forECParameterSpec(ec.getParams()), ec).keyID(kid).keyUse(KeyUse.SIGNATURE);
+            if (privateKey != null) builder.privateKey((ECPrivateKey) privateKey);
+            return builder.build();
+        }
+        OctetKeyPair.Builder builder = new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(tail(publicDer)))
+            .keyID(kid).keyUse(KeyUse.SIGNATURE);
+        if (privateKey != null) builder.d(Base64URL.encode(((EdECPrivateKey) privateKey).getBytes().orElseThrow()));
+        return builder.build();
+    }
+
+    private static byte[] tail(byte[] der) {
+        return Arrays.copyOfRange(der, der.length - ED25519_KEY_LENGTH, der.length);
+    }
+
+    private static byte[] readPem(Resource resource) throws IOException {
+        String pem;
+        try (InputStream in = resource.getInputStream()) {
+            pem = new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+        }
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
@@ -0,0 +1,28 @@
+package co.edu.eci.blueprints.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+import java.util.List;
+
+/**
+ * Shared signing keys. When a key store or PEM keys are configured every node loads the same
+ * material, so tokens issued by one instance validate on all others and across restarts.
+ * The active key signs new tokens; the remaining keys only verify tokens issued before a rotation.
+ */
+@ConfigurationProperties(prefix = "blueprints.security.keys")
+public record JwtKeyProperties(Resource keyStore, String keyStoreType, String keyStorePassword,
+                               String activeKid, List<PemKey> pem) {
+
+    public JwtKeyProperties {
+        if (keyStoreType == null) keyStoreType = "PKCS12";
+        if (pem == null) pem = List.of();
+    }
+
+    /**
+     * A key stored as PEM files. The private key (PKCS#8) is optional for verification-only keys.
+     */
+    public record PemKey(String kid, Resource privateKey, Resource publicKey) {}
+
+    public boolean configured() { return keyStore != null || !pem.isEmpty(); }
+}
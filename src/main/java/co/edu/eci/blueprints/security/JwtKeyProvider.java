@@ -1,24 +1,173 @@
 package co.edu.eci.blueprints.security;
 
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.BadJWTException;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.stereotype.Component;
-import java.security.*;
 
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Signing and verification keys. With {@code blueprints.security.keys.*} configured the keys are
+ * loaded from the shared key store / PEM files: the active key (kid {@code active-kid}, or the first
+ * key with a private part) signs new tokens and every loaded key verifies tokens by their {@code kid}
+ * header. Without configuration a key for {@code blueprints.security.algorithm} is generated at
+ * startup, which only suits a single node since its tokens do not survive a restart.
+ * With {@code blueprints.startup.defer-init=true} that generation runs in the background and the
+ * first token operation waits for it, instead of holding up startup.
+ */
 @Component
 public class JwtKeyProvider {
-    private KeyPair keyPair;
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyProvider.class);
+
+    private final JwtAlgorithm configuredAlgorithm;
+    private final JwtKeyProperties keyProperties;
+    private final boolean deferGeneration;
+    private CompletableFuture<KeyMaterial> material;
+
+    @Autowired
+    public JwtKeyProvider(RsaKeyProperties props, JwtKeyProperties keyProperties,
+                          @Value("${blueprints.startup.defer-init:false}") boolean deferGeneration) {
+        this.configuredAlgorithm = props.algorithm();
+        this.keyProperties = keyProperties;
+        this.deferGeneration = deferGeneration;
+    }
+
+    public JwtKeyProvider(JwtAlgorithm algorithm) {
+        this.configuredAlgorithm = algorithm;
+        this.keyProperties = null;
+        this.deferGeneration = false;
+    }
+
+    JwtKeyProvider(List<JWK> keys, String activeKid) {
+        this.configuredAlgorithm = null;
+        this.keyProperties = null;
+        this.deferGeneration = false;
+        this.material = CompletableFuture.completedFuture(KeyMaterial.of(keys, activeKid));
+    }
 
     @PostConstruct
-    void init() {
+    public void init() {
+        if (material != null) return;
+        if (keyProperties != null && keyProperties.configured()) {
+            KeyMaterial loaded = KeyMaterial.of(JwtKeyLoader.load(keyProperties), keyProperties.activeKid());
+            log.info("Loaded {} signing keys, signing with kid {} ({})",
+                loaded.keys().size(), loaded.activeKey().getKeyID(), loaded.algorithm().getName());
+            if (configuredAlgorithm != loaded.algorithm()) {
+                log.warn("blueprints.security.algorithm={} ignored: the active key signs with {}",
+                    configuredAlgorithm.getName(), loaded.algorithm().getName());
+            }
+            material = CompletableFuture.completedFuture(loaded);
+        } else if (deferGeneration) {
+            material = CompletableFuture.supplyAsync(this::generate,
+                task -> Thread.ofPlatform().daemon().name("jwt-keygen").start(task));
+        } else {
+            material = CompletableFuture.completedFuture(generate());
+        }
+    }
+
+    private KeyMaterial generate() {
         try {
-            KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
-            kpg.initialize(2048);
-            this.keyPair = kpg.generateKeyPair();
+            return KeyMaterial.of(List.of(configuredAlgorithm.generateKey()), null);
         } catch (Exception e) {
-            throw new IllegalStateException("No se pudo generar llave RSA", e);
+            throw new IllegalStateException("No se pudo generar llave " + configuredAlgorithm.getName(), e);
         }
     }
 
-    public PrivateKey privateKey() { return keyPair.getPrivate(); }
-    public PublicKey publicKey() { return keyPair.getPublic(); }
+    private KeyMaterial material() { return material.join(); }
+
+    public JwtAlgorithm algorithm() { return material().algorithm(); }
+
+    /** Public part of the active signing key. */
+    public JWK publicJwk() { return material().activeKey().toPublicJWK(); }
+
+    /** Public keys of every loaded key as a JWK Set document, built once. */
+    public String jwksJson() { return material().jwksJson(); }
+
+    public JwtEncoder encoder() {
+        return parameters -> material().encoder().encode(parameters);
+    }
+
+    public JwtDecoder decoder() {
+        // Verifiers are built once and picked by kid (tokens without kid use the active key),
+        // instead of selecting a JWK per token. Claims (exp, nbf) are validated afterwards by
+        // NimbusJwtDecoder's default validators.
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>() {
+            @Override
+            public JWTClaimsSet process(SignedJWT jwt, SecurityContext context) throws BadJOSEException, JOSEException {
+                KeyMaterial keys = material();
+                String kid = jwt.getHeader().getKeyID();
+                VerificationKey key = keys.verifiers().get(kid == null ? keys.activeKey().getKeyID() : kid);
+                if (key == null) {
+                    throw new BadJWSException("Signed JWT rejected: unknown key " + kid);
+                }
+                if (!key.algorithm().jwsAlgorithm().equals(jwt.getHeader().getAlgorithm())) {
+                    throw new BadJWSException("Signed JWT rejected: unexpected algorithm " + jwt.getHeader().getAlgorithm());
+                }
+                if (!jwt.verify(key.verifier())) {
+                    throw new BadJWSException("Signed JWT rejected: Invalid signature");
+                }
+                try {
+                    return jwt.getJWTClaimsSet();
+                } catch (ParseException e) {
+                    throw new BadJWTException("Invalid JWT claims set", e);
+                }
+            }
+        };
+        return new NimbusJwtDecoder(processor);
+    }
+
+    private record VerificationKey(JwtAlgorithm algorithm, JWSVerifier verifier) {}
+
+    /**
+     * Keys plus everything derived from them (signer, verifiers, JWKS document), built together.
+     */
+    private record KeyMaterial(JWK activeKey, List<JWK> keys, JwtAlgorithm algorithm, JwtEncoder encoder,
+                               Map<String, VerificationKey> verifiers, String jwksJson) {
+
+        static KeyMaterial of(List<JWK> loaded, String activeKid) {
+            if (loaded.isEmpty()) throw new IllegalStateException("No signing keys configured");
+            List<JWK> keys = List.copyOf(loaded);
+            JWK active = keys.stream()
+                .filter(k -> activeKid == null ? k.isPrivate() : activeKid.equals(k.getKeyID()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(activeKid == null
+                    ? "No signing key has a private key"
+                    : "Active signing key " + activeKid + " not found"));
+            if (!active.isPrivate()) throw new IllegalStateException("Active signing key " + activeKid + " has no private key");
+            JwtAlgorithm algorithm = JwtAlgorithm.forKey(active);
+            try {
+                Map<String, VerificationKey> verifiers = new LinkedHashMap<>();
+                for (JWK key : keys) {
+                    JwtAlgorithm keyAlgorithm = JwtAlgorithm.forKey(key);
+                    verifiers.put(key.getKeyID(), new VerificationKey(keyAlgorithm, keyAlgorithm.verifier(key.toPublicJWK())));
+                }
+                JwtEncoder encoder = new JwkJwtEncoder(algorithm, algorithm.signer(active), active.getKeyID());
+                String jwksJson = new JWKSet(keys.stream().map(JWK::toPublicJWK).toList()).toString();
+                return new KeyMaterial(active, keys, algorithm, encoder, Map.copyOf(verifiers), jwksJson);
+            } catch (JOSEException e) {
+                throw new IllegalStateException("No se pudo preparar la llave " + algorithm.getName(), e);
+            }
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package co.edu.eci.blueprints.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs password checks (BCrypt, deliberately slow) on a small dedicated pool instead of the
+ * request threads, so a burst of logins cannot take every Tomcat thread away from the API.
+ * When the pool and its queue are full the check fails right away with
+ * {@link RejectedExecutionException}, which the login endpoint reports as 503.
+ */
+@Component
+public class PasswordVerifier {
+
+    private final InMemoryUserService users;
+    private final Executor executor;
+    private final Timer verification;
+    private final Counter rejected;
+
+    @Autowired
+    public PasswordVerifier(InMemoryUserService users, MeterRegistry registry,
+                            @Value("${blueprints.security.login.threads:0}") int threads,
+                            @Value("${blueprints.security.login.queue-capacity:64}") int queueCapacity) {
+        this(users, registry, newPool(threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+            queueCapacity, registry));
+    }
+
+    PasswordVerifier(InMemoryUserService users, MeterRegistry registry, Executor executor) {
+        this.users = users;
+        this.executor = executor;
+        this.verification = Timer.builder("blueprints.login.verification")
+            .description("Time spent checking a password hash")
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+        this.rejected = Counter.builder("blueprints.login.rejected")
+            .description("Logins rejected because the password verification pool was full")
+            .register(registry);
+    }
+
+    private static ThreadPoolExecutor newPool(int threads, int queueCapacity, MeterRegistry registry) {
+        ArrayBlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        registry.gauge("blueprints.login.queue", queue, ArrayBlockingQueue::size);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue,
+            new CustomizableThreadFactory("login-verify-"), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Checks the credentials on the verification pool.
+     * @return future with the result, failed with RejectedExecutionException when the pool is saturated
+     */
+    public CompletableFuture<Boolean> verify(String username, String rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> verification.record(() -> users.isValid(username, rawPassword)), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService es) es.shutdown();
+    }
+}
@@ -3,4 +3,9 @@ package co.edu.eci.blueprints.security;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "blueprints.security")
-public record RsaKeyProperties(String issuer, Integer tokenTtlSeconds) {}
+public record RsaKeyProperties(String issuer, Integer tokenTtlSeconds, JwtAlgorithm algorithm) {
+
+    public RsaKeyProperties {
+        if (algorithm == null) algorithm = JwtAlgorithm.RS256;
+    }
+}
@@ -1,9 +1,7 @@
 package co.edu.eci.blueprints.security;
 
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,7 +19,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import java.util.List;
 
 @Configuration
-@EnableConfigurationProperties(RsaKeyProperties.class)
+@EnableConfigurationProperties({RsaKeyProperties.class, JwtKeyProperties.class})
 public class SecurityConfig {
 
     @Bean
@@ -47,13 +45,20 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .cors(Customizer.withDefaults())   // 👈 HABILITAR CORS
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/actuator/health", "/auth/login").permitAll()
+                .requestMatchers("/actuator/health", "/auth/login", "/.well-known/jwks.json").permitAll()
+                // Metrics reveal routes, authors and query volumes; scrape them with an admin token
+                .requestMatchers("/actuator/prometheus").hasAuthority("SCOPE_blueprints.admin")
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
-                .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/blueprints/**")
+                .requestMatchers("/api/v1/admin/**").hasAuthority("SCOPE_blueprints.admin")
+                .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/blueprints/**", "/api/v1/async/blueprints/**")
                     .hasAuthority("SCOPE_blueprints.read")
-                .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/v1/blueprints")
+                .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/v1/blueprints/lookup")
+                    .hasAuthority("SCOPE_blueprints.read")
+                .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/v1/blueprints", "/api/v1/blueprints/batch")
+                    .hasAuthority("SCOPE_blueprints.write")
+                .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/v1/async/blueprints")
                     .hasAuthority("SCOPE_blueprints.write")
-                .requestMatchers(org.springframework.http.HttpMethod.PUT, "/api/v1/blueprints/**")
+                .requestMatchers(org.springframework.http.HttpMethod.PUT, "/api/v1/blueprints/**", "/api/v1/async/blueprints/**")
                     .hasAuthority("SCOPE_blueprints.write")
                 .anyRequest().authenticated()
             )
@@ -63,20 +68,30 @@ public class SecurityConfig {
     }
 
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(@Value("${blueprints.security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(JwtKeyProvider keyProvider,
+                                 @Value("${blueprints.security.jwt-cache.enabled:true}") boolean cacheEnabled,
+                                 @Value("${blueprints.security.jwt-cache.max-entries:10000}") int cacheMaxEntries) {
+        JwtDecoder decoder = keyProvider.decoder();
+        // Clients resend the same token on every request; verify its signature only once
+        return new TimedJwtDecoder(cacheEnabled ? new CachingJwtDecoder(decoder, cacheMaxEntries) : decoder);
     }
 
     @Bean
-    public JwtDecoder jwtDecoder(JwtKeyProvider keyProvider) {
-        return NimbusJwtDecoder.withPublicKey((java.security.interfaces.RSAPublicKey) keyProvider.publicKey()).build();
+    public MeterBinder jwtCacheMetrics(JwtDecoder jwtDecoder) {
+        return registry -> {
+            if (jwtDecoder instanceof TimedJwtDecoder timed && timed.delegate() instanceof CachingJwtDecoder cache) {
+                cache.bindTo(registry);
+            }
+        };
     }
 
     @Bean
     public JwtEncoder jwtEncoder(JwtKeyProvider keyProvider) {
-        RSAKey rsaKey = new RSAKey.Builder((java.security.interfaces.RSAPublicKey) keyProvider.publicKey())
-                .privateKey(keyProvider.privateKey())
-                .build();
-        return new NimbusJwtEncoder(new ImmutableJWKSet<SecurityContext>(new JWKSet(rsaKey)));
+        return keyProvider.encoder();
     }
 }
@@ -0,0 +1,23 @@
+package co.edu.eci.blueprints.security;
+
+import co.edu.eci.blueprints.config.RequestTiming;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Adds the time spent decoding the bearer token (cache lookup or signature check) to the
+ * {@code auth} phase of the current {@link RequestTiming}.
+ */
+record TimedJwtDecoder(JwtDecoder delegate) implements JwtDecoder {
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long start = System.nanoTime();
+        try {
+            return delegate.decode(token);
+        } finally {
+            RequestTiming.record(RequestTiming.Phase.AUTH, System.nanoTime() - start);
+        }
+    }
+}
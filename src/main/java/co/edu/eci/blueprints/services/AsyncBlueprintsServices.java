@@ -0,0 +1,195 @@
+package co.edu.eci.blueprints.services;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import co.edu.eci.blueprints.events.BlueprintEvent;
+import co.edu.eci.blueprints.filters.BlueprintsFilter;
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.Point;
+import co.edu.eci.blueprints.persistence.AsyncBlueprintPersistence;
+import co.edu.eci.blueprints.persistence.BlueprintNotFoundException;
+
+
+@Service
+/**
+ * Variante asíncrona de {@link BlueprintsServices}.
+ * Las operaciones retornan de inmediato un {@link CompletableFuture}; el filtro se aplica
+ * cuando la persistencia completa y los eventos de cambio se publican igual que en el servicio síncrono.
+ * Cada escritura completada libera las lecturas en curso de {@link BlueprintsServices}, igual que
+ * una escritura síncrona.
+ */
+public class AsyncBlueprintsServices {
+
+    /**
+     * Persistencia asíncrona.
+     */
+    private final AsyncBlueprintPersistence persistence;
+    /**
+     * Filtro activo para transformar los blueprints antes de retornarlos.
+     */
+    private final BlueprintsFilter filter;
+    /**
+     * Publicador de eventos de cambio (suscripciones en vivo).
+     */
+    private final ApplicationEventPublisher events;
+    /**
+     * Servicio síncrono, cuyas lecturas en curso se liberan después de cada escritura.
+     */
+    private final BlueprintsServices services;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param persistence Persistencia asíncrona
+     * @param filter Filtro de blueprints
+     * @param events Publicador de eventos de cambio
+     * @param services Servicio síncrono que comparte las lecturas en curso
+     */
+    public AsyncBlueprintsServices(AsyncBlueprintPersistence persistence, BlueprintsFilter filter,
+                                   ApplicationEventPublisher events, BlueprintsServices services) {
+        this.persistence = persistence;
+        this.filter = filter;
+        this.events = events;
+        this.services = services;
+    }
+
+    /**
+     * Agrega un nuevo blueprint al sistema.
+     * @param bp Blueprint a agregar
+     * @return Futuro que falla con BlueprintPersistenceException si ya existe
+     */
+    public CompletableFuture<Void> addNewBlueprint(Blueprint bp) {
+        return persistence.saveBlueprint(bp)
+            .thenRun(() -> services.forgetLoads(bp.getAuthor(), bp.getName()));
+    }
+
+    /**
+     * Obtiene todos los blueprints aplicando el filtro configurado.
+     * @return Futuro con el set de blueprints filtrados
+     */
+    public CompletableFuture<Set<Blueprint>> getAllBlueprints() {
+        return persistence.getAllBlueprints().thenApply(this::filterAll);
+    }
+
+    /**
+     * Publica todos los blueprints filtrados, uno a uno.
+     * @return Publicador de blueprints filtrados
+     */
+    public Flow.Publisher<Blueprint> publishAllBlueprints() {
+        Flow.Publisher<Blueprint> source = persistence.publishAllBlueprints();
+        return subscriber -> source.subscribe(new Flow.Subscriber<>() {
+            @Override public void onSubscribe(Flow.Subscription s) { subscriber.onSubscribe(s); }
+            @Override public void onNext(Blueprint bp) { subscriber.onNext(filter.apply(bp)); }
+            @Override public void onError(Throwable t) { subscriber.onError(t); }
+            @Override public void onComplete() { subscriber.onComplete(); }
+        });
+    }
+
+    /**
+     * Obtiene los blueprints de un autor aplicando el filtro configurado.
+     * @param author Autor de los blueprints
+     * @return Futuro con el set de blueprints filtrados; falla con BlueprintNotFoundException si el autor no tiene planos
+     */
+    public CompletableFuture<Set<Blueprint>> getBlueprintsByAuthor(String author) {
+        return persistence.getBlueprintsByAuthor(author).thenApply(this::filterAll);
+    }
+
+    /**
+     * Obtiene los blueprints de varios autores lanzando las consultas en paralelo.
+     * @param authors Autores a consultar
+     * @return Futuro con los blueprints filtrados por autor, en el orden recibido; los autores sin planos quedan con un set vacío
+     */
+    public CompletableFuture<Map<String, Set<Blueprint>>> getBlueprintsByAuthors(Collection<String> authors) {
+        List<String> distinct = authors.stream().distinct().toList();
+        List<CompletableFuture<Set<Blueprint>>> futures = distinct.stream()
+            .map(author -> getBlueprintsByAuthor(author).exceptionally(error -> {
+                if (unwrap(error) instanceof BlueprintNotFoundException) return Set.of();
+                throw error instanceof CompletionException ce ? ce : new CompletionException(error);
+            }))
+            .toList();
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            Map<String, Set<Blueprint>> result = new LinkedHashMap<>();
+            for (int i = 0; i < distinct.size(); i++) result.put(distinct.get(i), futures.get(i).join());
+            return result;
+        });
+    }
+
+    /**
+     * Obtiene un blueprint específico aplicando el filtro configurado.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Futuro con el blueprint filtrado; falla con BlueprintNotFoundException si no existe
+     */
+    public CompletableFuture<Blueprint> getBlueprint(String author, String name) {
+        return persistence.getBlueprint(author, name).thenApply(filter::apply);
+    }
+
+    /**
+     * Agrega un punto a un blueprint existente.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @param x Coordenada X del punto
+     * @param y Coordenada Y del punto
+     * @return Futuro que falla con BlueprintNotFoundException si el blueprint no existe
+     */
+    public CompletableFuture<Void> addPoint(String author, String name, int x, int y) {
+        return persistence.addPoint(author, name, x, y).thenAccept(revision -> {
+            services.forgetLoads(author, name);
+            events.publishEvent(BlueprintEvent.pointAdded(revision.id(), author, name, revision.version(), new Point(x, y)));
+        });
+    }
+
+    /**
+     * Actualiza un blueprint existente.
+     * @param originalAuthor Autor original del blueprint
+     * @param originalName Nombre original del blueprint
+     * @param updatedBlueprint Blueprint con los nuevos datos
+     * @return Futuro que falla con BlueprintNotFoundException o BlueprintPersistenceException
+     */
+    public CompletableFuture<Void> updateBlueprint(String originalAuthor, String originalName, Blueprint updatedBlueprint) {
+        return persistence.updateBlueprint(originalAuthor, originalName, updatedBlueprint)
+            .thenAccept(revision -> {
+                services.forgetLoads(originalAuthor, originalName);
+                services.forgetLoads(updatedBlueprint.getAuthor(), updatedBlueprint.getName());
+                events.publishEvent(BlueprintEvent.updated(revision.id(), revision.version(), originalAuthor, originalName,
+                    updatedBlueprint.getAuthor(), updatedBlueprint.getName()));
+            });
+    }
+
+    /**
+     * Elimina un blueprint del sistema.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Futuro que falla con BlueprintNotFoundException si el blueprint no existe
+     */
+    public CompletableFuture<Void> deleteBlueprint(String author, String name) {
+        return persistence.deleteBlueprint(author, name)
+            .thenAccept(revision -> {
+                services.forgetLoads(author, name);
+                events.publishEvent(BlueprintEvent.deleted(revision.id(), author, name));
+            });
+    }
+
+    /**
+     * Retorna la causa real de un error entregado por un futuro.
+     * @param error Error recibido en un callback de CompletableFuture
+     * @return Causa sin envoltorio CompletionException
+     */
+    public static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private Set<Blueprint> filterAll(Set<Blueprint> blueprints) {
+        return blueprints.stream().map(filter::apply).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,25 @@
+package co.edu.eci.blueprints.services;
+
+import java.util.List;
+
+import co.edu.eci.blueprints.model.Point;
+
+/**
+ * Operación individual dentro de un lote de modificaciones.
+ * @param op Tipo de operación
+ * @param author Autor del plano sobre el que se opera
+ * @param name Nombre del plano sobre el que se opera
+ * @param points Puntos del plano (CREATE, UPDATE)
+ * @param x Coordenada X del punto (ADD_POINT)
+ * @param y Coordenada Y del punto (ADD_POINT)
+ * @param newAuthor Nuevo autor (UPDATE, opcional)
+ * @param newName Nuevo nombre (UPDATE, opcional)
+ */
+public record BatchOperation(Type op, String author, String name, List<Point> points,
+                             Integer x, Integer y, String newAuthor, String newName) {
+
+    /**
+     * Tipos de operación soportados.
+     */
+    public enum Type { CREATE, UPDATE, ADD_POINT, DELETE }
+}
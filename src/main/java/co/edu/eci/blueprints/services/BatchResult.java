@@ -0,0 +1,20 @@
+package co.edu.eci.blueprints.services;
+
+import java.util.List;
+
+/**
+ * Resultado de la ejecución de un lote.
+ * @param committed Indica si los cambios del lote quedaron confirmados
+ * @param results Resultado de cada operación, en el orden recibido
+ */
+public record BatchResult(boolean committed, List<OperationResult> results) {
+
+    /**
+     * Resultado de una operación del lote.
+     * @param index Posición de la operación en el lote
+     * @param code Código con la misma semántica que el endpoint individual (200, 201, 202, 400, 404),
+     *             o 409 si la operación no se ejecutó o fue revertida por un lote atómico fallido
+     * @param message Mensaje descriptivo
+     */
+    public record OperationResult(int index, int code, String message) { }
+}
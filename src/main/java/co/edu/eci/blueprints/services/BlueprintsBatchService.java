@@ -0,0 +1,143 @@
+package co.edu.eci.blueprints.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.persistence.BlueprintNotFoundException;
+import co.edu.eci.blueprints.persistence.BlueprintPersistence;
+import co.edu.eci.blueprints.persistence.BlueprintPersistenceException;
+import co.edu.eci.blueprints.services.BatchResult.OperationResult;
+
+@Service
+/**
+ * Servicio para aplicar lotes de modificaciones sobre planos en una sola transacción.
+ * Las operaciones se ejecutan en orden a través de {@link BlueprintsServices}, por lo que los
+ * eventos de cambio solo se difunden si la transacción del lote se confirma.
+ * <p>
+ * Con una persistencia que confirma cada escritura por su cuenta (por shards) la transacción del
+ * lote no cubre esas escrituras, así que los lotes atómicos no se admiten.
+ */
+public class BlueprintsBatchService {
+
+    /**
+     * Servicio de blueprints usado para ejecutar cada operación.
+     */
+    private final BlueprintsServices services;
+    /**
+     * Plantilla de la transacción que envuelve el lote completo.
+     */
+    private final TransactionTemplate transaction;
+    /**
+     * Si la transacción del lote puede revertir todas sus escrituras.
+     */
+    private final boolean atomicSupported;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param services Servicio de blueprints
+     * @param persistence Persistencia usada por el servicio
+     * @param transactionManager Gestor de transacciones
+     */
+    public BlueprintsBatchService(BlueprintsServices services, BlueprintPersistence persistence,
+                                  PlatformTransactionManager transactionManager) {
+        this.services = services;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.atomicSupported = !persistence.commitsEachWrite();
+    }
+
+    /**
+     * Indica si se pueden aplicar lotes atómicos con la persistencia configurada.
+     * @return false si las escrituras se confirman fuera de la transacción del lote
+     */
+    public boolean isAtomicSupported() {
+        return atomicSupported;
+    }
+
+    /**
+     * Ejecuta las operaciones en orden dentro de una única transacción.
+     * Los errores de negocio (plano inexistente, duplicado o datos inválidos) se reportan por operación.
+     * Si {@code atomic} es verdadero, el primer error detiene el lote y revierte todas las operaciones;
+     * si es falso, el lote continúa y se confirman las operaciones exitosas.
+     * Un error inesperado de la base de datos revierte siempre el lote completo.
+     * @param operations Operaciones a ejecutar
+     * @param atomic Todo o nada
+     * @return Resultado del lote y de cada operación
+     * @throws UnsupportedOperationException si {@code atomic} es verdadero y la persistencia no lo admite
+     */
+    public BatchResult apply(List<BatchOperation> operations, boolean atomic) {
+        if (atomic && !atomicSupported) {
+            throw new UnsupportedOperationException("atomic batches are not supported with sharded persistence");
+        }
+        return transaction.execute(status -> {
+            List<OperationResult> results = new ArrayList<>(operations.size());
+            for (int i = 0; i < operations.size(); i++) {
+                OperationResult result = run(i, operations.get(i));
+                results.add(result);
+                if (atomic && result.code() >= 400) {
+                    status.setRollbackOnly();
+                    return new BatchResult(false, rolledBack(results, operations.size()));
+                }
+            }
+            return new BatchResult(true, results);
+        });
+    }
+
+    private OperationResult run(int index, BatchOperation op) {
+        try {
+            if (op == null || op.op() == null || isBlank(op.author()) || isBlank(op.name())) {
+                return new OperationResult(index, 400, "op, author and name are required");
+            }
+            switch (op.op()) {
+                case CREATE -> {
+                    services.addNewBlueprint(new Blueprint(op.author(), op.name(), op.points()));
+                    return new OperationResult(index, 201, "created");
+                }
+                case UPDATE -> {
+                    String author = isBlank(op.newAuthor()) ? op.author() : op.newAuthor();
+                    String name = isBlank(op.newName()) ? op.name() : op.newName();
+                    services.updateBlueprint(op.author(), op.name(), new Blueprint(author, name, op.points()));
+                    return new OperationResult(index, 200, "updated");
+                }
+                case ADD_POINT -> {
+                    if (op.x() == null || op.y() == null) {
+                        return new OperationResult(index, 400, "x and y are required");
+                    }
+                    services.addPoint(op.author(), op.name(), op.x(), op.y());
+                    return new OperationResult(index, 202, "point added");
+                }
+                case DELETE -> {
+                    services.deleteBlueprint(op.author(), op.name());
+                    return new OperationResult(index, 200, "deleted");
+                }
+                default -> {
+                    return new OperationResult(index, 400, "unsupported operation: " + op.op());
+                }
+            }
+        } catch (BlueprintNotFoundException e) {
+            return new OperationResult(index, 404, e.getMessage());
+        } catch (BlueprintPersistenceException e) {
+            return new OperationResult(index, 400, e.getMessage());
+        }
+    }
+
+    // Marca como revertidas las operaciones exitosas y como no ejecutadas las restantes
+    private static List<OperationResult> rolledBack(List<OperationResult> executed, int total) {
+        List<OperationResult> out = new ArrayList<>(total);
+        for (OperationResult r : executed) {
+            out.add(r.code() < 400 ? new OperationResult(r.index(), 409, "rolled back") : r);
+        }
+        for (int i = executed.size(); i < total; i++) {
+            out.add(new OperationResult(i, 409, "not executed"));
+        }
+        return out;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
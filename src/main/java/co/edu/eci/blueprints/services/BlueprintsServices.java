@@ -1,15 +1,29 @@
 package co.edu.eci.blueprints.services;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import co.edu.eci.blueprints.events.BlueprintEvent;
 import co.edu.eci.blueprints.filters.BlueprintsFilter;
 import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintChanges;
+import co.edu.eci.blueprints.model.BlueprintKey;
+import co.edu.eci.blueprints.model.BlueprintStats;
+import co.edu.eci.blueprints.model.Point;
 import co.edu.eci.blueprints.persistence.BlueprintNotFoundException;
 import co.edu.eci.blueprints.persistence.BlueprintPersistence;
 import co.edu.eci.blueprints.persistence.BlueprintPersistenceException;
+import co.edu.eci.blueprints.persistence.BlueprintRevision;
+import co.edu.eci.blueprints.persistence.BlueprintVersion;
 
 
 @Service
@@ -27,15 +41,28 @@ public class BlueprintsServices {
      * Filtro activo para transformar los blueprints antes de retornarlos.
      */
     private final BlueprintsFilter filter;
+    /**
+     * Publicador de eventos de cambio (suscripciones en vivo).
+     */
+    private final ApplicationEventPublisher events;
+    /**
+     * Lecturas en curso por clave: las peticiones simultáneas por el mismo plano, autor o
+     * listado comparten una sola consulta y un solo filtrado (el filtro es fijo por servicio).
+     */
+    private final SingleFlight<BlueprintKey, Blueprint> blueprintLoads = new SingleFlight<>();
+    private final SingleFlight<String, Set<Blueprint>> authorLoads = new SingleFlight<>();
+    private final SingleFlight<String, Set<Blueprint>> allLoads = new SingleFlight<>();
 
     /**
      * Constructor con inyección de dependencias.
      * @param persistence Componente de persistencia
      * @param filter Filtro de blueprints
+     * @param events Publicador de eventos de cambio
      */
-    public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter) {
+    public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter, ApplicationEventPublisher events) {
         this.persistence = persistence;
         this.filter = filter;
+        this.events = events;
     }
 
     /**
@@ -45,41 +72,109 @@ public class BlueprintsServices {
      */
     public void addNewBlueprint(Blueprint bp) throws BlueprintPersistenceException {
         persistence.saveBlueprint(bp);
+        forgetLoads(bp.getAuthor(), bp.getName());
     }
 
     /**
      * Obtiene todos los blueprints aplicando el filtro configurado.
-     * @return Set de blueprints filtrados
+     * Las llamadas simultáneas comparten una sola carga.
+     * @return Set inmodificable de blueprints filtrados
      */
     public Set<Blueprint> getAllBlueprints() {
-        return persistence.getAllBlueprints()
+        return allLoads.load("", () -> persistence.getAllBlueprints()
             .stream()
             .map(filter::apply)
-            .collect(Collectors.toSet());
+            .collect(Collectors.toUnmodifiableSet()));
     }
 
     /**
      * Obtiene los blueprints de un autor aplicando el filtro configurado.
+     * Las llamadas simultáneas por el mismo autor comparten una sola carga.
      * @param author Autor de los blueprints
-     * @return Set de blueprints filtrados
+     * @return Set inmodificable de blueprints filtrados
      * @throws BlueprintNotFoundException si el autor no tiene planos
      */
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
-        return persistence.getBlueprintsByAuthor(author)
+        return authorLoads.load(author, () -> persistence.getBlueprintsByAuthor(author)
             .stream()
             .map(filter::apply)
-            .collect(Collectors.toSet());
+            .collect(Collectors.toUnmodifiableSet()));
     }
 
     /**
      * Obtiene un blueprint específico aplicando el filtro configurado.
+     * Las llamadas simultáneas por el mismo plano comparten una sola carga y el mismo resultado.
      * @param author Autor del blueprint
      * @param name Nombre del blueprint
      * @return Blueprint filtrado
      * @throws BlueprintNotFoundException si no existe el blueprint
      */
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
-        return filter.apply(persistence.getBlueprint(author, name));
+        return blueprintLoads.load(new BlueprintKey(author, name), () -> filter.apply(persistence.getBlueprint(author, name)));
+    }
+
+    /**
+     * Obtiene el id y la versión actual de un blueprint sin cargar sus puntos.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Id, versiones y número de puntos del blueprint
+     * @throws BlueprintNotFoundException si no existe el blueprint
+     */
+    public BlueprintVersion getVersion(String author, String name) throws BlueprintNotFoundException {
+        return persistence.getVersion(author, name);
+    }
+
+    /**
+     * Obtiene las estadísticas geométricas de los puntos almacenados de un blueprint (sin aplicar
+     * el filtro), sin cargar sus puntos.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @return Estadísticas del blueprint
+     * @throws BlueprintNotFoundException si no existe el blueprint
+     */
+    public BlueprintStats getStats(String author, String name) throws BlueprintNotFoundException {
+        return persistence.getStats(author, name);
+    }
+
+    /**
+     * Obtiene varios blueprints por clave en un solo acceso a la persistencia,
+     * aplicando el filtro configurado a cada uno.
+     * @param keys Claves (autor, nombre) buscadas
+     * @return Mapa con los blueprints filtrados; las claves inexistentes no aparecen
+     */
+    public Map<BlueprintKey, Blueprint> getBlueprints(Collection<BlueprintKey> keys) {
+        Map<BlueprintKey, Blueprint> result = new HashMap<>();
+        persistence.getBlueprints(keys).forEach((key, bp) -> result.put(key, filter.apply(bp)));
+        return result;
+    }
+
+    /**
+     * Obtiene un rango de puntos de un blueprint tal como están almacenados.
+     * El filtro no se aplica: los filtros dependen de la secuencia completa y
+     * los índices retornados deben corresponder a los almacenados para poder paginar.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @param offset Índice del primer punto (base 0)
+     * @param limit Número máximo de puntos a retornar
+     * @return Puntos del rango solicitado
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    public List<Point> getPoints(String author, String name, int offset, int limit) throws BlueprintNotFoundException {
+        return persistence.getPoints(author, name, offset, limit);
+    }
+
+    /**
+     * Obtiene los cambios de un blueprint desde una versión conocida por el cliente.
+     * Igual que {@link #getPoints}, retorna los puntos almacenados sin aplicar el filtro.
+     * @param author Autor del blueprint
+     * @param name Nombre del blueprint
+     * @param sinceId Id del blueprint al que corresponde la versión del cliente
+     * @param sinceVersion Última versión conocida por el cliente
+     * @return Puntos agregados desde esa versión, o la lista completa si fue reemplazada o el id no coincide
+     * @throws BlueprintNotFoundException si el blueprint no existe
+     */
+    public BlueprintChanges getChanges(String author, String name, Long sinceId, long sinceVersion) throws BlueprintNotFoundException {
+        return persistence.getChanges(author, name, sinceId, sinceVersion);
     }
 
     /**
@@ -91,7 +186,9 @@ public class BlueprintsServices {
      * @throws BlueprintNotFoundException si el blueprint no existe
      */
     public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
-        persistence.addPoint(author, name, x, y);
+        BlueprintRevision revision = persistence.addPoint(author, name, x, y);
+        forgetLoads(author, name);
+        events.publishEvent(BlueprintEvent.pointAdded(revision.id(), author, name, revision.version(), new Point(x, y)));
     }
 
     /**
@@ -104,7 +201,11 @@ public class BlueprintsServices {
      */
     public void updateBlueprint(String originalAuthor, String originalName, Blueprint updatedBlueprint) 
             throws BlueprintNotFoundException, BlueprintPersistenceException {
-        persistence.updateBlueprint(originalAuthor, originalName, updatedBlueprint);
+        BlueprintRevision revision = persistence.updateBlueprint(originalAuthor, originalName, updatedBlueprint);
+        forgetLoads(originalAuthor, originalName);
+        forgetLoads(updatedBlueprint.getAuthor(), updatedBlueprint.getName());
+        events.publishEvent(BlueprintEvent.updated(revision.id(), revision.version(), originalAuthor, originalName,
+            updatedBlueprint.getAuthor(), updatedBlueprint.getName()));
     }
 
     /**
@@ -114,6 +215,36 @@ public class BlueprintsServices {
      * @throws BlueprintNotFoundException si el blueprint no existe
      */
     public void deleteBlueprint(String author, String name) throws BlueprintNotFoundException {
-        persistence.deleteBlueprint(author, name);
+        BlueprintRevision revision = persistence.deleteBlueprint(author, name);
+        forgetLoads(author, name);
+        events.publishEvent(BlueprintEvent.deleted(revision.id(), author, name));
+    }
+
+    /**
+     * Libera las lecturas en curso que una escritura deja desactualizadas, para que quien lee
+     * después de escribir no reciba un resultado cargado antes de su escritura. Lo llaman también
+     * las escrituras de {@link AsyncBlueprintsServices}, que no pasan por este servicio.
+     * <p>
+     * Dentro de una transacción (un lote) se liberan también al confirmarla: una carga que empieza
+     * antes del commit lee el estado anterior y no debe servir a quien lee después del lote.
+     * @param author Autor del blueprint modificado
+     * @param name Nombre del blueprint modificado
+     */
+    public void forgetLoads(String author, String name) {
+        forgetLoadsNow(author, name);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forgetLoadsNow(author, name);
+                }
+            });
+        }
+    }
+
+    private void forgetLoadsNow(String author, String name) {
+        blueprintLoads.forget(new BlueprintKey(author, name));
+        authorLoads.forget(author);
+        allLoads.forget("");
     }
 }
@@ -0,0 +1,72 @@
+package co.edu.eci.blueprints.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Agrupa cargas concurrentes con la misma clave: el primer llamador ejecuta la carga y los que
+ * llegan mientras está en curso esperan y reciben el mismo resultado (o la misma excepción).
+ * No es una caché: al terminar la carga la clave se libera y la siguiente llamada vuelve a cargar.
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del resultado, compartido entre los llamadores (no debe modificarse)
+ */
+final class SingleFlight<K, V> {
+
+    /**
+     * Carga a compartir.
+     * @param <V> Tipo del resultado
+     * @param <E> Excepción que puede lanzar
+     */
+    @FunctionalInterface
+    interface Load<V, E extends Exception> {
+        V load() throws E;
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Ejecuta la carga, o se une a la que ya está en curso para la misma clave.
+     * @param key Clave de la carga
+     * @param loader Carga a ejecutar si no hay una en curso
+     * @return Resultado de la carga
+     * @throws E la excepción lanzada por la carga
+     */
+    <E extends Exception> V load(K key, Load<V, E> loader) throws E {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> current = inFlight.putIfAbsent(key, mine);
+        if (current != null) return join(current);
+        try {
+            V value = loader.load();
+            mine.complete(value);
+            return value;
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Libera la clave aunque su carga siga en curso, para que las llamadas siguientes no reciban
+     * un resultado leído antes de una escritura. Quienes ya esperaban reciben el resultado igual.
+     * @param key Clave a liberar
+     */
+    void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, E extends Exception> V join(CompletableFuture<V> future) throws E {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error error) throw error;
+            // La carga solo puede lanzar E además de excepciones no verificadas
+            throw (E) cause;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+-- Actualiza en Postgres un esquema creado antes de la columna point_index y de las columnas de
+-- versión y estadísticas de blueprint. Se ejecuta al arrancar, antes de que Hibernate valide o
+-- actualice el esquema (ddl-auto: update no puede agregar point_index NOT NULL a una tabla con
+-- filas ni darle valores). Es idempotente: en una base nueva o ya actualizada no hace nada.
+do $$
+begin
+    if to_regclass('blueprint_points') is not null then
+        alter table blueprint_points add column if not exists point_index integer;
+        -- Sin columna de orden, el orden de la lista era el orden físico de las filas (ctid), el
+        -- mismo en que Hibernate las leía. Se numeran de nuevo los blueprints con índices nulos
+        -- (también si un ddl-auto anterior alcanzó a agregar la columna sin valores)
+        update blueprint_points p set point_index = o.idx
+        from (select ctid, row_number() over (partition by blueprint_id order by ctid) - 1 as idx
+              from blueprint_points
+              where blueprint_id in (select blueprint_id from blueprint_points where point_index is null)) o
+        where p.ctid = o.ctid;
+        alter table blueprint_points alter column point_index set not null;
+        if not exists (select 1 from pg_constraint
+                       where conrelid = 'blueprint_points'::regclass and contype = 'p') then
+            alter table blueprint_points add primary key (blueprint_id, point_index);
+        end if;
+    end if;
+
+    if to_regclass('blueprint') is not null then
+        alter table blueprint add column if not exists version bigint default 1 not null;
+        alter table blueprint add column if not exists points_reset_version bigint default 1 not null;
+        alter table blueprint add column if not exists point_count integer;
+        alter table blueprint add column if not exists min_x integer;
+        alter table blueprint add column if not exists max_x integer;
+        alter table blueprint add column if not exists min_y integer;
+        alter table blueprint add column if not exists max_y integer;
+        alter table blueprint add column if not exists sum_x bigint;
+        alter table blueprint add column if not exists sum_y bigint;
+        alter table blueprint add column if not exists path_length double precision;
+        alter table blueprint add column if not exists last_x integer;
+        alter table blueprint add column if not exists last_y integer;
+
+        -- Estadísticas de las filas que aún no las tienen, con la misma definición que PointStats
+        if to_regclass('blueprint_points') is not null then
+            update blueprint b set point_count = s.point_count, min_x = s.min_x, max_x = s.max_x,
+                min_y = s.min_y, max_y = s.max_y, sum_x = s.sum_x, sum_y = s.sum_y,
+                path_length = s.path_length, last_x = s.last_x, last_y = s.last_y
+            from (select blueprint_id, count(*) as point_count, min(x) as min_x, max(x) as max_x,
+                         min(y) as min_y, max(y) as max_y, sum(x) as sum_x, sum(y) as sum_y,
+                         coalesce(sum(sqrt(power((x - px)::float8, 2) + power((y - py)::float8, 2))), 0) as path_length,
+                         (array_agg(x order by point_index desc))[1] as last_x,
+                         (array_agg(y order by point_index desc))[1] as last_y
+                  from (select blueprint_id, point_index, x, y,
+                               lag(x) over w as px, lag(y) over w as py
+                        from blueprint_points
+                        window w as (partition by blueprint_id order by point_index)) p
+                  group by blueprint_id) s
+            where b.id = s.blueprint_id and b.point_count is null;
+        end if;
+        update blueprint set point_count = 0, sum_x = 0, sum_y = 0, path_length = 0
+        where point_count is null;
+    end if;
+end
+$$;
@@ -7,6 +7,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -18,12 +19,20 @@ public class AuthIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    // El login verifica la contraseña en un pool propio: la respuesta llega en un despacho asíncrono
+    private ResultActions login(String body) throws Exception {
+    MvcResult started = mockMvc.perform(post("/auth/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(body))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    return mockMvc.perform(asyncDispatch(started));
+    }
+
     @Test
     void loginSuccessReturnsToken() throws Exception {
     String body = "{\"username\":\"student\",\"password\":\"student123\"}";
-    mockMvc.perform(post("/auth/login")
-        .contentType(MediaType.APPLICATION_JSON)
-        .content(body))
+    login(body)
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.access_token").exists());
     }
@@ -31,18 +40,14 @@ public class AuthIntegrationTest {
     @Test
     void loginFailReturns401() throws Exception {
     String body = "{\"username\":\"student\",\"password\":\"wrong\"}";
-    mockMvc.perform(post("/auth/login")
-        .contentType(MediaType.APPLICATION_JSON)
-        .content(body))
+    login(body)
         .andExpect(status().isUnauthorized());
     }
 
     @Test
     void accessProtectedEndpointWithToken() throws Exception {
     String body = "{\"username\":\"student\",\"password\":\"student123\"}";
-    MvcResult result = mockMvc.perform(post("/auth/login")
-        .contentType(MediaType.APPLICATION_JSON)
-        .content(body))
+    MvcResult result = login(body)
         .andExpect(status().isOk())
         .andReturn();
     String token = com.jayway.jsonpath.JsonPath.read(result.getResponse().getContentAsString(), "$.access_token");
@@ -56,4 +61,13 @@ public class AuthIntegrationTest {
     mockMvc.perform(get("/api/blueprints"))
         .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void jwksPublishesPublicKeysWithoutAuthentication() throws Exception {
+    mockMvc.perform(get("/.well-known/jwks.json"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andExpect(jsonPath("$.keys[0].kid").exists())
+        .andExpect(jsonPath("$.keys[0].d").doesNotExist());
+    }
 }
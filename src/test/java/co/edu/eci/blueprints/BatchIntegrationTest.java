@@ -0,0 +1,70 @@
+package co.edu.eci.blueprints;
+
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintStats;
+import co.edu.eci.blueprints.model.Point;
+import co.edu.eci.blueprints.persistence.BlueprintPersistence;
+import co.edu.eci.blueprints.services.BatchOperation;
+import co.edu.eci.blueprints.services.BatchResult;
+import co.edu.eci.blueprints.services.BlueprintsBatchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class BatchIntegrationTest {
+
+    @Autowired
+    private BlueprintsBatchService batch;
+
+    @Autowired
+    private BlueprintPersistence persistence;
+
+    private static BatchOperation update(String name, Point... points) {
+        return new BatchOperation(BatchOperation.Type.UPDATE, "batch", name, List.of(points), null, null, null, null);
+    }
+
+    private static BatchOperation addPoint(String name, int x, int y) {
+        return new BatchOperation(BatchOperation.Type.ADD_POINT, "batch", name, null, x, y, null, null);
+    }
+
+    private void assertConsistent(String name, List<Point> expected) throws Exception {
+        Blueprint bp = persistence.getBlueprint("batch", name);
+        assertEquals(expected, bp.getPoints());
+        BlueprintStats stats = persistence.getStats("batch", name);
+        assertEquals(expected.size(), stats.pointCount());
+        assertEquals(persistence.getVersion("batch", name).pointCount(), expected.size());
+    }
+
+    // Un punto agregado después de que la misma transacción cargó los puntos debe pasar por la colección
+    @Test
+    void addPointBetweenUpdatesInOneTransactionKeepsPointsAndStatsConsistent() throws Exception {
+        persistence.saveBlueprint(new Blueprint("batch", "shrink", List.of(new Point(0, 0))));
+        BatchResult shrink = batch.apply(List.of(
+            update("shrink", new Point(1, 1), new Point(2, 2)),
+            addPoint("shrink", 3, 3),
+            update("shrink", new Point(9, 9))), true);
+        assertTrue(shrink.committed(), shrink.results().toString());
+        assertConsistent("shrink", List.of(new Point(9, 9)));
+
+        persistence.saveBlueprint(new Blueprint("batch", "grow", List.of(new Point(0, 0))));
+        BatchResult grow = batch.apply(List.of(
+            update("grow", new Point(1, 1)),
+            addPoint("grow", 2, 2),
+            update("grow", new Point(5, 5), new Point(6, 6), new Point(7, 7))), true);
+        assertTrue(grow.committed(), grow.results().toString());
+        assertConsistent("grow", List.of(new Point(5, 5), new Point(6, 6), new Point(7, 7)));
+
+        persistence.saveBlueprint(new Blueprint("batch", "append", List.of(new Point(0, 0))));
+        BatchResult append = batch.apply(List.of(
+            update("append", new Point(1, 1)),
+            addPoint("append", 2, 2),
+            addPoint("append", 3, 3)), true);
+        assertTrue(append.committed(), append.results().toString());
+        assertConsistent("append", List.of(new Point(1, 1), new Point(2, 2), new Point(3, 3)));
+    }
+}
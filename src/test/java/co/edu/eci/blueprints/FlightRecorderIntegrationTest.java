@@ -0,0 +1,96 @@
+package co.edu.eci.blueprints;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import co.edu.eci.blueprints.jfr.FlightRecordingService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class FlightRecorderIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FlightRecordingService recordings;
+
+    @AfterEach
+    void closeRecording() {
+    recordings.close();
+    }
+
+    private String token(String username, String password) throws Exception {
+    MvcResult started = mockMvc.perform(post("/auth/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    MvcResult result = mockMvc.perform(asyncDispatch(started)).andReturn();
+    return com.jayway.jsonpath.JsonPath.read(result.getResponse().getContentAsString(), "$.access_token");
+    }
+
+    @Test
+    void onlyAdminsCanRecord() throws Exception {
+    mockMvc.perform(post("/api/v1/admin/jfr/start").header("Authorization", "Bearer " + token("student", "student123")))
+        .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void recordingCapturesPersistenceAndFilterEvents() throws Exception {
+    String token = "Bearer " + token("assistant", "assistant123");
+    mockMvc.perform(post("/api/v1/admin/jfr/start").param("maxAge", "5m").param("maxSize", "10GB").header("Authorization", token))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.data.state").value("RUNNING"))
+        .andExpect(jsonPath("$.data.maxSizeBytes").value(250L * 1024 * 1024));
+    mockMvc.perform(post("/api/v1/admin/jfr/start").header("Authorization", token))
+        .andExpect(status().isConflict());
+
+    mockMvc.perform(post("/api/v1/blueprints")
+        .header("Authorization", token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"author\":\"jfr\",\"name\":\"bp\",\"points\":[{\"x\":1,\"y\":1},{\"x\":2,\"y\":2}]}"))
+        .andExpect(status().isCreated());
+    mockMvc.perform(get("/api/v1/blueprints/jfr/bp").header("Authorization", token))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(post("/api/v1/admin/jfr/stop").header("Authorization", token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.state").value("STOPPED"));
+    byte[] dump = mockMvc.perform(get("/api/v1/admin/jfr/dump").header("Authorization", token))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsByteArray();
+
+    Path file = Files.write(Files.createTempFile("test-", ".jfr"), dump);
+    try {
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("co.edu.eci.blueprints.Persistence")
+            && "getBlueprint".equals(e.getString("method")) && "jfr".equals(e.getString("author")) && e.getInt("points") == 2));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("co.edu.eci.blueprints.Filter")
+            && e.getInt("pointsIn") == 2));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("co.edu.eci.blueprints.CacheLookup")
+            && e.getBoolean("hit")));
+        // Ni variables de entorno ni propiedades del sistema (contraseñas, credenciales de la base)
+        assertTrue(events.stream().noneMatch(e -> List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty",
+            "jdk.JVMInformation").contains(e.getEventType().getName())));
+    } finally {
+        Files.delete(file);
+    }
+    }
+}
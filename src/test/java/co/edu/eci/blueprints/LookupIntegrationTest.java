@@ -0,0 +1,65 @@
+package co.edu.eci.blueprints;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class LookupIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String token() throws Exception {
+    MvcResult started = mockMvc.perform(post("/auth/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"student\",\"password\":\"student123\"}"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    MvcResult result = mockMvc.perform(asyncDispatch(started)).andReturn();
+    return com.jayway.jsonpath.JsonPath.read(result.getResponse().getContentAsString(), "$.access_token");
+    }
+
+    @Test
+    void lookupReturnsOneResultPerKeyAndRejectsInvalidKeys() throws Exception {
+    String token = token();
+    mockMvc.perform(post("/api/v1/blueprints")
+        .header("Authorization", "Bearer " + token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"author\":\"lookup\",\"name\":\"a\",\"points\":[{\"x\":1,\"y\":1}]}"))
+        .andExpect(status().isCreated());
+
+    // 500 claves (el máximo): la existente y 499 que no existen
+    String keys = IntStream.range(0, 499).mapToObj(i -> "{\"author\":\"lookup\",\"name\":\"none" + i + "\"}")
+        .collect(Collectors.joining(",", "{\"keys\":[{\"author\":\"lookup\",\"name\":\"a\"},", "]}"));
+    mockMvc.perform(post("/api/v1/blueprints/lookup")
+        .header("Authorization", "Bearer " + token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(keys))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.length()").value(500))
+        .andExpect(jsonPath("$.data[0].code").value(200))
+        .andExpect(jsonPath("$.data[0].blueprint.points[0].x").value(1))
+        .andExpect(jsonPath("$.data[1].code").value(404));
+
+    for (String invalid : new String[] {"{\"keys\":[null]}", "{\"keys\":[{\"author\":null,\"name\":\"a\"}]}",
+            "{\"keys\":[{\"author\":\"lookup\",\"name\":\" \"}]}", "{\"keys\":[{\"author\":\"lookup\"}]}"}) {
+        mockMvc.perform(post("/api/v1/blueprints/lookup")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(invalid))
+            .andExpect(status().isBadRequest());
+    }
+    }
+}
@@ -0,0 +1,58 @@
+package co.edu.eci.blueprints;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "JPA_STATISTICS=true")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String token(String username, String password) throws Exception {
+    MvcResult started = mockMvc.perform(post("/auth/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    MvcResult result = mockMvc.perform(asyncDispatch(started)).andReturn();
+    return com.jayway.jsonpath.JsonPath.read(result.getResponse().getContentAsString(), "$.access_token");
+    }
+
+    @Test
+    void prometheusExposesPersistenceFilterAndResponseMetrics() throws Exception {
+    String token = token("student", "student123");
+    mockMvc.perform(post("/api/v1/blueprints")
+        .header("Authorization", "Bearer " + token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"author\":\"metrics\",\"name\":\"bp\",\"points\":[{\"x\":1,\"y\":1},{\"x\":2,\"y\":2}]}"))
+        .andExpect(status().isCreated());
+    mockMvc.perform(get("/api/v1/blueprints/metrics/bp").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk());
+
+    // El endpoint de Prometheus pide un token con el scope blueprints.admin
+    mockMvc.perform(get("/actuator/prometheus"))
+        .andExpect(status().isUnauthorized());
+    mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + token))
+        .andExpect(status().isForbidden());
+    mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + token("assistant", "assistant123")))
+        .andExpect(status().isOk())
+        .andExpect(content().string(containsString("blueprints_persistence_seconds_count{exception=\"none\",method=\"getBlueprint\"")))
+        .andExpect(content().string(containsString("blueprints_filter_points_count{filter=\"IdentityFilter\",stage=\"in\"")))
+        .andExpect(content().string(containsString("http_server_response_size_bytes_count{method=\"GET\",status=\"200\",uri=\"/api/v1/blueprints/{author}/{bpname}\"")))
+        .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket")))
+        .andExpect(content().string(containsString("hibernate_sessions_open_total")));
+    }
+}
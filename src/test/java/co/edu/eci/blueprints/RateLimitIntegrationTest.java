@@ -0,0 +1,63 @@
+package co.edu.eci.blueprints;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    "blueprints.rate-limit.requests-per-second=0.1", "blueprints.rate-limit.burst=2",
+    "blueprints.rate-limit.anonymous-requests-per-second=0.1", "blueprints.rate-limit.anonymous-burst=1"
+})
+@AutoConfigureMockMvc
+public class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String token(String user, String password) throws Exception {
+    MvcResult started = mockMvc.perform(post("/auth/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"" + user + "\",\"password\":\"" + password + "\"}"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    MvcResult result = mockMvc.perform(asyncDispatch(started)).andReturn();
+    return com.jayway.jsonpath.JsonPath.read(result.getResponse().getContentAsString(), "$.access_token");
+    }
+
+    @Test
+    void eachUserHasItsOwnBucket() throws Exception {
+    String student = token("student", "student123");
+    String assistant = token("assistant", "assistant123");
+    for (int i = 0; i < 2; i++) {
+        mockMvc.perform(get("/api/v1/blueprints").header("Authorization", "Bearer " + student))
+            .andExpect(status().isOk());
+    }
+    mockMvc.perform(get("/api/v1/blueprints").header("Authorization", "Bearer " + student))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string("Retry-After", matchesPattern("[1-9]|10")))
+        .andExpect(jsonPath("$.code").value(429));
+
+    // El otro usuario no se ve afectado
+    mockMvc.perform(get("/api/v1/blueprints").header("Authorization", "Bearer " + assistant))
+        .andExpect(status().isOk());
+    }
+
+    @Test
+    void publicEndpointsAreLimitedByAddress() throws Exception {
+    String token = token("assistant", "assistant123");
+    mockMvc.perform(get("/api/v1/public/blueprints").header("Authorization", "Bearer " + token).with(r -> { r.setRemoteAddr("10.0.0.1"); return r; }))
+        .andExpect(status().isOk());
+    mockMvc.perform(get("/api/v1/public/blueprints").header("Authorization", "Bearer " + token).with(r -> { r.setRemoteAddr("10.0.0.1"); return r; }))
+        .andExpect(status().isTooManyRequests());
+    mockMvc.perform(get("/api/v1/public/blueprints").header("Authorization", "Bearer " + token).with(r -> { r.setRemoteAddr("10.0.0.2"); return r; }))
+        .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,97 @@
+package co.edu.eci.blueprints;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ResponseCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private String token() throws Exception {
+    MvcResult started = mockMvc.perform(post("/auth/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"student\",\"password\":\"student123\"}"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    MvcResult result = mockMvc.perform(asyncDispatch(started)).andReturn();
+    return com.jayway.jsonpath.JsonPath.read(result.getResponse().getContentAsString(), "$.access_token");
+    }
+
+    private double count(String result) {
+    return registry.get("blueprints.response.cache.requests").tag("result", result).functionCounter().count();
+    }
+
+    private byte[] fetch(String token, String encoding, String expectedEncoding) throws Exception {
+    return mockMvc.perform(get("/api/v1/blueprints/cache/bp")
+        .header("Authorization", "Bearer " + token)
+        .header("Accept-Encoding", encoding))
+        .andExpect(status().isOk())
+        .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+        .andExpect(expectedEncoding == null ? header().doesNotExist("Content-Encoding") : header().string("Content-Encoding", expectedEncoding))
+        .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Test
+    void hotBlueprintsAreServedFromCachedBytesUntilTheirVersionChanges() throws Exception {
+    String token = token();
+    StringBuilder points = new StringBuilder();
+    for (int i = 0; i < 200; i++) points.append(i > 0 ? "," : "").append("{\"x\":").append(i).append(",\"y\":").append(i).append('}');
+    mockMvc.perform(post("/api/v1/blueprints")
+        .header("Authorization", "Bearer " + token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"author\":\"cache\",\"name\":\"bp\",\"points\":[" + points + "]}"))
+        .andExpect(status().isCreated());
+
+    double hits = count("hit");
+    double misses = count("miss");
+    byte[] raw = fetch(token, "identity", null);
+    byte[] gzip = fetch(token, "br, gzip;q=0.8", "gzip");
+    byte[] deflate = fetch(token, "gzip;q=0, deflate", "deflate");
+    assertEquals(1, count("miss") - misses);
+    assertEquals(2, count("hit") - hits);
+
+    // Las variantes comprimidas son el mismo JSON
+    assertTrue(gzip.length < raw.length);
+    assertArrayEquals(raw, new GZIPInputStream(new ByteArrayInputStream(gzip)).readAllBytes());
+    assertArrayEquals(raw, new InflaterInputStream(new ByteArrayInputStream(deflate)).readAllBytes());
+    String json = new String(raw, java.nio.charset.StandardCharsets.UTF_8);
+    assertEquals(200, (int) com.jayway.jsonpath.JsonPath.read(json, "$.code"));
+    assertEquals(200, ((java.util.List<?>) com.jayway.jsonpath.JsonPath.read(json, "$.data.points")).size());
+
+    // Un punto nuevo cambia la versión: la siguiente lectura vuelve a serializar
+    mockMvc.perform(put("/api/v1/blueprints/cache/bp/points")
+        .header("Authorization", "Bearer " + token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"x\":999,\"y\":999}"))
+        .andExpect(status().isAccepted());
+    mockMvc.perform(get("/api/v1/blueprints/cache/bp").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.points.length()").value(201));
+    assertEquals(2, count("miss") - misses);
+
+    mockMvc.perform(delete("/api/v1/blueprints/cache/bp").header("Authorization", "Bearer " + token));
+    mockMvc.perform(get("/api/v1/blueprints/cache/bp").header("Authorization", "Bearer " + token))
+        .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,54 @@
+package co.edu.eci.blueprints;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "blueprints.timing.server-timing-header=true")
+@AutoConfigureMockMvc
+public class ServerTimingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String token() throws Exception {
+    MvcResult started = mockMvc.perform(post("/auth/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"student\",\"password\":\"student123\"}"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    MvcResult result = mockMvc.perform(asyncDispatch(started)).andReturn();
+    return com.jayway.jsonpath.JsonPath.read(result.getResponse().getContentAsString(), "$.access_token");
+    }
+
+    @Test
+    void responsesBreakDownAuthDatabaseFilterAndSerialization() throws Exception {
+    String token = token();
+    mockMvc.perform(post("/api/v1/blueprints")
+        .header("Authorization", "Bearer " + token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"author\":\"timing\",\"name\":\"bp\",\"points\":[{\"x\":1,\"y\":1}]}"))
+        .andExpect(status().isCreated())
+        .andExpect(header().string("Server-Timing", allOf(containsString("auth;dur="), containsString("db;dur="))));
+
+    mockMvc.perform(get("/api/v1/blueprints/timing/bp").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.name").value("bp"))
+        .andExpect(header().string("Server-Timing", allOf(
+            containsString("auth;dur="), containsString("db;dur="), containsString("filter;dur="),
+            containsString("ser;dur="), containsString("total;dur="))));
+
+    // Sin cuerpo JSON el filtro agrega la cabecera con lo medido hasta el final
+    mockMvc.perform(get("/api/v1/blueprints/timing/bp"))
+        .andExpect(status().isUnauthorized())
+        .andExpect(header().string("Server-Timing", startsWith("total;dur=")));
+    }
+}
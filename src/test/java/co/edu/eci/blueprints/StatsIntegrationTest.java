@@ -0,0 +1,75 @@
+package co.edu.eci.blueprints;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class StatsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String token() throws Exception {
+    MvcResult started = mockMvc.perform(post("/auth/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"student\",\"password\":\"student123\"}"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    MvcResult result = mockMvc.perform(asyncDispatch(started)).andReturn();
+    return com.jayway.jsonpath.JsonPath.read(result.getResponse().getContentAsString(), "$.access_token");
+    }
+
+    @Test
+    void statsFollowAddedPointsAndUpdates() throws Exception {
+    String token = token();
+    mockMvc.perform(post("/api/v1/blueprints")
+        .header("Authorization", "Bearer " + token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"author\":\"stats\",\"name\":\"bp\",\"points\":[{\"x\":0,\"y\":0},{\"x\":3,\"y\":4}]}"))
+        .andExpect(status().isCreated());
+    mockMvc.perform(put("/api/v1/blueprints/stats/bp/points")
+        .header("Authorization", "Bearer " + token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"x\":3,\"y\":0}"))
+        .andExpect(status().isAccepted());
+
+    // (0,0) -> (3,4) -> (3,0): 5 + 4 de recorrido
+    mockMvc.perform(get("/api/v1/blueprints/stats/bp/stats").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.version").value(2))
+        .andExpect(jsonPath("$.data.pointCount").value(3))
+        .andExpect(jsonPath("$.data.minX").value(0))
+        .andExpect(jsonPath("$.data.maxX").value(3))
+        .andExpect(jsonPath("$.data.minY").value(0))
+        .andExpect(jsonPath("$.data.maxY").value(4))
+        .andExpect(jsonPath("$.data.pathLength").value(closeTo(9.0, 1e-9)))
+        .andExpect(jsonPath("$.data.centroidX").value(closeTo(2.0, 1e-9)))
+        .andExpect(jsonPath("$.data.centroidY").value(closeTo(4.0 / 3, 1e-9)));
+
+    // Reemplazar los puntos recalcula las estadísticas
+    mockMvc.perform(put("/api/v1/blueprints/stats/bp")
+        .header("Authorization", "Bearer " + token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"author\":\"stats\",\"name\":\"bp\",\"points\":[]}"))
+        .andExpect(status().isOk());
+    mockMvc.perform(get("/api/v1/blueprints/stats/bp/stats").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.pointCount").value(0))
+        .andExpect(jsonPath("$.data.pathLength").value(closeTo(0.0, 1e-9)))
+        .andExpect(jsonPath("$.data.minX").doesNotExist())
+        .andExpect(jsonPath("$.data.centroidX").doesNotExist());
+
+    mockMvc.perform(get("/api/v1/blueprints/stats/none/stats").header("Authorization", "Bearer " + token))
+        .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,37 @@
+package co.edu.eci.blueprints.bench;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Argumentos {@code --clave=valor} de los programas de benchmark.
+ */
+final class BenchArgs {
+    private final Map<String, String> values;
+
+    private BenchArgs(Map<String, String> values) { this.values = values; }
+
+    static BenchArgs parse(String[] args) {
+        Map<String, String> m = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("expected --key=value, got " + arg);
+            int eq = arg.indexOf('=');
+            if (eq < 0) m.put(arg.substring(2), "true");
+            else m.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new BenchArgs(m);
+    }
+
+    String value(String key, String def) { return values.getOrDefault(key, def); }
+
+    int intValue(String key, int def) { return Integer.parseInt(value(key, String.valueOf(def))); }
+
+    double doubleValue(String key, double def) { return Double.parseDouble(value(key, String.valueOf(def))); }
+
+    long longValue(String key, long def) { return Long.parseLong(value(key, String.valueOf(def))); }
+
+    int[] intList(String key, String def) {
+        return Arrays.stream(value(key, def).split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+}
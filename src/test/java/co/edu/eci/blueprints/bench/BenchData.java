@@ -0,0 +1,32 @@
+package co.edu.eci.blueprints.bench;
+
+import co.edu.eci.blueprints.model.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** Datos sintéticos y reproducibles (semilla fija) para los benchmarks JMH. */
+final class BenchData {
+
+    private BenchData() { }
+
+    /**
+     * Trazo aleatorio de {@code count} puntos donde cerca de un tercio repite el punto anterior,
+     * para que el filtro de redundancia tenga trabajo real.
+     */
+    static List<Point> points(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Point> points = new ArrayList<>(count);
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < count; i++) {
+            if (random.nextInt(3) != 0) {
+                x += random.nextInt(-5, 6);
+                y += random.nextInt(-5, 6);
+            }
+            points.add(new Point(x, y));
+        }
+        return points;
+    }
+}
@@ -0,0 +1,69 @@
+package co.edu.eci.blueprints.bench;
+
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.Point;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de construir y copiar un {@link Blueprint} y de sus {@code equals}/{@code hashCode}
+ * (que usan solo autor y nombre, así que no deberían depender del número de puntos).
+ * <pre>
+ * mvn -Pbench,jmh test-compile exec:exec -Djmh.include=BlueprintModelBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BlueprintModelBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int points;
+
+    private List<Point> pointList;
+    private Blueprint blueprint;
+    private Blueprint sameKey;
+
+    @Setup
+    public void setup() {
+        pointList = BenchData.points(points);
+        blueprint = new Blueprint("bench", "bp", pointList);
+        // Mismo autor y nombre en instancias distintas: equals compara los campos
+        sameKey = new Blueprint(new String("bench"), new String("bp"), pointList);
+    }
+
+    @Benchmark
+    public Blueprint construct() {
+        return new Blueprint("bench", "bp", pointList);
+    }
+
+    @Benchmark
+    public Blueprint withPoints() {
+        return blueprint.withPoints(pointList);
+    }
+
+    @Benchmark
+    public boolean equalsSameKey() {
+        return blueprint.equals(sameKey);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return blueprint.hashCode();
+    }
+}
@@ -0,0 +1,89 @@
+package co.edu.eci.blueprints.bench;
+
+import co.edu.eci.blueprints.filters.BlueprintsFilter;
+import co.edu.eci.blueprints.filters.IdentityFilter;
+import co.edu.eci.blueprints.filters.RedundancyFilter;
+import co.edu.eci.blueprints.filters.UndersamplingFilter;
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintKey;
+import co.edu.eci.blueprints.persistence.BlueprintNotFoundException;
+import co.edu.eci.blueprints.persistence.BlueprintPersistenceException;
+import co.edu.eci.blueprints.services.BlueprintsServices;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas masivas de {@link BlueprintsServices} (todos, por autor y por claves) sobre una
+ * persistencia en memoria con {@value #BLUEPRINTS} planos de {@value #AUTHORS} autores;
+ * {@code totalPoints} se reparte entre los planos.
+ * <pre>
+ * mvn -Pbench,jmh test-compile exec:exec -Djmh.include=BlueprintsServicesBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BlueprintsServicesBenchmark {
+
+    static final int BLUEPRINTS = 100;
+    static final int AUTHORS = 10;
+
+    @Param({"1000", "100000", "10000000"})
+    public int totalPoints;
+
+    @Param({"identity", "redundancy", "undersampling"})
+    public String filter;
+
+    private BlueprintsServices services;
+    private List<BlueprintKey> keys;
+
+    @Setup
+    public void setup() throws BlueprintPersistenceException {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        keys = new ArrayList<>();
+        for (int i = 0; i < BLUEPRINTS; i++) {
+            String author = "author" + (i % AUTHORS);
+            persistence.saveBlueprint(new Blueprint(author, "bp" + i, BenchData.points(totalPoints / BLUEPRINTS)));
+            if (i % 2 == 0) keys.add(new BlueprintKey(author, "bp" + i));
+        }
+        BlueprintsFilter selected = switch (filter) {
+            case "redundancy" -> new RedundancyFilter();
+            case "undersampling" -> new UndersamplingFilter();
+            default -> new IdentityFilter();
+        };
+        services = new BlueprintsServices(persistence, selected, event -> { });
+    }
+
+    @Benchmark
+    public Set<Blueprint> getAllBlueprints() {
+        return services.getAllBlueprints();
+    }
+
+    @Benchmark
+    public Set<Blueprint> getBlueprintsByAuthor() throws BlueprintNotFoundException {
+        return services.getBlueprintsByAuthor("author3");
+    }
+
+    @Benchmark
+    public Map<BlueprintKey, Blueprint> getBlueprintsByKeys() {
+        return services.getBlueprints(keys);
+    }
+}
@@ -0,0 +1,143 @@
+package co.edu.eci.blueprints.bench;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Conjunto de datos sintético y reproducible: {@code authors × blueprintsPerAuthor} planos cuyo
+ * número de puntos sigue una distribución configurable. La misma semilla produce siempre los
+ * mismos nombres, tamaños y puntos, así que dos corridas de {@link LoadHarness} son comparables.
+ * <p>
+ * Distribuciones ({@code --points}):
+ * <ul>
+ *   <li>{@code fixed:N}: todos con N puntos.</li>
+ *   <li>{@code uniform:MIN:MAX}: uniforme entre MIN y MAX.</li>
+ *   <li>{@code lognormal:MEDIANA:SIGMA}: la mayoría pequeños y unos pocos muy grandes, como en producción.</li>
+ * </ul>
+ * Los tamaños se recortan a {@code maxPoints}.
+ */
+final class DatasetGenerator {
+
+    /**
+     * Plano a sembrar.
+     * @param author Autor
+     * @param name Nombre
+     * @param points Número de puntos
+     * @param seed Semilla de sus puntos
+     */
+    record BlueprintSpec(String author, String name, int points, long seed) {
+
+        /** Puntos como arreglo JSON: un trazo aleatorio con un tercio de puntos repetidos. */
+        String pointsJson() {
+            SplittableRandom random = new SplittableRandom(seed);
+            StringBuilder json = new StringBuilder(points * 16 + 2).append('[');
+            int x = 0;
+            int y = 0;
+            for (int i = 0; i < points; i++) {
+                if (random.nextInt(3) != 0) {
+                    x += random.nextInt(-5, 6);
+                    y += random.nextInt(-5, 6);
+                }
+                if (i > 0) json.append(',');
+                json.append("{\"x\":").append(x).append(",\"y\":").append(y).append('}');
+            }
+            return json.append(']').toString();
+        }
+    }
+
+    /** Máximo de puntos por lote al sembrar, para que ninguna petición sea enorme. */
+    private static final int POINTS_PER_BATCH = 200_000;
+    private static final int MAX_BATCH_OPERATIONS = 1000;
+
+    private final List<BlueprintSpec> blueprints;
+    private final List<String> authors;
+
+    DatasetGenerator(long seed, int authors, int blueprintsPerAuthor, String distribution, int maxPoints) {
+        SplittableRandom random = new SplittableRandom(seed);
+        PointCount sizes = PointCount.parse(distribution);
+        List<String> authorNames = new ArrayList<>(authors);
+        List<BlueprintSpec> specs = new ArrayList<>(authors * blueprintsPerAuthor);
+        for (int a = 0; a < authors; a++) {
+            String author = String.format(Locale.ROOT, "author%04d", a);
+            authorNames.add(author);
+            for (int b = 0; b < blueprintsPerAuthor; b++) {
+                int points = Math.max(1, Math.min(maxPoints, sizes.next(random)));
+                specs.add(new BlueprintSpec(author, String.format(Locale.ROOT, "bp%04d", b), points, random.nextLong()));
+            }
+        }
+        this.blueprints = Collections.unmodifiableList(specs);
+        this.authors = Collections.unmodifiableList(authorNames);
+    }
+
+    List<BlueprintSpec> blueprints() { return blueprints; }
+
+    List<String> authors() { return authors; }
+
+    long totalPoints() {
+        return blueprints.stream().mapToLong(BlueprintSpec::points).sum();
+    }
+
+    /**
+     * Siembra los planos con {@code POST /api/v1/blueprints/batch} (no atómico; los que ya existen
+     * se ignoran, así que se puede sembrar dos veces la misma aplicación).
+     * @param client Cliente autenticado
+     */
+    void seed(ThreadModeBenchmark.BenchClient client) {
+        StringBuilder ops = new StringBuilder();
+        int count = 0;
+        long points = 0;
+        for (BlueprintSpec bp : blueprints) {
+            if (count > 0) ops.append(',');
+            ops.append("{\"op\":\"CREATE\",\"author\":\"").append(bp.author())
+               .append("\",\"name\":\"").append(bp.name()).append("\",\"points\":").append(bp.pointsJson()).append('}');
+            count++;
+            points += bp.points();
+            if (count == MAX_BATCH_OPERATIONS || points >= POINTS_PER_BATCH) {
+                sendBatch(client, ops);
+                ops.setLength(0);
+                count = 0;
+                points = 0;
+            }
+        }
+        if (count > 0) sendBatch(client, ops);
+    }
+
+    private static void sendBatch(ThreadModeBenchmark.BenchClient client, StringBuilder ops) {
+        int status = client.send(client.request("/api/v1/blueprints/batch")
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"atomic\":false,\"operations\":[" + ops + "]}"))
+            .build());
+        if (status != 200) throw new IllegalStateException("seed batch failed: " + status);
+    }
+
+    /** Distribución del número de puntos por plano. */
+    @FunctionalInterface
+    interface PointCount {
+        int next(SplittableRandom random);
+
+        static PointCount parse(String spec) {
+            String[] parts = spec.split(":");
+            return switch (parts[0]) {
+                case "fixed" -> {
+                    int n = Integer.parseInt(parts[1]);
+                    yield random -> n;
+                }
+                case "uniform" -> {
+                    int min = Integer.parseInt(parts[1]);
+                    int max = Integer.parseInt(parts[2]);
+                    yield random -> random.nextInt(min, max + 1);
+                }
+                case "lognormal" -> {
+                    double mu = Math.log(Double.parseDouble(parts[1]));
+                    double sigma = Double.parseDouble(parts[2]);
+                    yield random -> (int) Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+                }
+                default -> throw new IllegalArgumentException("unknown point distribution: " + spec);
+            };
+        }
+    }
+}
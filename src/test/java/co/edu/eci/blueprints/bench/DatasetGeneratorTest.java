@@ -0,0 +1,30 @@
+package co.edu.eci.blueprints.bench;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetGeneratorTest {
+
+    @Test
+    void sameSeedGeneratesTheSameDataset() {
+        DatasetGenerator a = new DatasetGenerator(7, 5, 4, "lognormal:50:1.0", 1000);
+        DatasetGenerator b = new DatasetGenerator(7, 5, 4, "lognormal:50:1.0", 1000);
+
+        assertEquals(20, a.blueprints().size());
+        assertEquals(a.blueprints(), b.blueprints());
+        assertEquals(a.blueprints().get(3).pointsJson(), b.blueprints().get(3).pointsJson());
+        assertNotEquals(a.blueprints(), new DatasetGenerator(8, 5, 4, "lognormal:50:1.0", 1000).blueprints());
+    }
+
+    @Test
+    void pointCountsFollowTheDistributionWithinTheCap() {
+        DatasetGenerator fixed = new DatasetGenerator(1, 3, 3, "fixed:12", 1000);
+        assertTrue(fixed.blueprints().stream().allMatch(bp -> bp.points() == 12));
+        assertEquals(12, fixed.blueprints().get(0).pointsJson().split("\\{").length - 1);
+
+        DatasetGenerator skewed = new DatasetGenerator(1, 50, 20, "lognormal:100:2.0", 5000);
+        assertTrue(skewed.blueprints().stream().allMatch(bp -> bp.points() >= 1 && bp.points() <= 5000));
+        assertTrue(skewed.blueprints().stream().anyMatch(bp -> bp.points() == 5000));
+    }
+}
@@ -0,0 +1,55 @@
+package co.edu.eci.blueprints.bench;
+
+import co.edu.eci.blueprints.filters.RedundancyFilter;
+import co.edu.eci.blueprints.filters.UndersamplingFilter;
+import co.edu.eci.blueprints.model.Blueprint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de {@link RedundancyFilter#apply} y {@link UndersamplingFilter#apply} según el número de puntos.
+ * <pre>
+ * mvn -Pbench,jmh test-compile exec:exec -Djmh.include=FilterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FilterBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int points;
+
+    private final RedundancyFilter redundancy = new RedundancyFilter();
+    private final UndersamplingFilter undersampling = new UndersamplingFilter();
+    private Blueprint blueprint;
+
+    @Setup
+    public void setup() {
+        blueprint = new Blueprint("bench", "bp", BenchData.points(points));
+    }
+
+    @Benchmark
+    public Blueprint redundancy() {
+        return redundancy.apply(blueprint);
+    }
+
+    @Benchmark
+    public Blueprint undersampling() {
+        return undersampling.apply(blueprint);
+    }
+}
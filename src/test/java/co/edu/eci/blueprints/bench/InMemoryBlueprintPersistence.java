@@ -0,0 +1,141 @@
+package co.edu.eci.blueprints.bench;
+
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintChanges;
+import co.edu.eci.blueprints.model.BlueprintKey;
+import co.edu.eci.blueprints.model.BlueprintStats;
+import co.edu.eci.blueprints.model.Point;
+import co.edu.eci.blueprints.persistence.BlueprintNotFoundException;
+import co.edu.eci.blueprints.persistence.BlueprintPersistence;
+import co.edu.eci.blueprints.persistence.BlueprintPersistenceException;
+import co.edu.eci.blueprints.persistence.BlueprintRevision;
+import co.edu.eci.blueprints.persistence.BlueprintVersion;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistencia en memoria para medir los servicios sin base de datos: lo medido es el costo
+ * propio del servicio (filtro, copias, colecciones) y no el de JPA.
+ */
+class InMemoryBlueprintPersistence implements BlueprintPersistence {
+
+    private final Map<BlueprintKey, Blueprint> blueprints = new ConcurrentHashMap<>();
+
+    @Override
+    public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
+        if (blueprints.putIfAbsent(new BlueprintKey(bp.getAuthor(), bp.getName()), bp) != null) {
+            throw new BlueprintPersistenceException("Blueprint already exists: " + bp.getAuthor() + "/" + bp.getName());
+        }
+    }
+
+    @Override
+    public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
+        Blueprint bp = blueprints.get(new BlueprintKey(author, name));
+        if (bp == null) throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + name);
+        return bp;
+    }
+
+    @Override
+    public Map<BlueprintKey, Blueprint> getBlueprints(Collection<BlueprintKey> keys) {
+        Map<BlueprintKey, Blueprint> found = new HashMap<>();
+        for (BlueprintKey key : keys) {
+            Blueprint bp = blueprints.get(key);
+            if (bp != null) found.put(key, bp);
+        }
+        return found;
+    }
+
+    @Override
+    public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
+        Set<Blueprint> found = new HashSet<>();
+        for (Blueprint bp : blueprints.values()) {
+            if (bp.getAuthor().equals(author)) found.add(bp);
+        }
+        if (found.isEmpty()) throw new BlueprintNotFoundException("No blueprints for author: " + author);
+        return found;
+    }
+
+    @Override
+    public Set<Blueprint> getAllBlueprints() {
+        return new HashSet<>(blueprints.values());
+    }
+
+    @Override
+    public List<Blueprint> getBlueprintsPage(BlueprintKey after, int limit) {
+        Comparator<BlueprintKey> order = Comparator.comparing(BlueprintKey::author).thenComparing(BlueprintKey::name);
+        return blueprints.entrySet().stream()
+            .filter(e -> after == null || order.compare(e.getKey(), after) > 0)
+            .sorted(Map.Entry.comparingByKey(order))
+            .limit(limit)
+            .map(Map.Entry::getValue)
+            .toList();
+    }
+
+    @Override
+    public List<Point> getPoints(String author, String name, int offset, int limit) throws BlueprintNotFoundException {
+        List<Point> points = getBlueprint(author, name).getPoints();
+        int from = Math.min(offset, points.size());
+        return List.copyOf(points.subList(from, Math.min(points.size(), from + limit)));
+    }
+
+    @Override
+    public BlueprintChanges getChanges(String author, String name, Long sinceId, long sinceVersion) throws BlueprintNotFoundException {
+        Blueprint bp = getBlueprint(author, name);
+        List<Point> points = bp.getPoints();
+        if (!Objects.equals(sinceId, bp.getId()) || sinceVersion < bp.getPointsResetVersion()) {
+            return new BlueprintChanges(author, name, bp.getId(), bp.getVersion(), true, 0, List.copyOf(points));
+        }
+        int from = (int) Math.max(0, points.size() - (bp.getVersion() - sinceVersion));
+        return new BlueprintChanges(author, name, bp.getId(), bp.getVersion(), false, from, List.copyOf(points.subList(from, points.size())));
+    }
+
+    @Override
+    public BlueprintVersion getVersion(String author, String name) throws BlueprintNotFoundException {
+        Blueprint bp = getBlueprint(author, name);
+        return new BlueprintVersion(bp.getId(), bp.getVersion(), bp.getPointsResetVersion(), bp.getPoints().size());
+    }
+
+    @Override
+    public BlueprintStats getStats(String author, String name) throws BlueprintNotFoundException {
+        Blueprint bp = getBlueprint(author, name);
+        synchronized (bp) {
+            return bp.getStats().toStats(author, name, bp.getVersion());
+        }
+    }
+
+    @Override
+    public BlueprintRevision addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
+        Blueprint bp = getBlueprint(author, name);
+        synchronized (bp) {
+            bp.addPoint(new Point(x, y));
+            return new BlueprintRevision(bp.getId(), bp.getVersion());
+        }
+    }
+
+    @Override
+    public BlueprintRevision updateBlueprint(String originalAuthor, String originalName, Blueprint updatedBlueprint)
+            throws BlueprintNotFoundException, BlueprintPersistenceException {
+        Blueprint bp = getBlueprint(originalAuthor, originalName);
+        synchronized (bp) {
+            bp.replacePoints(updatedBlueprint.getPoints());
+            return new BlueprintRevision(bp.getId(), bp.getVersion());
+        }
+    }
+
+    @Override
+    public BlueprintRevision deleteBlueprint(String author, String name) throws BlueprintNotFoundException {
+        Blueprint bp = blueprints.remove(new BlueprintKey(author, name));
+        if (bp == null) {
+            throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + name);
+        }
+        return new BlueprintRevision(bp.getId(), bp.getVersion());
+    }
+}
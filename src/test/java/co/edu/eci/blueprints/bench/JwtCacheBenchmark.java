@@ -0,0 +1,57 @@
+package co.edu.eci.blueprints.bench;
+
+import co.edu.eci.blueprints.BlueprintsApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mide el camino autenticado {@code GET /api/v1/blueprints/{author}/{name}} con el caché de
+ * tokens verificados apagado y encendido ({@code blueprints.security.jwt-cache.enabled}).
+ * Todos los clientes reutilizan el mismo token, como hace el SPA, de modo que sin caché cada
+ * petición paga una verificación RS256.
+ * <pre>
+ * mvn -Pbench test-compile exec:exec -Dbench.main=co.edu.eci.blueprints.bench.JwtCacheBenchmark \
+ *     -Dbench.args="--clients=50,200 --seconds=20"
+ * </pre>
+ */
+public final class JwtCacheBenchmark {
+
+    private JwtCacheBenchmark() { }
+
+    public static void main(String[] args) throws Exception {
+        BenchArgs a = BenchArgs.parse(args);
+        int[] clients = a.intList("clients", "50,200");
+        int seconds = a.intValue("seconds", 20);
+        int warmup = a.intValue("warmup", 5);
+        int blueprints = a.intValue("blueprints", 20);
+        int points = a.intValue("points", 10);
+
+        List<String> rows = new ArrayList<>();
+        for (boolean cache : new boolean[] {false, true}) {
+            String mode = cache ? "cached" : "uncached";
+            try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(BlueprintsApiApplication.class)
+                    .properties("server.port=0", "blueprints.security.jwt-cache.enabled=" + cache,
+                                "logging.level.root=WARN")
+                    .run()) {
+                String base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port");
+                ThreadModeBenchmark.BenchClient client = new ThreadModeBenchmark.BenchClient(base);
+                client.login("student", a.value("password", "student123"));
+                List<String> paths = client.seed("bench", blueprints, points);
+                for (int n : clients) {
+                    ThreadModeBenchmark.run(client, paths, n, warmup);
+                    LatencyStats s = ThreadModeBenchmark.run(client, paths, n, seconds);
+                    rows.add(String.format("%-9s %7d %10.0f %9.2f %9.2f %9.2f %9.2f %7.3f%%",
+                        mode, n, s.throughput(), s.p50Millis(), s.p99Millis(), s.p999Millis(), s.maxMillis(),
+                        s.errorRate() * 100));
+                }
+            }
+        }
+        System.out.println();
+        System.out.printf("%-9s %7s %10s %9s %9s %9s %9s %8s%n",
+            "jwt", "clients", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        rows.forEach(System.out::println);
+    }
+}
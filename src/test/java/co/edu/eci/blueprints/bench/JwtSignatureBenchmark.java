@@ -0,0 +1,71 @@
+package co.edu.eci.blueprints.bench;
+
+import co.edu.eci.blueprints.security.JwtAlgorithm;
+import co.edu.eci.blueprints.security.JwtKeyProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+
+import java.time.Instant;
+
+/**
+ * Operaciones por segundo de firma y verificación de tokens para cada algoritmo soportado,
+ * usando el mismo encoder/decoder que arma {@link JwtKeyProvider} para la aplicación.
+ * <pre>
+ * mvn -Pbench test-compile exec:exec -Dbench.main=org.openjdk.jmh.Main -Dbench.args="JwtSignatureBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSignatureBenchmark {
+
+    @Param({"RS256", "ES256", "EDDSA"})
+    public JwtAlgorithm algorithm;
+
+    private JwtEncoder encoder;
+    private JwtDecoder decoder;
+    private JwtEncoderParameters parameters;
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtKeyProvider provider = new JwtKeyProvider(algorithm);
+        provider.init();
+        encoder = provider.encoder();
+        decoder = provider.decoder();
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .issuer("https://decsis-eci/blueprints").subject("student")
+            .issuedAt(now).expiresAt(now.plusSeconds(3600))
+            .claim("scope", "blueprints.read blueprints.write")
+            .build();
+        parameters = JwtEncoderParameters.from(JwsHeader.with(algorithm).build(), claims);
+        token = encoder.encode(parameters).getTokenValue();
+    }
+
+    @Benchmark
+    public String sign() {
+        return encoder.encode(parameters).getTokenValue();
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        return decoder.decode(token);
+    }
+}
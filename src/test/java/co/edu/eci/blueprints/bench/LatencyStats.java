@@ -0,0 +1,86 @@
+package co.edu.eci.blueprints.bench;
+
+import java.util.Arrays;
+
+/**
+ * Resumen de latencias de una corrida de carga.
+ * @param requests Peticiones completadas
+ * @param errors Peticiones con error (excepción o estado distinto de 2xx)
+ * @param seconds Duración de la medición
+ * @param p50Millis Percentil 50 en milisegundos
+ * @param p99Millis Percentil 99 en milisegundos
+ * @param p999Millis Percentil 99.9 en milisegundos
+ * @param maxMillis Latencia máxima en milisegundos
+ */
+public record LatencyStats(long requests, long errors, double seconds,
+                           double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+
+    /**
+     * Calcula el resumen a partir de las latencias registradas (en nanosegundos).
+     * @param latenciesNanos Latencias, se ordenan en el lugar
+     * @param errors Número de errores
+     * @param seconds Duración de la medición
+     * @return Resumen de la corrida
+     */
+    public static LatencyStats of(long[] latenciesNanos, long errors, double seconds) {
+        Arrays.sort(latenciesNanos);
+        return new LatencyStats(latenciesNanos.length, errors, seconds,
+            percentile(latenciesNanos, 0.50), percentile(latenciesNanos, 0.99),
+            percentile(latenciesNanos, 0.999),
+            latenciesNanos.length == 0 ? 0 : latenciesNanos[latenciesNanos.length - 1] / 1e6);
+    }
+
+    public double throughput() {
+        return seconds == 0 ? 0 : requests / seconds;
+    }
+
+    public double errorRate() {
+        long total = requests + errors;
+        return total == 0 ? 0 : (double) errors / total;
+    }
+
+    private static double percentile(long[] sorted, double q) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))] / 1e6;
+    }
+
+    /**
+     * Acumulador de latencias para un solo hilo cliente (sin sincronización).
+     */
+    public static final class Recorder {
+        private long[] samples = new long[256];
+        private int size;
+        private long errors;
+
+        public void record(long nanos) {
+            if (size == samples.length) samples = Arrays.copyOf(samples, size * 2);
+            samples[size++] = nanos;
+        }
+
+        public void error() { errors++; }
+
+        public long errors() { return errors; }
+
+        public long[] samples() { return Arrays.copyOf(samples, size); }
+
+        /**
+         * Une los registros de varios clientes.
+         * @param recorders Registros por cliente
+         * @param seconds Duración de la medición
+         * @return Resumen conjunto
+         */
+        public static LatencyStats merge(Iterable<Recorder> recorders, double seconds) {
+            int total = 0;
+            long errors = 0;
+            for (Recorder r : recorders) { total += r.size; errors += r.errors; }
+            long[] all = new long[total];
+            int pos = 0;
+            for (Recorder r : recorders) {
+                System.arraycopy(r.samples, 0, all, pos, r.size);
+                pos += r.size;
+            }
+            return of(all, errors, seconds);
+        }
+    }
+}
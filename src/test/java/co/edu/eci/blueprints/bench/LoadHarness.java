@@ -0,0 +1,396 @@
+package co.edu.eci.blueprints.bench;
+
+import co.edu.eci.blueprints.BlueprintsApiApplication;
+import co.edu.eci.blueprints.bench.DatasetGenerator.BlueprintSpec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Prueba de carga de punta a punta: siembra un {@link DatasetGenerator conjunto de datos sintético},
+ * obtiene un JWT en {@code /auth/login} y reproduce una mezcla configurable de las operaciones de
+ * {@code api.http}. Reporta throughput, p50/p99/p99.9 y tasa de errores por operación y en total,
+ * y falla (código de salida 2) si se superan los umbrales, de modo que sirve como compuerta para
+ * los cambios de rendimiento.
+ * <p>
+ * Sin {@code --url} levanta la aplicación en un puerto aleatorio (H2 en memoria salvo que se
+ * configure otra base); {@code --app="k=v;k2=v2"} le pasa propiedades.
+ * <ul>
+ *   <li>{@code --model=closed}: {@code --clients} clientes que envían la siguiente petición al
+ *       recibir la respuesta (más {@code --think-ms}).</li>
+ *   <li>{@code --model=open}: llegadas a {@code --rate} peticiones/s ({@code --arrivals=uniform|poisson}),
+ *       independientes de las respuestas. La latencia se mide desde el instante programado, así que
+ *       incluye la espera si la aplicación se atrasa.</li>
+ * </ul>
+ * {@code --skew} es el exponente Zipf de popularidad de los planos (0 = uniforme).
+ * <pre>
+ * mvn -Pbench test-compile exec:exec -Dbench.main=co.edu.eci.blueprints.bench.LoadHarness \
+ *     -Dbench.args="--model=open --rate=300 --seconds=60 --max-p99-ms=250"
+ * </pre>
+ */
+public final class LoadHarness {
+
+    static final String DEFAULT_MIX =
+        "get:50,author:10,lookup:8,points:8,changes:5,add:6,create:3,update:3,delete:2,batch:2,all:1,async:2";
+
+    enum Op { GET, AUTHOR, ALL, LOOKUP, POINTS, CHANGES, ADD, CREATE, UPDATE, DELETE, BATCH, ASYNC }
+
+    private LoadHarness() { }
+
+    public static void main(String[] args) throws Exception {
+        BenchArgs a = BenchArgs.parse(args);
+        long seed = a.longValue("seed", 42);
+        DatasetGenerator data = new DatasetGenerator(seed, a.intValue("authors", 20), a.intValue("blueprints-per-author", 10),
+            a.value("points", "lognormal:100:1.0"), a.intValue("max-points", 100_000));
+        Map<Op, Integer> mix = parseMix(a.value("mix", DEFAULT_MIX));
+        String model = a.value("model", "closed");
+        int seconds = a.intValue("seconds", 30);
+        int warmup = a.intValue("warmup", 10);
+
+        ConfigurableApplicationContext ctx = null;
+        String base = a.value("url", null);
+        try {
+            if (base == null) {
+                // Un solo usuario representa a todos los clientes: sin límite por usuario salvo que --app lo active
+                List<String> props = new ArrayList<>(List.of("server.port=0", "logging.level.root=WARN",
+                    "blueprints.rate-limit.enabled=false"));
+                String app = a.value("app", "");
+                if (!app.isBlank()) props.addAll(Arrays.asList(app.split(";")));
+                ctx = new SpringApplicationBuilder(BlueprintsApiApplication.class).properties(props.toArray(String[]::new)).run();
+                base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port");
+            }
+            ThreadModeBenchmark.BenchClient client = new ThreadModeBenchmark.BenchClient(base);
+            client.login(a.value("user", "student"), a.value("password", "student123"));
+            long seedStart = System.nanoTime();
+            data.seed(client);
+            System.out.printf(Locale.ROOT, "seeded %d blueprints (%d points) in %.1f s%n",
+                data.blueprints().size(), data.totalPoints(), (System.nanoTime() - seedStart) / 1e9);
+
+            Workload workload = new Workload(client, data, mix, a.doubleValue("skew", 1.0), seed);
+            Runner runner = switch (model) {
+                case "closed" -> new ClosedModel(a.intValue("clients", 32), a.intValue("think-ms", 0), seed);
+                case "open" -> new OpenModel(a.doubleValue("rate", 200), "poisson".equals(a.value("arrivals", "uniform")),
+                    a.intValue("max-in-flight", 10_000), seed);
+                default -> throw new IllegalArgumentException("--model must be closed or open");
+            };
+            if (warmup > 0) runner.run(workload, warmup);
+            Stats stats = runner.run(workload, seconds);
+
+            Report report = stats.report(args);
+            report.print();
+            Path out = Path.of(a.value("report", "target/load-report.json"));
+            if (out.getParent() != null) Files.createDirectories(out.getParent());
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(out.toFile(), report);
+            System.out.println("report written to " + out);
+
+            List<String> violations = report.violations(a.doubleValue("max-error-rate", 0.01),
+                a.doubleValue("max-p99-ms", 0), a.doubleValue("min-throughput", 0));
+            if (!violations.isEmpty()) {
+                violations.forEach(v -> System.out.println("GATE FAILED: " + v));
+                if (ctx != null) ctx.close();
+                System.exit(2);
+            }
+        } finally {
+            if (ctx != null) ctx.close();
+        }
+    }
+
+    static Map<Op, Integer> parseMix(String spec) {
+        Map<Op, Integer> mix = new EnumMap<>(Op.class);
+        for (String entry : spec.split(",")) {
+            String[] kv = entry.trim().split(":");
+            int weight = Integer.parseInt(kv[1]);
+            if (weight > 0) mix.put(Op.valueOf(kv[0].toUpperCase(Locale.ROOT)), weight);
+        }
+        if (mix.isEmpty()) throw new IllegalArgumentException("empty --mix");
+        return mix;
+    }
+
+    /**
+     * Petición lista para enviar.
+     * @param op Operación
+     * @param request Petición HTTP
+     * @param onSuccess Acción tras una respuesta 2xx (p. ej. recordar un plano creado para borrarlo)
+     */
+    record Planned(Op op, HttpRequest request, Runnable onSuccess) { }
+
+    /**
+     * Genera peticiones según la mezcla. Los planos se eligen con popularidad Zipf; los creados
+     * por la carga se guardan para que {@code update}/{@code delete} trabajen también sobre ellos.
+     */
+    static final class Workload {
+        private final ThreadModeBenchmark.BenchClient client;
+        private final List<BlueprintSpec> ranked;
+        private final double[] cdf;
+        private final Op[] ops;
+        private final int[] cumulativeWeights;
+        private final Queue<BlueprintSpec> created = new ConcurrentLinkedQueue<>();
+        private final AtomicLong sequence = new AtomicLong();
+
+        Workload(ThreadModeBenchmark.BenchClient client, DatasetGenerator data, Map<Op, Integer> mix, double skew, long seed) {
+            this.client = client;
+            List<BlueprintSpec> shuffled = new ArrayList<>(data.blueprints());
+            // Orden de popularidad aleatorio (pero fijo por semilla) para no favorecer al primer autor
+            Collections.shuffle(shuffled, new Random(seed));
+            this.ranked = shuffled;
+            this.cdf = new double[ranked.size()];
+            double total = 0;
+            for (int i = 0; i < cdf.length; i++) {
+                total += 1.0 / Math.pow(i + 1, skew);
+                cdf[i] = total;
+            }
+            for (int i = 0; i < cdf.length; i++) cdf[i] /= total;
+            this.ops = mix.keySet().toArray(Op[]::new);
+            this.cumulativeWeights = new int[ops.length];
+            int sum = 0;
+            for (int i = 0; i < ops.length; i++) {
+                sum += mix.get(ops[i]);
+                cumulativeWeights[i] = sum;
+            }
+        }
+
+        BlueprintSpec pick(SplittableRandom random) {
+            int i = Arrays.binarySearch(cdf, random.nextDouble());
+            return ranked.get(Math.min(i < 0 ? -i - 1 : i, ranked.size() - 1));
+        }
+
+        Planned next(SplittableRandom random) {
+            int w = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int i = 0;
+            while (cumulativeWeights[i] <= w) i++;
+            return plan(ops[i], random);
+        }
+
+        private Planned plan(Op op, SplittableRandom random) {
+            BlueprintSpec bp = pick(random);
+            String path = "/api/v1/blueprints/" + bp.author() + "/" + bp.name();
+            return switch (op) {
+                case GET -> new Planned(op, client.request(path).GET().build(), null);
+                case AUTHOR -> new Planned(op, client.request("/api/v1/blueprints/" + bp.author()).GET().build(), null);
+                case ALL -> new Planned(op, client.request("/api/v1/blueprints").GET().build(), null);
+                case ASYNC -> new Planned(op, client.request("/api/v1/async/blueprints?authors="
+                    + bp.author() + "," + pick(random).author()).GET().build(), null);
+                case POINTS -> new Planned(op, client.request(path + "/points?offset=" + random.nextInt(bp.points())
+                    + "&limit=100").GET().build(), null);
+                // El arnés no conoce los ids: mide el camino de la lista completa (fullReplace)
+                case CHANGES -> new Planned(op, client.request(path + "/changes?id=0&since=1").GET().build(), null);
+                case LOOKUP -> {
+                    StringBuilder keys = new StringBuilder();
+                    for (int k = 0; k < 10; k++) {
+                        BlueprintSpec key = k == 0 ? bp : pick(random);
+                        if (k > 0) keys.append(',');
+                        keys.append("{\"author\":\"").append(key.author()).append("\",\"name\":\"").append(key.name()).append("\"}");
+                    }
+                    yield json(op, "/api/v1/blueprints/lookup", "POST", "{\"keys\":[" + keys + "]}", null);
+                }
+                case ADD -> json(op, path + "/points", "PUT",
+                    "{\"x\":" + random.nextInt(1000) + ",\"y\":" + random.nextInt(1000) + "}", null);
+                case UPDATE -> {
+                    BlueprintSpec recent = created.peek();
+                    BlueprintSpec target = recent != null && random.nextBoolean() ? recent : bp;
+                    yield json(op, "/api/v1/blueprints/" + target.author() + "/" + target.name(), "PUT",
+                        "{\"author\":\"" + target.author() + "\",\"name\":\"" + target.name() + "\",\"points\":"
+                            + target.pointsJson() + "}", null);
+                }
+                case DELETE -> {
+                    BlueprintSpec target = created.poll();
+                    // Sin planos creados por la carga no hay qué borrar: se crea uno
+                    yield target == null ? plan(Op.CREATE, random)
+                        : new Planned(op, client.request("/api/v1/blueprints/" + target.author() + "/" + target.name())
+                            .DELETE().build(), null);
+                }
+                case CREATE -> {
+                    BlueprintSpec fresh = new BlueprintSpec(bp.author(), "load-" + sequence.incrementAndGet(),
+                        bp.points(), random.nextLong());
+                    yield json(op, "/api/v1/blueprints", "POST", "{\"author\":\"" + fresh.author() + "\",\"name\":\""
+                        + fresh.name() + "\",\"points\":" + fresh.pointsJson() + "}", () -> created.add(fresh));
+                }
+                case BATCH -> {
+                    String name = "batch-" + sequence.incrementAndGet();
+                    String target = "\"author\":\"" + bp.author() + "\",\"name\":\"" + name + "\"";
+                    yield json(op, "/api/v1/blueprints/batch", "POST", "{\"atomic\":true,\"operations\":["
+                        + "{\"op\":\"CREATE\"," + target + ",\"points\":[{\"x\":1,\"y\":1}]},"
+                        + "{\"op\":\"ADD_POINT\"," + target + ",\"x\":2,\"y\":2},"
+                        + "{\"op\":\"DELETE\"," + target + "}]}", null);
+                }
+            };
+        }
+
+        private Planned json(Op op, String path, String method, String body, Runnable onSuccess) {
+            return new Planned(op, client.request(path).header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body)).build(), onSuccess);
+        }
+
+        /** Envía la petición y registra su latencia desde {@code startNanos}. */
+        void execute(Planned planned, long startNanos, Stats stats) {
+            int status = client.send(planned.request());
+            long elapsed = System.nanoTime() - startNanos;
+            if (status >= 200 && status < 300) {
+                stats.record(planned.op(), elapsed);
+                if (planned.onSuccess() != null) planned.onSuccess().run();
+            } else {
+                stats.error(planned.op());
+            }
+        }
+    }
+
+    interface Runner {
+        Stats run(Workload workload, int seconds) throws InterruptedException;
+    }
+
+    /** Lazo cerrado: cada cliente es un hilo virtual que espera su respuesta antes de seguir. */
+    record ClosedModel(int clients, int thinkMillis, long seed) implements Runner {
+        @Override
+        public Stats run(Workload workload, int seconds) {
+            Stats stats = new Stats();
+            SplittableRandom seeds = new SplittableRandom(seed);
+            long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+            try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < clients; c++) {
+                    SplittableRandom random = seeds.split();
+                    pool.execute(() -> {
+                        while (System.nanoTime() < deadline) {
+                            Planned planned = workload.next(random);
+                            workload.execute(planned, System.nanoTime(), stats);
+                            if (thinkMillis > 0) LockSupport.parkNanos(Duration.ofMillis(thinkMillis).toNanos());
+                        }
+                    });
+                }
+            }
+            return stats.finish();
+        }
+    }
+
+    /**
+     * Modelo abierto: un planificador lanza cada petición en su propio hilo virtual a la hora
+     * programada; si hay más de {@code maxInFlight} en curso la petición cuenta como error.
+     */
+    record OpenModel(double rate, boolean poisson, int maxInFlight, long seed) implements Runner {
+        @Override
+        public Stats run(Workload workload, int seconds) {
+            Stats stats = new Stats();
+            SplittableRandom random = new SplittableRandom(seed);
+            Semaphore inFlight = new Semaphore(maxInFlight);
+            double interval = 1e9 / rate;
+            long start = System.nanoTime();
+            long deadline = start + Duration.ofSeconds(seconds).toNanos();
+            double next = start;
+            try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+                while (next < deadline) {
+                    long intended = (long) next;
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) LockSupport.parkNanos(wait);
+                    Planned planned = workload.next(random);
+                    if (inFlight.tryAcquire()) {
+                        pool.execute(() -> {
+                            try {
+                                workload.execute(planned, intended, stats);
+                            } finally {
+                                inFlight.release();
+                            }
+                        });
+                    } else {
+                        stats.error(planned.op());
+                    }
+                    next += poisson ? -Math.log(1 - random.nextDouble()) * interval : interval;
+                }
+            }
+            return stats.finish();
+        }
+    }
+
+    /** Latencias por operación, compartidas por todos los clientes. */
+    static final class Stats {
+        private final Map<Op, LatencyStats.Recorder> recorders = new EnumMap<>(Op.class);
+        private final long start = System.nanoTime();
+        private double seconds;
+
+        Stats() {
+            for (Op op : Op.values()) recorders.put(op, new LatencyStats.Recorder());
+        }
+
+        void record(Op op, long nanos) {
+            LatencyStats.Recorder r = recorders.get(op);
+            synchronized (r) { r.record(nanos); }
+        }
+
+        void error(Op op) {
+            LatencyStats.Recorder r = recorders.get(op);
+            synchronized (r) { r.error(); }
+        }
+
+        Stats finish() {
+            seconds = (System.nanoTime() - start) / 1e9;
+            return this;
+        }
+
+        Report report(String[] args) {
+            List<OpReport> operations = new ArrayList<>();
+            List<LatencyStats.Recorder> used = new ArrayList<>();
+            recorders.forEach((op, r) -> {
+                if (r.samples().length == 0 && r.errors() == 0) return;
+                used.add(r);
+                operations.add(OpReport.of(op.name().toLowerCase(Locale.ROOT), LatencyStats.of(r.samples(), r.errors(), seconds)));
+            });
+            return new Report(Instant.now().toString(), String.join(" ", args),
+                OpReport.of("total", LatencyStats.Recorder.merge(used, seconds)), operations);
+        }
+    }
+
+    record OpReport(String operation, long requests, long errors, double throughput, double errorRate,
+                    double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+        static OpReport of(String operation, LatencyStats s) {
+            return new OpReport(operation, s.requests(), s.errors(), s.throughput(), s.errorRate(),
+                s.p50Millis(), s.p99Millis(), s.p999Millis(), s.maxMillis());
+        }
+
+        String row() {
+            return String.format(Locale.ROOT, "%-8s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7.3f%%",
+                operation, requests, throughput, p50Millis, p99Millis, p999Millis, maxMillis, errorRate * 100);
+        }
+    }
+
+    record Report(String timestamp, String args, OpReport total, List<OpReport> operations) {
+        void print() {
+            System.out.println();
+            System.out.printf("%-8s %9s %9s %9s %9s %9s %9s %8s%n",
+                "op", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+            operations.forEach(o -> System.out.println(o.row()));
+            System.out.println(total.row());
+        }
+
+        List<String> violations(double maxErrorRate, double maxP99Millis, double minThroughput) {
+            Map<String, Boolean> checks = new LinkedHashMap<>();
+            checks.put(String.format(Locale.ROOT, "error rate %.3f%% > %.3f%%", total.errorRate() * 100, maxErrorRate * 100),
+                total.errorRate() > maxErrorRate);
+            checks.put(String.format(Locale.ROOT, "p99 %.2f ms > %.2f ms", total.p99Millis(), maxP99Millis),
+                maxP99Millis > 0 && total.p99Millis() > maxP99Millis);
+            checks.put(String.format(Locale.ROOT, "throughput %.1f req/s < %.1f req/s", total.throughput(), minThroughput),
+                total.throughput() < minThroughput);
+            return checks.entrySet().stream().filter(Map.Entry::getValue).map(Map.Entry::getKey).toList();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package co.edu.eci.blueprints.bench;
+
+import co.edu.eci.blueprints.controllers.ApiResponseDTO;
+import co.edu.eci.blueprints.model.Blueprint;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización con Jackson de la respuesta {@code ApiResponseDTO<Blueprint>} de
+ * {@code GET /api/v1/blueprints/{author}/{bpname}}, con un {@link ObjectMapper} configurado como
+ * el de Spring Boot. {@code toStream} escribe a un stream descartado (como el convertidor HTTP);
+ * {@code toBytes} incluye además el arreglo con el resultado.
+ * <pre>
+ * mvn -Pbench,jmh test-compile exec:exec -Djmh.include=SerializationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int points;
+
+    private ObjectWriter writer;
+    private ApiResponseDTO<Blueprint> response;
+
+    @Setup
+    public void setup() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        response = new ApiResponseDTO<>(200, "execute ok", new Blueprint("bench", "bp", BenchData.points(points)));
+    }
+
+    @Benchmark
+    public void toStream() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), response);
+    }
+
+    @Benchmark
+    public byte[] toBytes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+}
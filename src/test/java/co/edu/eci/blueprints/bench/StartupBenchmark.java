@@ -0,0 +1,128 @@
+package co.edu.eci.blueprints.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el tiempo de arranque del jar en varios modos, lanzando un proceso por corrida y
+ * tomando el tiempo hasta la línea {@code Started BlueprintsApiApplication}:
+ * <ul>
+ *   <li>{@code default}: {@code java -jar} sin más.</li>
+ *   <li>{@code lazy}: perfil {@code fast-start} (repositorios diferidos, llave JWT en segundo plano,
+ *       beans de springdoc perezosos).</li>
+ *   <li>{@code cds}: archivo de clases compartidas (AppCDS) generado con una corrida de entrenamiento.</li>
+ *   <li>{@code aot}: clases generadas por Spring AOT más el perfil {@code fast-start}.</li>
+ *   <li>{@code aot+cds}: todo lo anterior.</li>
+ * </ul>
+ * El jar se extrae primero ({@code -Djarmode=tools extract}), porque CDS no puede archivar clases
+ * cargadas desde jars anidados. Los modos {@code aot} requieren el jar construido con {@code -Pfast-start}.
+ * <pre>
+ * mvn -Pfast-start -DskipTests package
+ * mvn -Pbench test-compile exec:exec -Dbench.main=co.edu.eci.blueprints.bench.StartupBenchmark \
+ *     -Dbench.args="--jar=target/blueprints-api-security-2.0.0.jar --runs=5"
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final String STARTED = "Started BlueprintsApiApplication";
+
+    private StartupBenchmark() { }
+
+    public static void main(String[] args) throws Exception {
+        BenchArgs a = BenchArgs.parse(args);
+        Path jar = Path.of(a.value("jar", "target/blueprints-api-security-2.0.0.jar")).toAbsolutePath();
+        int runs = a.intValue("runs", 5);
+        List<String> modes = Arrays.asList(a.value("modes", "default,lazy,cds,aot,aot+cds").split(","));
+        String java = ProcessHandle.current().info().command().orElse("java");
+
+        Path work = Files.createTempDirectory("blueprints-startup");
+        Path app = work.resolve("app");
+        exec(List.of(java, "-Djarmode=tools", "-jar", jar.toString(), "extract", "--destination", app.toString()), work);
+        Path appJar = app.resolve(jar.getFileName());
+
+        List<String> rows = new ArrayList<>();
+        for (String mode : modes) {
+            List<String> command = command(java, appJar, mode.trim(), work);
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeToStarted(command, app);
+            }
+            Arrays.sort(millis);
+            rows.add(String.format("%-9s %9d %9d %9d", mode.trim(), millis[0], millis[runs / 2], millis[runs - 1]));
+        }
+        System.out.println();
+        System.out.printf("%-9s %9s %9s %9s%n", "mode", "min ms", "p50 ms", "max ms");
+        rows.forEach(System.out::println);
+    }
+
+    private static List<String> command(String java, Path appJar, String mode, Path work) throws Exception {
+        boolean aot = mode.startsWith("aot");
+        boolean cds = mode.endsWith("cds");
+        boolean fastProfile = aot || mode.equals("lazy");
+
+        List<String> flags = new ArrayList<>();
+        if (aot) flags.add("-Dspring.aot.enabled=true");
+        if (fastProfile) flags.add("-Dspring.profiles.active=identity,fast-start");
+        if (cds) {
+            // El archivo depende de las clases cargadas, así que se entrena con los mismos flags
+            Path archive = work.resolve((aot ? "aot" : "app") + ".jsa");
+            if (!Files.exists(archive)) {
+                List<String> training = new ArrayList<>(List.of(java, "-XX:ArchiveClassesAtExit=" + archive,
+                    "-Dspring.context.exit=onRefresh"));
+                training.addAll(flags);
+                training.addAll(List.of("-jar", appJar.toString(), "--server.port=0"));
+                exec(training, appJar.getParent());
+            }
+            flags.add("-XX:SharedArchiveFile=" + archive);
+        }
+        List<String> command = new ArrayList<>(List.of(java));
+        command.addAll(flags);
+        command.addAll(List.of("-jar", appJar.toString(), "--server.port=0"));
+        return command;
+    }
+
+    private static long timeToStarted(List<String> command, Path dir) throws Exception {
+        long start = System.nanoTime();
+        Process process = start(command, dir);
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                if (line.contains(STARTED)) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+            }
+            throw new IllegalStateException("la aplicación terminó sin arrancar: " + String.join(" ", command));
+        } finally {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void exec(List<String> command, Path dir) throws Exception {
+        Process process = start(command, dir);
+        process.getInputStream().transferTo(OutputStream.nullOutputStream());
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("falló: " + String.join(" ", command));
+        }
+    }
+
+    private static Process start(List<String> command, Path dir) throws IOException {
+        ProcessBuilder pb = new ProcessBuilder(command).directory(dir.toFile()).redirectErrorStream(true);
+        // El perfil identity exige estas variables; se usan las credenciales de prueba si no vienen
+        Map<String, String> env = pb.environment();
+        env.putIfAbsent("STUDENT_PASSWORD", "student123");
+        env.putIfAbsent("ASSISTANT_PASSWORD", "assistant123");
+        env.putIfAbsent("TOKEN_TTL_SECONDS", "3600");
+        return pb.start();
+    }
+}
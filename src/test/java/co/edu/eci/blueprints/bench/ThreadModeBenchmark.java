@@ -0,0 +1,161 @@
+package co.edu.eci.blueprints.bench;
+
+import co.edu.eci.blueprints.BlueprintsApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compara el modo de hilos de plataforma (por defecto) con el modo de hilos virtuales
+ * ({@code spring.threads.virtual.enabled=true}, con el limitador de concurrencia) bajo
+ * carga de lectura en lazo cerrado con 1k a 10k clientes concurrentes.
+ * <p>
+ * Levanta la aplicación en un puerto aleatorio para cada modo, siembra planos y mide
+ * throughput y latencias p50/p99/p99.9 de {@code GET /api/v1/blueprints/{author}/{name}}.
+ * Usa la base de datos configurada (H2 en memoria por defecto; SPRING_DATASOURCE_URL para Postgres,
+ * que es donde el bloqueo en JDBC hace visible la diferencia).
+ * <pre>
+ * mvn -Pbench test-compile exec:exec -Dbench.args="--clients=1000,5000,10000 --seconds=20"
+ * </pre>
+ * Con 10k clientes el proceso abre unas 20k conexiones locales: revisar {@code ulimit -n}.
+ */
+public final class ThreadModeBenchmark {
+
+    private ThreadModeBenchmark() { }
+
+    public static void main(String[] args) throws Exception {
+        BenchArgs a = BenchArgs.parse(args);
+        int[] clients = a.intList("clients", "1000,5000,10000");
+        int seconds = a.intValue("seconds", 20);
+        int warmup = a.intValue("warmup", 5);
+        int blueprints = a.intValue("blueprints", 50);
+        int points = a.intValue("points", 200);
+
+        List<String> rows = new ArrayList<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            String mode = virtual ? "virtual" : "platform";
+            try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(BlueprintsApiApplication.class)
+                    .properties("server.port=0", "spring.threads.virtual.enabled=" + virtual,
+                                "logging.level.root=WARN", "blueprints.rate-limit.enabled=false",
+                                "blueprints.concurrency.adaptive.enabled=false")
+                    .run()) {
+                String base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port");
+                BenchClient client = new BenchClient(base);
+                client.login("student", a.value("password", "student123"));
+                List<String> paths = client.seed("bench", blueprints, points);
+                for (int n : clients) {
+                    run(client, paths, n, warmup);
+                    LatencyStats s = run(client, paths, n, seconds);
+                    rows.add(String.format("%-9s %7d %10.0f %9.2f %9.2f %9.2f %9.2f %7.3f%%",
+                        mode, n, s.throughput(), s.p50Millis(), s.p99Millis(), s.p999Millis(), s.maxMillis(),
+                        s.errorRate() * 100));
+                }
+            }
+        }
+        System.out.println();
+        System.out.printf("%-9s %7s %10s %9s %9s %9s %9s %8s%n",
+            "mode", "clients", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        rows.forEach(System.out::println);
+    }
+
+    /**
+     * Lazo cerrado: cada cliente (un hilo virtual) repite GET sobre planos aleatorios hasta el plazo.
+     */
+    static LatencyStats run(BenchClient client, List<String> paths, int clients, int seconds) throws InterruptedException {
+        List<LatencyStats.Recorder> recorders = new ArrayList<>(clients);
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                LatencyStats.Recorder r = new LatencyStats.Recorder();
+                recorders.add(r);
+                pool.execute(() -> {
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        String path = paths.get(rnd.nextInt(paths.size()));
+                        long t0 = System.nanoTime();
+                        int status = client.get(path);
+                        if (status >= 200 && status < 300) r.record(System.nanoTime() - t0);
+                        else r.error();
+                    }
+                });
+            }
+        }
+        return LatencyStats.Recorder.merge(recorders, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Cliente HTTP mínimo para los benchmarks: login, siembra y peticiones autenticadas.
+     */
+    static final class BenchClient {
+        private final String base;
+        private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        private String token;
+
+        BenchClient(String base) { this.base = base; }
+
+        void login(String user, String password) throws Exception {
+            String body = "{\"username\":\"%s\",\"password\":\"%s\"}".formatted(user, password);
+            HttpResponse<String> res = http.send(HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+            if (res.statusCode() != 200) throw new IllegalStateException("login failed: " + res.statusCode());
+            String json = res.body();
+            int i = json.indexOf("\"access_token\":\"") + 16;
+            token = json.substring(i, json.indexOf('"', i));
+        }
+
+        List<String> seed(String author, int blueprints, int points) throws Exception {
+            List<String> paths = new ArrayList<>();
+            for (int b = 0; b < blueprints; b++) {
+                StringBuilder pts = new StringBuilder();
+                for (int p = 0; p < points; p++) {
+                    if (p > 0) pts.append(',');
+                    pts.append("{\"x\":").append(p).append(",\"y\":").append(p * 2).append('}');
+                }
+                String name = "bp" + b;
+                String body = "{\"author\":\"%s\",\"name\":\"%s\",\"points\":[%s]}".formatted(author, name, pts);
+                HttpResponse<Void> res = http.send(request("/api/v1/blueprints")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.discarding());
+                if (res.statusCode() != 201 && res.statusCode() != 400) {
+                    throw new IllegalStateException("seed failed: " + res.statusCode());
+                }
+                paths.add("/api/v1/blueprints/" + author + "/" + name);
+            }
+            return paths;
+        }
+
+        int get(String path) {
+            return send(request(path).GET().build());
+        }
+
+        /** Envía la petición descartando el cuerpo; retorna el estado HTTP o -1 si falló la conexión. */
+        int send(HttpRequest request) {
+            try {
+                return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception e) {
+                return -1;
+            }
+        }
+
+        HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(base + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package co.edu.eci.blueprints.config;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+    private static final long MS = 1_000_000L;
+
+    private static void load(AdaptiveConcurrencyLimit limit, int requests, long rttNanos) {
+        for (int i = 0; i < requests; i++) {
+            int n = limit.limit();
+            for (int j = 0; j < n; j++) assertTrue(limit.tryAcquire());
+            for (int j = 0; j < n; j++) limit.release(rttNanos, false);
+        }
+    }
+
+    @Test
+    void rejectsBeyondTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 2.0);
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.inFlight());
+        limit.release();
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void growsWhileLatencyHoldsAndShrinksWhenItRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 100, 2.0);
+        load(limit, 20, 10 * MS);
+        int grown = limit.limit();
+        assertTrue(grown > 10, "limit " + grown);
+
+        // Las peticiones empiezan a hacer cola: la latencia se multiplica por 10
+        load(limit, 5, 100 * MS);
+        assertTrue(limit.limit() < grown / 2, "limit " + limit.limit() + " after " + grown);
+    }
+
+    @Test
+    void failuresCutTheLimitDownToTheMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100, 2.0);
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(10 * MS, true);
+        }
+        assertEquals(4, limit.limit());
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    void anIdleNodeDoesNotRaiseItsLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 100, 2.0);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(10 * MS, false);
+        }
+        assertEquals(10, limit.limit());
+    }
+}
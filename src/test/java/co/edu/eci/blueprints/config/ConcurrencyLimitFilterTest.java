@@ -0,0 +1,27 @@
+package co.edu.eci.blueprints.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import java.time.Duration;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+    @Test
+    void requestsBeyondTheLimitAreRejectedWith503() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ZERO);
+        MockHttpServletResponse inner = new MockHttpServletResponse();
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+
+        // Mientras la primera petición ocupa el único permiso, llega una segunda
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/blueprints"), outer, (req, res) -> {
+            assertEquals(1, filter.inFlight());
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/blueprints"), inner, (r2, s2) -> fail("should be rejected"));
+        });
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, inner.getStatus());
+        assertEquals("1", inner.getHeader("Retry-After"));
+        assertEquals(0, filter.inFlight());
+    }
+}
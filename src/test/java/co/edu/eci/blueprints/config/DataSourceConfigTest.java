@@ -0,0 +1,44 @@
+package co.edu.eci.blueprints.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourceConfigTest {
+    @Test
+    void h2FallbackIsAConfiguredAndInstrumentedPool() throws Exception {
+        MockEnvironment env = new MockEnvironment()
+            .withProperty("spring.datasource.hikari.maximum-pool-size", "3")
+            .withProperty("spring.datasource.hikari.minimum-idle", "1")
+            .withProperty("spring.datasource.hikari.leak-detection-threshold", "10000")
+            .withProperty("spring.datasource.hikari.data-source-properties.prepareThreshold", "5");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> provider = new StaticListableBeanFactory(Map.of("registry", registry))
+            .getBeanProvider(MeterRegistry.class);
+
+        DataSource ds = new DataSourceConfig().dataSource(env, provider);
+        try (HikariDataSource hikari = assertInstanceOf(HikariDataSource.class, ds)) {
+            assertEquals("blueprints-h2", hikari.getPoolName());
+            assertEquals(3, hikari.getMaximumPoolSize());
+            assertEquals(1, hikari.getMinimumIdle());
+            assertEquals(10000, hikari.getLeakDetectionThreshold());
+            // Las propiedades del driver de Postgres no se pasan a H2
+            assertTrue(hikari.getDataSourceProperties().isEmpty());
+
+            try (Connection c = hikari.getConnection()) {
+                assertEquals(1.0, registry.get("hikaricp.connections.active").tag("pool", "blueprints-h2").gauge().value());
+            }
+            assertEquals(1, registry.get("hikaricp.connections.acquire").tag("pool", "blueprints-h2").timer().count());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package co.edu.eci.blueprints.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private ReadReplicaRoutingDataSource router;
+
+    @BeforeEach
+    void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", null, "ROLE_USER"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        if (router != null) router.close();
+    }
+
+    // Cada base H2 tiene una fila con su nombre, así se sabe a cuál llegó la consulta
+    private static DataSource database(String name) {
+        DriverManagerDataSource ds = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("create table if not exists marker(name varchar(20))");
+        jdbc.execute("delete from marker");
+        jdbc.update("insert into marker values (?)", name);
+        return ds;
+    }
+
+    private static String query(DataSource ds, boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(ds));
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(ds).queryForObject("select name from marker", String.class));
+    }
+
+    @Test
+    void readOnlyTransactionsAreSpreadOverReplicasAndWritesGoToPrimary() {
+        router = new ReadReplicaRoutingDataSource(database("primary"),
+            List.of(database("r1"), database("r2")), Duration.ZERO, Duration.ZERO);
+        DataSource ds = router.lazyProxy();
+
+        assertEquals("r1", query(ds, true));
+        assertEquals("r2", query(ds, true));
+        assertEquals("primary", query(ds, false));
+        // Fuera de una transacción no se sabe si se va a escribir
+        assertEquals("primary", new JdbcTemplate(ds).queryForObject("select name from marker", String.class));
+    }
+
+    @Test
+    void readsStayOnPrimaryForTheWriterAfterACommit() {
+        router = new ReadReplicaRoutingDataSource(database("primary"),
+            List.of(database("r1")), Duration.ofMinutes(1), Duration.ZERO);
+        DataSource ds = router.lazyProxy();
+
+        assertEquals("r1", query(ds, true));
+        assertEquals("primary", query(ds, false));
+        assertEquals("primary", query(ds, true));
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("bob", null, "ROLE_USER"));
+        assertEquals("r1", query(ds, true));
+    }
+
+    @Test
+    void unavailableReplicaIsSkippedUntilItRecovers() {
+        DataSource healthy = database("r1");
+        FlakyDataSource flaky = new FlakyDataSource(healthy);
+        router = new ReadReplicaRoutingDataSource(database("primary"), List.of(flaky), Duration.ZERO, Duration.ZERO);
+        DataSource ds = router.lazyProxy();
+
+        flaky.down = true;
+        assertEquals("primary", query(ds, true));
+        assertEquals(0, router.healthyReplicas());
+
+        flaky.down = false;
+        router.checkReplicas();
+        assertEquals(1, router.healthyReplicas());
+        assertEquals("r1", query(ds, true));
+    }
+
+    private static final class FlakyDataSource extends AbstractDataSource {
+        private final DataSource target;
+        volatile boolean down;
+
+        FlakyDataSource(DataSource target) { this.target = target; }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) throw new SQLException("replica down");
+            return target.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
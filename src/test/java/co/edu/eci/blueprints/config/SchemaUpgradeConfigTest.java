@@ -0,0 +1,24 @@
+package co.edu.eci.blueprints.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaUpgradeConfigTest {
+    @Test
+    void upgradeScriptOnlyRunsOnPostgres() {
+        DataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new JdbcTemplate(h2).execute("create table blueprint_points (blueprint_id bigint not null, x integer, y integer)");
+
+        // El script es un bloque DO de Postgres: en H2 no se ejecuta ni toca las tablas
+        assertFalse(new SchemaUpgradeConfig().postgresSchemaUpgrade(h2).initializeDatabase());
+        assertEquals(0, new JdbcTemplate(h2).queryForObject(
+            "select count(*) from information_schema.columns where lower(table_name) = 'blueprint_points' and lower(column_name) = 'point_index'",
+            Integer.class));
+    }
+}
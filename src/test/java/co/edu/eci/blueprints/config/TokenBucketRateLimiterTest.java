@@ -0,0 +1,39 @@
+package co.edu.eci.blueprints.config;
+
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void allowsTheBurstThenRefillsAtTheRate() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, 100, now::get);
+        for (int i = 0; i < 3; i++) assertEquals(Duration.ZERO, limiter.tryAcquire("alice"));
+        assertEquals(Duration.ofMillis(100), limiter.tryAcquire("alice"));
+
+        // Otro usuario tiene su propio bucket
+        assertEquals(Duration.ZERO, limiter.tryAcquire("bob"));
+
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        assertEquals(Duration.ZERO, limiter.tryAcquire("alice"));
+        assertFalse(limiter.tryAcquire("alice").isZero());
+    }
+
+    @Test
+    void idleKeysAreDroppedFirstWhenTheMapIsFull() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 2, 2, now::get);
+        limiter.tryAcquire("idle");
+        limiter.tryAcquire("busy");
+        limiter.tryAcquire("busy");
+        now.addAndGet(Duration.ofMillis(1500).toNanos());
+
+        // "idle" ya está lleno y se descarta; "busy" conserva su estado
+        limiter.tryAcquire("new");
+        assertEquals(2, limiter.keys());
+        assertEquals(Duration.ZERO, limiter.tryAcquire("busy"));
+        assertFalse(limiter.tryAcquire("busy").isZero());
+    }
+}
@@ -0,0 +1,16 @@
+package co.edu.eci.blueprints.controllers;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlueprintResponseCacheTest {
+    @Test
+    void picksGzipThenDeflateAndHonoursZeroQuality() {
+        assertEquals("identity", BlueprintResponseCache.preferredEncoding(null));
+        assertEquals("identity", BlueprintResponseCache.preferredEncoding("br"));
+        assertEquals("gzip", BlueprintResponseCache.preferredEncoding("deflate, gzip"));
+        assertEquals("gzip", BlueprintResponseCache.preferredEncoding("*"));
+        assertEquals("deflate", BlueprintResponseCache.preferredEncoding("GZIP;q=0, deflate;q=0.5"));
+        assertEquals("identity", BlueprintResponseCache.preferredEncoding("gzip;q=0.0, deflate;q=0"));
+    }
+}
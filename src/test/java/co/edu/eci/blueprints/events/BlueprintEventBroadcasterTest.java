@@ -0,0 +1,78 @@
+package co.edu.eci.blueprints.events;
+
+import co.edu.eci.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlueprintEventBroadcasterTest {
+
+    /** Emisor que guarda los eventos enviados en lugar de escribirlos en una respuesta. */
+    static class RecordingEmitter extends SseEmitter {
+        final List<Object> sent = new ArrayList<>();
+        boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build().stream()
+                .filter(d -> d.getData() instanceof BlueprintEvent)
+                .forEach(d -> sent.add(d.getData()));
+        }
+
+        @Override
+        public void complete() { completed = true; }
+    }
+
+    @Test
+    void eventsAreDeliveredOnlyToSubscribersOfTheBlueprint() {
+        BlueprintEventBroadcaster broadcaster = new BlueprintEventBroadcaster(Runnable::run, 8, Duration.ofMinutes(1));
+        RecordingEmitter mine = new RecordingEmitter();
+        RecordingEmitter other = new RecordingEmitter();
+        broadcaster.register("author", "bp1", mine);
+        broadcaster.register("author", "bp2", other);
+
+        BlueprintEvent added = BlueprintEvent.pointAdded(7L, "author", "bp1", 2, new Point(1,1));
+        broadcaster.onEvent(added);
+
+        assertEquals(List.of(added), mine.sent);
+        assertEquals(7L, ((BlueprintEvent) mine.sent.get(0)).id());
+        assertTrue(other.sent.isEmpty());
+    }
+
+    @Test
+    void slowSubscriberGetsSingleResyncInsteadOfOverflow() {
+        Queue<Runnable> pending = new ArrayDeque<>();
+        BlueprintEventBroadcaster broadcaster = new BlueprintEventBroadcaster(pending::add, 4, Duration.ofMinutes(1));
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register("author", "bp1", emitter);
+
+        // A mitad de la ráfaga el blueprint se borra y se vuelve a crear con otro id
+        for (int i = 0; i < 20; i++) {
+            broadcaster.onEvent(BlueprintEvent.pointAdded(i < 10 ? 7L : 8L, "author", "bp1", i + 2, new Point(i, i)));
+        }
+        assertEquals(1, pending.size(), "solo debe existir una tarea de envío por suscriptor");
+        pending.poll().run();
+
+        assertEquals(1, emitter.sent.size());
+        BlueprintEvent resync = (BlueprintEvent) emitter.sent.get(0);
+        assertEquals(BlueprintEvent.Type.RESYNC, resync.type());
+        assertEquals(8L, resync.id(), "el RESYNC debe llevar el id del último evento descartado");
+    }
+
+    @Test
+    void deleteCompletesTheSubscription() {
+        BlueprintEventBroadcaster broadcaster = new BlueprintEventBroadcaster(Runnable::run, 8, Duration.ofMinutes(1));
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register("author", "bp1", emitter);
+
+        broadcaster.onEvent(BlueprintEvent.deleted(7L, "author", "bp1"));
+
+        assertEquals(7L, ((BlueprintEvent) emitter.sent.get(0)).id());
+        assertTrue(emitter.completed);
+    }
+}
@@ -0,0 +1,70 @@
+package co.edu.eci.blueprints.persistence;
+
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintKey;
+import co.edu.eci.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BlueprintRepositoryTest {
+    @Autowired
+    private BlueprintRepository repo;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void findPointRangeShouldReturnOrderedSlice() {
+        Blueprint bp = repo.saveAndFlush(new Blueprint("author", "slice",
+            List.of(new Point(0,0), new Point(1,1), new Point(2,2), new Point(3,3), new Point(4,4))));
+        Long id = repo.findIdByAuthorAndName("author", "slice").orElseThrow();
+        assertEquals(bp.getId(), id);
+        assertEquals(List.of(new Point(1,1), new Point(2,2)), repo.findPointRange(id, 1, 3));
+        assertEquals(List.of(new Point(4,4)), repo.findPointRange(id, 4, 100));
+        assertEquals(List.of(), repo.findPointRange(id, 5, 10));
+    }
+
+    @Test
+    void findVersionShouldTrackAppendsAndReplacements() {
+        Blueprint bp = repo.saveAndFlush(new Blueprint("author", "versioned", List.of(new Point(0,0))));
+        bp.addPoint(new Point(1,1));
+        bp.addPoint(new Point(2,2));
+        repo.saveAndFlush(bp);
+        BlueprintVersion v = repo.findVersion("author", "versioned").orElseThrow();
+        assertEquals(3, v.version());
+        assertEquals(1, v.pointsResetVersion());
+        assertEquals(3, v.pointCount());
+
+        Blueprint locked = repo.findForUpdate("author", "versioned");
+        locked.replacePoints(List.of(new Point(5,5)));
+        repo.saveAndFlush(locked);
+        v = repo.findVersion("author", "versioned").orElseThrow();
+        assertEquals(4, v.version());
+        assertEquals(4, v.pointsResetVersion());
+        assertEquals(1, v.pointCount());
+
+        // Fila anterior a las estadísticas guardadas: la versión no trae el tamaño y se cuenta aparte
+        jdbc.update("update blueprint set point_count = null where id = ?", bp.getId());
+        assertEquals(-1, repo.findVersion("author", "versioned").orElseThrow().pointCount());
+        assertEquals(1, repo.countPoints(bp.getId()));
+    }
+
+    @Test
+    void findWithPointsShouldLoadExactlyTheRequestedKeysWithPoints() {
+        repo.saveAndFlush(new Blueprint("multi", "a", List.of(new Point(1,1), new Point(2,2))));
+        repo.saveAndFlush(new Blueprint("multi", "b", List.of(new Point(3,3))));
+        repo.saveAndFlush(new Blueprint("other", "a", List.of()));
+        repo.saveAndFlush(new Blueprint("other", "b", List.of()));
+        // (multi, b) y (other, a) están en el producto cruzado de autores y nombres, pero no se piden
+        List<Blueprint> found = repo.findWithPointsByKeyIn(
+            List.of(new BlueprintKey("multi", "a"), new BlueprintKey("other", "b")));
+        assertEquals(2, found.size());
+        assertTrue(found.stream().anyMatch(bp -> bp.getAuthor().equals("other") && bp.getName().equals("b")));
+        Blueprint a = found.stream().filter(bp -> bp.getName().equals("a")).findFirst().orElseThrow();
+        assertEquals(List.of(new Point(1,1), new Point(2,2)), a.getPoints());
+    }
+}
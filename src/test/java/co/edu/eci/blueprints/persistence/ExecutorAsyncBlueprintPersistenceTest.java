@@ -0,0 +1,96 @@
+package co.edu.eci.blueprints.persistence;
+
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintKey;
+import co.edu.eci.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorAsyncBlueprintPersistenceTest {
+
+    private static final int BLUEPRINTS = 250;
+
+    /** Persistencia simulada con un catálogo ordenado; cuenta las páginas leídas. */
+    private static BlueprintPersistence catalog(AtomicInteger pagesRead) {
+        List<Blueprint> all = new ArrayList<>();
+        for (int i = 0; i < BLUEPRINTS; i++) all.add(new Blueprint("author", "bp%03d".formatted(i), List.of(new Point(i, i))));
+        BlueprintPersistence persistence = Mockito.mock(BlueprintPersistence.class);
+        Mockito.when(persistence.getBlueprintsPage(Mockito.any(), Mockito.anyInt())).thenAnswer(call -> {
+            pagesRead.incrementAndGet();
+            BlueprintKey after = call.getArgument(0);
+            int limit = call.getArgument(1);
+            return all.stream().filter(bp -> after == null || bp.getName().compareTo(after.name()) > 0).limit(limit).toList();
+        });
+        return persistence;
+    }
+
+    /** Suscriptor que pide de a uno y se demora en cada blueprint, como un cliente lento. */
+    private static CompletableFuture<List<String>> consume(Flow.Publisher<Blueprint> publisher, int take) {
+        CompletableFuture<List<String>> done = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private final List<String> names = Collections.synchronizedList(new ArrayList<>());
+            private Flow.Subscription subscription;
+            @Override public void onSubscribe(Flow.Subscription s) { subscription = s; s.request(1); }
+            @Override public void onNext(Blueprint bp) {
+                names.add(bp.getName());
+                if (names.size() == take) {
+                    subscription.cancel();
+                    done.complete(names);
+                    return;
+                }
+                if (names.size() % 50 == 0) {
+                    try { Thread.sleep(5); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+                }
+                subscription.request(1);
+            }
+            @Override public void onError(Throwable t) { done.completeExceptionally(t); }
+            @Override public void onComplete() { done.complete(names); }
+        });
+        return done;
+    }
+
+    @Test
+    void manyConcurrentStreamsOnASmallPoolCompleteWithoutDeadlock() throws Exception {
+        AtomicInteger pagesRead = new AtomicInteger();
+        // Un solo hilo de base de datos y cola corta: con la publicación anterior esto se bloqueaba
+        ThreadPoolExecutor db = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(32));
+        ExecutorAsyncBlueprintPersistence async = new ExecutorAsyncBlueprintPersistence(catalog(pagesRead), db, 40);
+
+        List<CompletableFuture<List<String>>> streams = new ArrayList<>();
+        for (int i = 0; i < 20; i++) streams.add(consume(async.publishAllBlueprints(), Integer.MAX_VALUE));
+        for (CompletableFuture<List<String>> stream : streams) {
+            List<String> names = stream.get(10, TimeUnit.SECONDS);
+            assertEquals(BLUEPRINTS, names.size());
+            assertEquals("bp000", names.get(0));
+            assertEquals("bp249", names.get(BLUEPRINTS - 1));
+        }
+        // 7 páginas por flujo: 6 con datos y la última, parcial, que indica el fin
+        assertEquals(20 * 7, pagesRead.get());
+        async.shutdown();
+    }
+
+    @Test
+    void pagesAreReadOnlyAsTheSubscriberAsksForMore() throws Exception {
+        AtomicInteger pagesRead = new AtomicInteger();
+        ThreadPoolExecutor db = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(4));
+        ExecutorAsyncBlueprintPersistence async = new ExecutorAsyncBlueprintPersistence(catalog(pagesRead), db, 40);
+
+        List<String> names = consume(async.publishAllBlueprints(), 45).get(10, TimeUnit.SECONDS);
+
+        assertEquals(45, names.size());
+        assertEquals(2, pagesRead.get());
+        async.shutdown();
+    }
+}
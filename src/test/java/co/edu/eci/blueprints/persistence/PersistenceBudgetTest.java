@@ -0,0 +1,169 @@
+package co.edu.eci.blueprints.persistence;
+
+import co.edu.eci.blueprints.BlueprintsApiApplication;
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintKey;
+import co.edu.eci.blueprints.model.Point;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Presupuesto de sentencias SQL y de bytes asignados por operación de {@link BlueprintPersistence}
+ * (implementación JPA), para que el build falle si un camino caliente se encarece: una consulta
+ * N+1, una colección reescrita completa o una lectura que deja de ser por rango.
+ * <p>
+ * Los bytes son los asignados por el hilo de la prueba, que incluye el trabajo de H2 embebido;
+ * se toma el mínimo de varias corridas para descontar la primera compilación de consultas.
+ * Los presupuestos dejan margen (~2x) sobre lo medido con planos de {@value #POINTS} puntos.
+ */
+@SpringBootTest(classes = BlueprintsApiApplication.class,
+    properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=co.edu.eci.blueprints.persistence.SqlRecorder")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PersistenceBudgetTest {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final int POINTS = 1000;
+    private static final int BLUEPRINTS = 10;
+    private static final long KB = 1024;
+    private static final long MB = 1024 * KB;
+
+    @Autowired
+    private BlueprintPersistence persistence;
+
+    private record Cost(List<String> statements, long bytes) {
+        long count(String prefix) {
+            return statements.stream().filter(sql -> sql.startsWith(prefix)).count();
+        }
+
+        long touching(String table) {
+            return statements.stream().filter(sql -> sql.contains(table)).count();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(int attempt) throws Exception;
+    }
+
+    private static List<Point> points(int n, int shift) {
+        List<Point> pts = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) pts.add(new Point(i + shift, i));
+        return pts;
+    }
+
+    private static Cost measure(Operation op) throws Exception {
+        long bytes = Long.MAX_VALUE;
+        List<String> statements = List.of();
+        for (int attempt = 0; attempt < 5; attempt++) {
+            SqlRecorder.start();
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            try {
+                op.run(attempt);
+            } finally {
+                bytes = Math.min(bytes, THREADS.getCurrentThreadAllocatedBytes() - before);
+                statements = SqlRecorder.stop();
+            }
+        }
+        return new Cost(statements, bytes);
+    }
+
+    private static void assertBudget(Cost cost, int maxStatements, long maxBytes) {
+        assertTrue(cost.statements().size() <= maxStatements,
+            "expected at most " + maxStatements + " statements, got " + cost.statements().size() + ": " + cost.statements());
+        assertTrue(cost.bytes() <= maxBytes,
+            "expected at most " + maxBytes / KB + " KB allocated, got " + cost.bytes() / KB + " KB: " + cost.statements());
+    }
+
+    @BeforeAll
+    void seed() throws Exception {
+        for (int i = 0; i < BLUEPRINTS; i++) persistence.saveBlueprint(new Blueprint("budget", "bp" + i, points(POINTS, 0)));
+    }
+
+    @Test
+    void saveBlueprintChecksOnceAndInsertsPointsInBatches() throws Exception {
+        Cost cost = measure(i -> persistence.saveBlueprint(new Blueprint("budget-save", "bp" + i, points(POINTS, 0))));
+        assertEquals(1, cost.count("insert into blueprint_points"));
+        assertBudget(cost, 3, 20 * MB);
+    }
+
+    @Test
+    void readsLoadPointsInTheSameQuery() throws Exception {
+        assertBudget(measure(i -> persistence.getBlueprint("budget", "bp0")), 1, 2 * MB);
+        assertBudget(measure(i -> persistence.getBlueprints(List.of(
+            new BlueprintKey("budget", "bp1"), new BlueprintKey("budget", "bp2"), new BlueprintKey("budget", "none")))), 1, 4 * MB);
+        // El máximo de POST /lookup (500 claves) sigue siendo una sola consulta
+        List<BlueprintKey> lookup = new java.util.ArrayList<>(List.of(new BlueprintKey("budget", "bp1"), new BlueprintKey("budget", "bp2")));
+        for (int i = 0; i < 498; i++) lookup.add(new BlueprintKey("budget", "none" + i));
+        assertBudget(measure(i -> persistence.getBlueprints(lookup)), 1, 8 * MB);
+        // Una sola consulta sin importar cuántos planos tenga el autor (sin N+1)
+        assertBudget(measure(i -> persistence.getBlueprintsByAuthor("budget")), 1, 20 * MB);
+    }
+
+    @Test
+    void getAllBlueprintsCostsAtMostOneQueryAndScalesWithStoredPoints() throws Exception {
+        long stored = persistence.getAllBlueprints().stream().mapToLong(bp -> bp.getPoints().size()).sum();
+        assertBudget(measure(i -> persistence.getAllBlueprints()), 1, 1 * MB + 2000 * stored);
+    }
+
+    @Test
+    void catalogPagesCostTwoQueriesAndOnlyThePageSize() throws Exception {
+        // bp1, bp2 y bp3 del autor sembrado: el costo no depende del resto del catálogo
+        List<Blueprint> page = persistence.getBlueprintsPage(new BlueprintKey("budget", "bp0"), 3);
+        assertEquals(List.of("bp1", "bp2", "bp3"), page.stream().map(Blueprint::getName).toList());
+        assertBudget(measure(i -> persistence.getBlueprintsPage(new BlueprintKey("budget", "bp0"), 3)), 2, 6 * MB);
+    }
+
+    @Test
+    void rangeReadsDoNotDependOnBlueprintSize() throws Exception {
+        assertBudget(measure(i -> persistence.getPoints("budget", "bp3", 100, 50)), 2, 160 * KB);
+        long id = persistence.getVersion("budget", "bp4").id();
+        assertBudget(measure(i -> persistence.getChanges("budget", "bp4", id, 1)), 1, 64 * KB);
+        // La caché de respuestas la consulta en cada acierto: solo la fila, sin contar los puntos
+        Cost version = measure(i -> persistence.getVersion("budget", "bp4"));
+        assertEquals(0, version.touching("blueprint_points"), version.statements().toString());
+        assertBudget(version, 1, 64 * KB);
+    }
+
+    @Test
+    void statsAreReadFromTheBlueprintRowOnly() throws Exception {
+        Cost cost = measure(i -> persistence.getStats("budget", "bp4"));
+        assertEquals(0, cost.touching("blueprint_points"), cost.statements().toString());
+        assertBudget(cost, 1, 64 * KB);
+    }
+
+    @Test
+    void addPointInsertsOneRowWithoutReadingTheCollection() throws Exception {
+        Cost cost = measure(i -> persistence.addPoint("budget", "bp5", i, i));
+        assertEquals(0, cost.count("delete"), cost.statements().toString());
+        assertEquals(1, cost.count("insert into blueprint_points"));
+        // Bloqueo de la fila, inserción del punto y actualización de versión y estadísticas
+        assertEquals(1, cost.touching("blueprint_points"), cost.statements().toString());
+        assertBudget(cost, 3, 256 * KB);
+    }
+
+    @Test
+    void updateRewritesPointsInPlace() throws Exception {
+        Cost cost = measure(i -> persistence.updateBlueprint("budget", "bp6",
+            new Blueprint("budget", "bp6", points(POINTS, i + 1))));
+        assertEquals(0, cost.count("delete"), cost.statements().toString());
+        assertBudget(cost, 4, 28 * MB);
+    }
+
+    @Test
+    void deleteRemovesPointsWithOneStatement() throws Exception {
+        for (int i = 0; i < 5; i++) persistence.saveBlueprint(new Blueprint("budget-delete", "bp" + i, points(POINTS, 0)));
+        Cost cost = measure(i -> persistence.deleteBlueprint("budget-delete", "bp" + i));
+        assertEquals(1, cost.count("delete from blueprint_points"));
+        assertBudget(cost, 3, 14 * MB);
+    }
+}
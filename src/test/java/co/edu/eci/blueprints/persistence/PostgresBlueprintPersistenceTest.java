@@ -31,4 +31,126 @@ class PostgresBlueprintPersistenceTest {
         Set<Blueprint> result = persistence.getBlueprintsByAuthor("author");
         assertEquals(set, result);
     }
+
+    @Test
+    void getPointsShouldQueryOnlyTheRequestedRange() throws Exception {
+        BlueprintRepository repo = Mockito.mock(BlueprintRepository.class);
+        PostgresBlueprintPersistence persistence = new PostgresBlueprintPersistence(repo);
+        Mockito.when(repo.findIdByAuthorAndName("author", "bp1")).thenReturn(java.util.Optional.of(7L));
+        Mockito.when(repo.findPointRange(7L, 10, 15)).thenReturn(java.util.List.of(new Point(10,10)));
+        assertEquals(java.util.List.of(new Point(10,10)), persistence.getPoints("author", "bp1", 10, 5));
+        Mockito.verify(repo, Mockito.never()).findByAuthorAndName("author", "bp1");
+    }
+
+    @Test
+    void getPointsShouldFailForMissingBlueprint() {
+        BlueprintRepository repo = Mockito.mock(BlueprintRepository.class);
+        PostgresBlueprintPersistence persistence = new PostgresBlueprintPersistence(repo);
+        Mockito.when(repo.findIdByAuthorAndName("author", "none")).thenReturn(java.util.Optional.empty());
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getPoints("author", "none", 0, 10));
+    }
+
+    @Test
+    void getChangesShouldReturnOnlyAppendedPoints() throws Exception {
+        BlueprintRepository repo = Mockito.mock(BlueprintRepository.class);
+        PostgresBlueprintPersistence persistence = new PostgresBlueprintPersistence(repo);
+        // 10 puntos, versión 5, lista reescrita en la versión 2 -> versiones 3..5 agregaron los puntos 7..9
+        Mockito.when(repo.findVersion("author", "bp1")).thenReturn(java.util.Optional.of(new BlueprintVersion(7L, 5, 2, 10)));
+        Mockito.when(repo.findPointRange(7L, 8, 10)).thenReturn(java.util.List.of(new Point(8,8), new Point(9,9)));
+        co.edu.eci.blueprints.model.BlueprintChanges changes = persistence.getChanges("author", "bp1", 7L, 3);
+        assertFalse(changes.fullReplace());
+        assertEquals(5, changes.version());
+        assertEquals(8, changes.fromIndex());
+        assertEquals(java.util.List.of(new Point(8,8), new Point(9,9)), changes.points());
+    }
+
+    @Test
+    void getChangesShouldReturnFullListWhenReplacedAfterVersion() throws Exception {
+        BlueprintRepository repo = Mockito.mock(BlueprintRepository.class);
+        PostgresBlueprintPersistence persistence = new PostgresBlueprintPersistence(repo);
+        Mockito.when(repo.findVersion("author", "bp1")).thenReturn(java.util.Optional.of(new BlueprintVersion(7L, 5, 4, 2)));
+        Mockito.when(repo.findPointRange(7L, 0, 2)).thenReturn(java.util.List.of(new Point(1,1), new Point(2,2)));
+        co.edu.eci.blueprints.model.BlueprintChanges changes = persistence.getChanges("author", "bp1", 7L, 3);
+        assertTrue(changes.fullReplace());
+        assertEquals(java.util.List.of(new Point(1,1), new Point(2,2)), changes.points());
+    }
+
+    @Test
+    void addPointShouldInsertAfterTheStoredCountWithoutLoadingPoints() throws Exception {
+        BlueprintRepository repo = Mockito.mock(BlueprintRepository.class);
+        PostgresBlueprintPersistence persistence = new PostgresBlueprintPersistence(repo);
+        // Como si JPA la hubiera cargado sin inicializar la colección de puntos
+        Blueprint bp = Mockito.spy(new Blueprint("author", "bp1", java.util.List.of(new Point(0,0), new Point(3,4))));
+        Mockito.doReturn(false).when(bp).isPointsLoaded();
+        bp.setId(7L);
+        Mockito.when(repo.findForUpdate("author", "bp1")).thenReturn(bp);
+        assertEquals(2, persistence.addPoint("author", "bp1", 3, 0).version());
+        Mockito.verify(repo).insertPoint(7L, 2, 3, 0);
+        // La colección de la entidad no se toca: el punto solo se inserta en la tabla
+        assertEquals(2, bp.getPoints().size());
+        assertEquals(3, bp.getStats().getPointCount());
+        assertEquals(9.0, bp.getStats().getPathLength(), 1e-9);
+    }
+
+    @Test
+    void addPointShouldGoThroughTheCollectionWhenItIsLoaded() throws Exception {
+        BlueprintRepository repo = Mockito.mock(BlueprintRepository.class);
+        PostgresBlueprintPersistence persistence = new PostgresBlueprintPersistence(repo);
+        Blueprint bp = new Blueprint("author", "bp1", java.util.List.of(new Point(0,0)));
+        bp.setId(7L);
+        Mockito.when(repo.findForUpdate("author", "bp1")).thenReturn(bp);
+        assertEquals(2, persistence.addPoint("author", "bp1", 1, 1).version());
+        Mockito.verify(repo, Mockito.never()).insertPoint(Mockito.any(), Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt());
+        assertEquals(java.util.List.of(new Point(0,0), new Point(1,1)), bp.getPoints());
+        assertEquals(2, bp.getStats().getPointCount());
+    }
+
+    @Test
+    void getStatsShouldNotLoadPoints() throws Exception {
+        BlueprintRepository repo = Mockito.mock(BlueprintRepository.class);
+        PostgresBlueprintPersistence persistence = new PostgresBlueprintPersistence(repo);
+        Blueprint bp = new Blueprint("author", "bp1", java.util.List.of(new Point(1,1), new Point(3,5)));
+        Mockito.when(repo.findWithoutPoints("author", "bp1")).thenReturn(java.util.Optional.of(bp));
+        co.edu.eci.blueprints.model.BlueprintStats stats = persistence.getStats("author", "bp1");
+        assertEquals(2, stats.pointCount());
+        assertEquals(2.0, stats.centroidX(), 1e-9);
+        assertEquals(3.0, stats.centroidY(), 1e-9);
+        Mockito.when(repo.findWithoutPoints("author", "none")).thenReturn(java.util.Optional.empty());
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getStats("author", "none"));
+        Mockito.verify(repo, Mockito.never()).findByAuthorAndName("author", "bp1");
+    }
+
+    @Test
+    void getChangesShouldReturnFullListForAnotherBlueprintId() throws Exception {
+        BlueprintRepository repo = Mockito.mock(BlueprintRepository.class);
+        PostgresBlueprintPersistence persistence = new PostgresBlueprintPersistence(repo);
+        // Mismo autor y nombre, pero el cliente conoce la versión 3 de una fila anterior (id 6)
+        Mockito.when(repo.findVersion("author", "bp1")).thenReturn(java.util.Optional.of(new BlueprintVersion(7L, 5, 1, 4)));
+        Mockito.when(repo.findPointRange(7L, 0, 4)).thenReturn(java.util.List.of(new Point(1,1)));
+        co.edu.eci.blueprints.model.BlueprintChanges changes = persistence.getChanges("author", "bp1", 6L, 3);
+        assertTrue(changes.fullReplace());
+        assertEquals(7L, changes.id());
+        assertEquals(0, changes.fromIndex());
+    }
+
+    @Test
+    void getBlueprintsShouldQueryExactKeysInChunks() {
+        BlueprintRepository repo = Mockito.mock(BlueprintRepository.class);
+        PostgresBlueprintPersistence persistence = new PostgresBlueprintPersistence(repo);
+        Blueprint a1 = new Blueprint("a", "n1", java.util.List.of());
+        Mockito.when(repo.findWithPointsByKeyIn(Mockito.anyCollection()))
+            .thenReturn(java.util.List.of(a1), java.util.List.of());
+        var keys = new java.util.ArrayList<co.edu.eci.blueprints.model.BlueprintKey>();
+        for (int i = 0; i <= PostgresBlueprintPersistence.KEYS_PER_QUERY; i++) {
+            keys.add(new co.edu.eci.blueprints.model.BlueprintKey(i == 0 ? "a" : "c", "n" + (i + 1)));
+        }
+        keys.add(keys.get(0)); // las claves repetidas se consultan una vez
+        var found = persistence.getBlueprints(keys);
+        assertEquals(1, found.size());
+        assertSame(a1, found.get(keys.get(0)));
+        var chunks = org.mockito.ArgumentCaptor.forClass(java.util.Collection.class);
+        Mockito.verify(repo, Mockito.times(2)).findWithPointsByKeyIn(chunks.capture());
+        assertEquals(PostgresBlueprintPersistence.KEYS_PER_QUERY, chunks.getAllValues().get(0).size());
+        assertEquals(1, chunks.getAllValues().get(1).size());
+    }
 }
@@ -0,0 +1,190 @@
+package co.edu.eci.blueprints.persistence;
+
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.BlueprintChanges;
+import co.edu.eci.blueprints.model.BlueprintKey;
+import co.edu.eci.blueprints.model.BlueprintStats;
+import co.edu.eci.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedBlueprintPersistenceTest {
+
+    // Bases H2 independientes por prueba; sobreviven al cerrar la persistencia para poder reabrirlas
+    private static Map<String, DataSource> shards(String... names) {
+        String run = UUID.randomUUID().toString();
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (String name : names) {
+            shards.put(name, new DriverManagerDataSource("jdbc:h2:mem:" + run + "-" + name + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        }
+        return shards;
+    }
+
+    private static int rowsIn(DataSource shard, String author) {
+        return new JdbcTemplate(shard).queryForObject("select count(*) from blueprint where author = ?", Integer.class, author);
+    }
+
+    @Test
+    void authorsLiveInASingleShardAndReadsMergeAllShards() throws Exception {
+        Map<String, DataSource> shards = shards("s0", "s1", "s2");
+        ShardedBlueprintPersistence persistence = new ShardedBlueprintPersistence(shards, 64);
+        for (int a = 0; a < 12; a++) {
+            for (int b = 0; b < 2; b++) {
+                persistence.saveBlueprint(new Blueprint("author" + a, "bp" + b, List.of(new Point(a, b), new Point(b, a))));
+            }
+        }
+        assertThrows(BlueprintPersistenceException.class,
+            () -> persistence.saveBlueprint(new Blueprint("author0", "bp0", List.of())));
+
+        for (int a = 0; a < 12; a++) {
+            String author = "author" + a;
+            String owner = persistence.shardFor(author);
+            shards.forEach((name, ds) -> assertEquals(name.equals(owner) ? 2 : 0, rowsIn(ds, author)));
+            assertEquals(2, persistence.getBlueprintsByAuthor(author).size());
+        }
+        assertEquals(24, persistence.getAllBlueprints().size());
+        assertEquals(List.of(new Point(3, 1), new Point(1, 3)), persistence.getBlueprint("author3", "bp1").getPoints());
+
+        // Recorrido por páginas: cada blueprint una sola vez, aunque las páginas crucen shards
+        List<BlueprintKey> paged = new java.util.ArrayList<>();
+        List<Blueprint> page = persistence.getBlueprintsPage(null, 5);
+        while (true) {
+            page.forEach(bp -> paged.add(BlueprintKey.of(bp)));
+            if (page.size() < 5) break;
+            page = persistence.getBlueprintsPage(paged.get(paged.size() - 1), 5);
+        }
+        assertEquals(24, paged.size());
+        assertEquals(24, new java.util.HashSet<>(paged).size());
+
+        Map<BlueprintKey, Blueprint> found = persistence.getBlueprints(List.of(
+            new BlueprintKey("author1", "bp0"), new BlueprintKey("author7", "bp1"), new BlueprintKey("author7", "none")));
+        assertEquals(2, found.size());
+        persistence.close();
+    }
+
+    @Test
+    void getBlueprintsReadsExactKeysInChunks() throws Exception {
+        ShardedBlueprintPersistence persistence = new ShardedBlueprintPersistence(shards("s0"), 64);
+        persistence.saveBlueprint(new Blueprint("a", "x", List.of(new Point(1, 1))));
+        persistence.saveBlueprint(new Blueprint("a", "y", List.of()));
+        persistence.saveBlueprint(new Blueprint("b", "x", List.of()));
+        persistence.saveBlueprint(new Blueprint("b", "y", List.of(new Point(2, 2))));
+        // (a, y) y (b, x) están en el producto cruzado de autores y nombres pedidos, pero no se piden;
+        // las claves de relleno obligan a más de una consulta
+        List<BlueprintKey> keys = new java.util.ArrayList<>(List.of(new BlueprintKey("a", "x")));
+        for (int i = 0; i < ShardedBlueprintPersistence.KEYS_PER_QUERY; i++) keys.add(new BlueprintKey("c", "none" + i));
+        keys.add(new BlueprintKey("b", "y"));
+        keys.add(new BlueprintKey("a", "x"));
+        Map<BlueprintKey, Blueprint> found = persistence.getBlueprints(keys);
+        assertEquals(java.util.Set.of(new BlueprintKey("a", "x"), new BlueprintKey("b", "y")), found.keySet());
+        assertEquals(List.of(new Point(2, 2)), found.get(new BlueprintKey("b", "y")).getPoints());
+        persistence.close();
+    }
+
+    @Test
+    void addPointKeepsVersionsLikeTheJpaPersistence() throws Exception {
+        ShardedBlueprintPersistence persistence = new ShardedBlueprintPersistence(shards("s0", "s1"), 64);
+        persistence.saveBlueprint(new Blueprint("ana", "casa", List.of(new Point(0, 0))));
+
+        BlueprintRevision added = persistence.addPoint("ana", "casa", 1, 1);
+        assertEquals(2, added.version());
+        assertEquals(3, persistence.addPoint("ana", "casa", 2, 2).version());
+        long id = persistence.getVersion("ana", "casa").id();
+        assertEquals(id, added.id());
+        BlueprintChanges changes = persistence.getChanges("ana", "casa", id, 2);
+        assertFalse(changes.fullReplace());
+        assertEquals(List.of(new Point(2, 2)), changes.points());
+        assertEquals(List.of(new Point(1, 1), new Point(2, 2)), persistence.getPoints("ana", "casa", 1, 10));
+
+        assertEquals(new BlueprintRevision(id, 4),
+            persistence.updateBlueprint("ana", "casa", new Blueprint("ana", "casa", List.of(new Point(9, 9)))));
+        Blueprint updated = persistence.getBlueprint("ana", "casa");
+        assertEquals(4, updated.getVersion());
+        assertTrue(persistence.getChanges("ana", "casa", id, 3).fullReplace());
+
+        // Borrado y vuelto a crear: la versión 1 del cliente es de la fila anterior
+        assertEquals(new BlueprintRevision(id, 4), persistence.deleteBlueprint("ana", "casa"));
+        persistence.saveBlueprint(new Blueprint("ana", "casa", List.of(new Point(7, 7))));
+        assertNotEquals(id, persistence.addPoint("ana", "casa", 8, 8).id());
+        BlueprintChanges recreated = persistence.getChanges("ana", "casa", id, 1);
+        assertTrue(recreated.fullReplace());
+        assertNotEquals(id, recreated.id());
+        assertEquals(List.of(new Point(7, 7), new Point(8, 8)), recreated.points());
+        assertFalse(persistence.getChanges("ana", "casa", recreated.id(), 1).fullReplace());
+
+        persistence.deleteBlueprint("ana", "casa");
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.addPoint("ana", "casa", 1, 1));
+        persistence.close();
+    }
+
+    @Test
+    void statsAreKeptInTheBlueprintRowAndFilledForOlderRows() throws Exception {
+        Map<String, DataSource> shards = shards("s0");
+        ShardedBlueprintPersistence persistence = new ShardedBlueprintPersistence(shards, 64);
+        persistence.saveBlueprint(new Blueprint("ana", "casa", List.of(new Point(0, 0), new Point(3, 4))));
+        persistence.addPoint("ana", "casa", 3, 0);
+
+        BlueprintStats stats = persistence.getStats("ana", "casa");
+        assertEquals(3, stats.pointCount());
+        assertEquals(List.of(0, 3, 0, 4), List.of(stats.minX(), stats.maxX(), stats.minY(), stats.maxY()));
+        assertEquals(9.0, stats.pathLength(), 1e-9);
+        assertEquals(2.0, stats.centroidX(), 1e-9);
+
+        persistence.updateBlueprint("ana", "casa", new Blueprint("ana", "casa", List.of(new Point(5, 5))));
+        assertEquals(1, persistence.getStats("ana", "casa").pointCount());
+        assertEquals(0.0, persistence.getStats("ana", "casa").pathLength(), 1e-9);
+
+        // Fila escrita antes de existir las columnas: se calculan desde los puntos y el siguiente punto las guarda
+        new JdbcTemplate(shards.get("s0")).update("update blueprint set point_count = null, min_x = null, max_x = null, "
+            + "min_y = null, max_y = null, sum_x = null, sum_y = null, path_length = null, last_x = null, last_y = null");
+        assertEquals(1, persistence.getStats("ana", "casa").pointCount());
+        assertEquals(1, persistence.getVersion("ana", "casa").pointCount());
+        persistence.addPoint("ana", "casa", 5, 7);
+        assertEquals(List.of(new Point(5, 5), new Point(5, 7)), persistence.getBlueprint("ana", "casa").getPoints());
+        assertEquals(2, new JdbcTemplate(shards.get("s0")).queryForObject("select point_count from blueprint", Integer.class));
+        assertEquals(2.0, persistence.getStats("ana", "casa").pathLength(), 1e-9);
+        persistence.close();
+    }
+
+    @Test
+    void rebalanceMovesOnlyTheAuthorsOfTheNewShard() throws Exception {
+        Map<String, DataSource> shards = shards("s0", "s1", "s2");
+        Map<String, DataSource> before = new LinkedHashMap<>(shards);
+        before.remove("s2");
+        ShardedBlueprintPersistence old = new ShardedBlueprintPersistence(before, 64);
+        for (int a = 0; a < 30; a++) {
+            old.saveBlueprint(new Blueprint("author" + a, "bp", List.of(new Point(a, a))));
+        }
+        Map<String, String> oldOwners = new LinkedHashMap<>();
+        for (int a = 0; a < 30; a++) oldOwners.put("author" + a, old.shardFor("author" + a));
+        old.close();
+
+        ShardedBlueprintPersistence grown = new ShardedBlueprintPersistence(shards, 64);
+        int moved = new ShardRebalancer(grown).rebalance();
+
+        int toNewShard = 0;
+        for (var entry : oldOwners.entrySet()) {
+            String owner = grown.shardFor(entry.getKey());
+            // Hashing consistente: un autor solo cambia de shard si pasa al nuevo
+            assertTrue(owner.equals(entry.getValue()) || owner.equals("s2"));
+            if (owner.equals("s2")) toNewShard++;
+            assertEquals(1, rowsIn(shards.get(owner), entry.getKey()));
+            assertEquals(List.of(new Point(Integer.parseInt(entry.getKey().substring(6)), Integer.parseInt(entry.getKey().substring(6)))),
+                grown.getBlueprint(entry.getKey(), "bp").getPoints());
+        }
+        assertTrue(toNewShard > 0);
+        assertEquals(toNewShard, moved);
+        assertEquals(30, grown.getAllBlueprints().size());
+        assertEquals(0, new ShardRebalancer(grown).rebalance());
+        grown.close();
+    }
+}
@@ -0,0 +1,34 @@
+package co.edu.eci.blueprints.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registra las sentencias SQL que Hibernate prepara en el hilo actual entre {@link #start()} y
+ * {@link #stop()}. Se activa con {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ * Con lotes JDBC las filas de un mismo INSERT comparten una sentencia preparada, así que el conteo
+ * corresponde a sentencias distintas y no a filas.
+ */
+public class SqlRecorder implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    static void start() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    static List<String> stop() {
+        List<String> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) statements.add(sql);
+        return sql;
+    }
+}
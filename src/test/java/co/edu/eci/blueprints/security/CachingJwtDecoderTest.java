@@ -0,0 +1,63 @@
+package co.edu.eci.blueprints.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token).header("alg", "RS256").subject("student")
+            .issuedAt(NOW.minusSeconds(10)).expiresAt(expiresAt).build();
+    }
+
+    @Test
+    void repeatedTokenIsVerifiedOnceUntilItExpires() {
+        AtomicInteger verifications = new AtomicInteger();
+        JwtDecoder delegate = token -> { verifications.incrementAndGet(); return jwt(token, NOW.plusSeconds(60)); };
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        Jwt first = decoder.decode("token-a");
+        assertSame(first, decoder.decode("token-a"));
+        assertEquals(1, verifications.get());
+        assertEquals(1, decoder.hits());
+        assertEquals(1, decoder.misses());
+
+        CachingJwtDecoder later = new CachingJwtDecoder(delegate, 10, Clock.fixed(NOW.plusSeconds(61), ZoneOffset.UTC));
+        later.decode("token-a");
+        later.decode("token-a");
+        assertEquals(3, verifications.get(), "Un token vencido no se sirve desde el caché");
+    }
+
+    @Test
+    void rejectedTokensAreNotCached() {
+        AtomicInteger verifications = new AtomicInteger();
+        JwtDecoder delegate = token -> { verifications.incrementAndGet(); throw new BadJwtException("bad signature"); };
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+        assertEquals(2, verifications.get());
+        assertEquals(0, decoder.size());
+    }
+
+    @Test
+    void cacheStaysWithinMaxEntries() {
+        JwtDecoder delegate = token -> jwt(token, NOW.plusSeconds(60));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 3, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        for (int i = 0; i < 10; i++) decoder.decode("token-" + i);
+
+        assertTrue(decoder.size() <= 3);
+    }
+}
@@ -0,0 +1,97 @@
+package co.edu.eci.blueprints.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyProviderTest {
+
+    private static String sign(JwtKeyProvider provider) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .subject("student").issuedAt(Instant.now()).expiresAt(Instant.now().plusSeconds(60)).build();
+        return provider.encoder()
+            .encode(JwtEncoderParameters.from(JwsHeader.with(provider.algorithm()).build(), claims))
+            .getTokenValue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    void tokensSignedWithEachAlgorithmVerify(JwtAlgorithm algorithm) {
+        JwtKeyProvider provider = new JwtKeyProvider(algorithm);
+        provider.init();
+
+        Jwt jwt = provider.decoder().decode(sign(provider));
+
+        assertEquals("student", jwt.getSubject());
+        assertEquals(algorithm.getName(), jwt.getHeaders().get("alg").toString());
+    }
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    void tokensFromAnotherKeyAreRejected(JwtAlgorithm algorithm) {
+        JwtKeyProvider issuer = new JwtKeyProvider(algorithm);
+        JwtKeyProvider verifier = new JwtKeyProvider(algorithm);
+        issuer.init();
+        verifier.init();
+
+        assertThrows(BadJwtException.class, () -> verifier.decoder().decode(sign(issuer)));
+    }
+
+    @Test
+    void rotatedKeysKeepVerifyingTokensIssuedBeforeTheRotation() throws Exception {
+        JWK old = JwtAlgorithm.RS256.generateKey();
+        JWK current = JwtAlgorithm.ES256.generateKey();
+        JwtKeyProvider beforeRotation = new JwtKeyProvider(List.of(old), old.getKeyID());
+        JwtKeyProvider afterRotation = new JwtKeyProvider(List.of(old, current), current.getKeyID());
+
+        Jwt jwt = afterRotation.decoder().decode(sign(beforeRotation));
+
+        assertEquals(old.getKeyID(), jwt.getHeaders().get("kid"));
+        assertEquals(JwtAlgorithm.ES256, afterRotation.algorithm());
+        assertEquals(current.getKeyID(), afterRotation.decoder().decode(sign(afterRotation)).getHeaders().get("kid"));
+        assertThrows(BadJwtException.class, () -> beforeRotation.decoder().decode(sign(afterRotation)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"RSA", "EC", "Ed25519"})
+    void nodesSharingPemKeysAcceptEachOthersTokens(String keyType, @TempDir Path dir) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(keyType);
+        if (keyType.equals("EC")) generator.initialize(256);
+        KeyPair pair = generator.generateKeyPair();
+        Path privateKey = pem(dir.resolve("key.pem"), "PRIVATE KEY", pair.getPrivate().getEncoded());
+        Path publicKey = pem(dir.resolve("key.pub.pem"), "PUBLIC KEY", pair.getPublic().getEncoded());
+        JwtKeyProperties.PemKey key = new JwtKeyProperties.PemKey("k1",
+            new FileSystemResource(privateKey), new FileSystemResource(publicKey));
+
+        JwtKeyProvider nodeA = new JwtKeyProvider(List.of(JwtKeyLoader.fromPem(key)), null);
+        JwtKeyProvider nodeB = new JwtKeyProvider(List.of(JwtKeyLoader.fromPem(key)), null);
+
+        assertEquals("student", nodeB.decoder().decode(sign(nodeA)).getSubject());
+        assertFalse(nodeA.jwksJson().contains("\"d\""), "El JWKS solo publica la parte pública");
+    }
+
+    private static Path pem(Path file, String type, byte[] der) throws Exception {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der);
+        return Files.writeString(file, "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n");
+    }
+}
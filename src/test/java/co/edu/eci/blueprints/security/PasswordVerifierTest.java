@@ -0,0 +1,56 @@
+package co.edu.eci.blueprints.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordVerifierTest {
+
+    @Test
+    void verificationIsTimedOnThePool() {
+        InMemoryUserService users = Mockito.mock(InMemoryUserService.class);
+        Mockito.when(users.isValid("student", "student123")).thenReturn(true);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordVerifier verifier = new PasswordVerifier(users, registry, Runnable::run);
+
+        assertTrue(verifier.verify("student", "student123").join());
+        assertFalse(verifier.verify("student", "wrong").join());
+        assertEquals(2, registry.get("blueprints.login.verification").timer().count());
+    }
+
+    @Test
+    void saturatedPoolRejectsImmediately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryUserService users = Mockito.mock(InMemoryUserService.class);
+        Mockito.when(users.isValid(Mockito.anyString(), Mockito.anyString())).thenAnswer(inv -> release.await(5, TimeUnit.SECONDS));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+            new ThreadPoolExecutor.AbortPolicy());
+        PasswordVerifier verifier = new PasswordVerifier(users, registry, pool);
+        try {
+            CompletableFuture<Boolean> running = verifier.verify("a", "1");
+            CompletableFuture<Boolean> queued = verifier.verify("b", "2");
+            CompletableFuture<Boolean> rejected = verifier.verify("c", "3");
+
+            CompletionException error = assertThrows(CompletionException.class, rejected::join);
+            assertInstanceOf(RejectedExecutionException.class, error.getCause());
+            assertEquals(1.0, registry.get("blueprints.login.rejected").counter().count());
+
+            release.countDown();
+            assertTrue(running.join());
+            assertTrue(queued.join());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
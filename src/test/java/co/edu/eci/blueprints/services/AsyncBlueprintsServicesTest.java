@@ -0,0 +1,124 @@
+package co.edu.eci.blueprints.services;
+
+import co.edu.eci.blueprints.events.BlueprintEvent;
+import co.edu.eci.blueprints.filters.RedundancyFilter;
+import co.edu.eci.blueprints.filters.IdentityFilter;
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.Point;
+import co.edu.eci.blueprints.persistence.AsyncBlueprintPersistence;
+import co.edu.eci.blueprints.persistence.BlueprintNotFoundException;
+import co.edu.eci.blueprints.persistence.BlueprintPersistence;
+import co.edu.eci.blueprints.persistence.BlueprintRevision;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncBlueprintsServicesTest {
+
+    @Test
+    void getBlueprintShouldApplyFilterWhenCompleted() {
+        AsyncBlueprintPersistence persistence = Mockito.mock(AsyncBlueprintPersistence.class);
+        AsyncBlueprintsServices services = new AsyncBlueprintsServices(persistence, new RedundancyFilter(), event -> { },
+            Mockito.mock(BlueprintsServices.class));
+        Blueprint bp = new Blueprint("author", "bp1", Arrays.asList(new Point(1,1), new Point(1,1), new Point(2,2)));
+        Mockito.when(persistence.getBlueprint("author", "bp1")).thenReturn(CompletableFuture.completedFuture(bp));
+
+        Blueprint result = services.getBlueprint("author", "bp1").join();
+
+        assertEquals(Arrays.asList(new Point(1,1), new Point(2,2)), result.getPoints());
+    }
+
+    @Test
+    void getBlueprintsByAuthorsShouldMapMissingAuthorsToEmptySets() {
+        AsyncBlueprintPersistence persistence = Mockito.mock(AsyncBlueprintPersistence.class);
+        AsyncBlueprintsServices services = new AsyncBlueprintsServices(persistence, new IdentityFilter(), event -> { },
+            Mockito.mock(BlueprintsServices.class));
+        Blueprint bp = new Blueprint("a", "bp1", List.of(new Point(1,1)));
+        Mockito.when(persistence.getBlueprintsByAuthor("a")).thenReturn(CompletableFuture.completedFuture(Set.of(bp)));
+        Mockito.when(persistence.getBlueprintsByAuthor("b"))
+            .thenReturn(CompletableFuture.failedFuture(new BlueprintNotFoundException("No blueprints for author: b")));
+
+        Map<String, Set<Blueprint>> result = services.getBlueprintsByAuthors(List.of("a", "b", "a")).join();
+
+        assertEquals(List.of("a", "b"), new ArrayList<>(result.keySet()));
+        assertEquals(Set.of(bp), result.get("a"));
+        assertTrue(result.get("b").isEmpty());
+        Mockito.verify(persistence, Mockito.times(1)).getBlueprintsByAuthor("a");
+    }
+
+    @Test
+    void addPointShouldForgetSyncLoadsAndPublishEventWithNewVersion() {
+        AsyncBlueprintPersistence persistence = Mockito.mock(AsyncBlueprintPersistence.class);
+        List<Object> published = new ArrayList<>();
+        BlueprintsServices sync = Mockito.mock(BlueprintsServices.class);
+        AsyncBlueprintsServices services = new AsyncBlueprintsServices(persistence, new IdentityFilter(), published::add, sync);
+        Mockito.when(persistence.addPoint("author", "bp1", 5, 6)).thenReturn(CompletableFuture.completedFuture(new BlueprintRevision(7L, 4)));
+
+        services.addPoint("author", "bp1", 5, 6).join();
+
+        assertEquals(List.of(BlueprintEvent.pointAdded(7L, "author", "bp1", 4L, new Point(5, 6))), published);
+        Mockito.verify(sync).forgetLoads("author", "bp1");
+    }
+
+    @Test
+    void failedOperationShouldNotPublishEvent() {
+        AsyncBlueprintPersistence persistence = Mockito.mock(AsyncBlueprintPersistence.class);
+        List<Object> published = new ArrayList<>();
+        BlueprintsServices sync = Mockito.mock(BlueprintsServices.class);
+        AsyncBlueprintsServices services = new AsyncBlueprintsServices(persistence, new IdentityFilter(), published::add, sync);
+        Mockito.when(persistence.deleteBlueprint("author", "missing"))
+            .thenReturn(CompletableFuture.failedFuture(new BlueprintNotFoundException("Blueprint not found")));
+
+        CompletionException error = assertThrows(CompletionException.class,
+            () -> services.deleteBlueprint("author", "missing").join());
+
+        assertInstanceOf(BlueprintNotFoundException.class, AsyncBlueprintsServices.unwrap(error));
+        assertTrue(published.isEmpty());
+        Mockito.verifyNoInteractions(sync);
+    }
+
+    @Test
+    void syncReadsAfterAnAsyncWriteDoNotJoinAnOlderLoad() throws Exception {
+        BlueprintPersistence syncPersistence = Mockito.mock(BlueprintPersistence.class);
+        BlueprintsServices sync = new BlueprintsServices(syncPersistence, new IdentityFilter(), event -> { });
+        AsyncBlueprintPersistence persistence = Mockito.mock(AsyncBlueprintPersistence.class);
+        AsyncBlueprintsServices services = new AsyncBlueprintsServices(persistence, new IdentityFilter(), event -> { }, sync);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Blueprint before = new Blueprint("author", "bp", List.of(new Point(1, 1)));
+        Blueprint after = new Blueprint("author", "bp", List.of(new Point(1, 1), new Point(2, 2)));
+        Mockito.when(syncPersistence.getBlueprint("author", "bp")).thenAnswer(inv -> {
+            loading.countDown();
+            release.await();
+            return before;
+        }).thenReturn(after);
+        Mockito.when(persistence.addPoint("author", "bp", 2, 2)).thenReturn(CompletableFuture.completedFuture(new BlueprintRevision(1L, 2)));
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Blueprint> stale = pool.submit(() -> sync.getBlueprint("author", "bp"));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            services.addPoint("author", "bp", 2, 2).join();
+            // La lectura posterior a la escritura asíncrona consulta de nuevo en vez de esperar la carga anterior
+            assertSame(after, sync.getBlueprint("author", "bp"));
+            release.countDown();
+            assertSame(before, stale.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
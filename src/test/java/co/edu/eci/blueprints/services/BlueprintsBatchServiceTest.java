@@ -0,0 +1,150 @@
+package co.edu.eci.blueprints.services;
+
+import co.edu.eci.blueprints.filters.IdentityFilter;
+import co.edu.eci.blueprints.model.Blueprint;
+import co.edu.eci.blueprints.model.Point;
+import co.edu.eci.blueprints.persistence.BlueprintNotFoundException;
+import co.edu.eci.blueprints.persistence.BlueprintPersistence;
+import co.edu.eci.blueprints.persistence.BlueprintRevision;
+import co.edu.eci.blueprints.persistence.ShardedBlueprintPersistence;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlueprintsBatchServiceTest {
+
+    /** Gestor de transacciones en memoria que cuenta commits y rollbacks. */
+    static class CountingTransactionManager extends AbstractPlatformTransactionManager {
+        int begins, commits, rollbacks;
+        @Override protected Object doGetTransaction() { return new Object(); }
+        @Override protected void doBegin(Object tx, TransactionDefinition def) { begins++; }
+        @Override protected void doCommit(DefaultTransactionStatus status) { commits++; }
+        @Override protected void doRollback(DefaultTransactionStatus status) { rollbacks++; }
+    }
+
+    private static BatchOperation addPoint(String name, int x, int y) {
+        return new BatchOperation(BatchOperation.Type.ADD_POINT, "author", name, null, x, y, null, null);
+    }
+
+    @Test
+    void allOperationsRunInOneTransaction() throws Exception {
+        BlueprintsServices services = Mockito.mock(BlueprintsServices.class);
+        CountingTransactionManager tx = new CountingTransactionManager();
+        BlueprintsBatchService batch = new BlueprintsBatchService(services, Mockito.mock(BlueprintPersistence.class), tx);
+        List<BatchOperation> ops = List.of(
+            new BatchOperation(BatchOperation.Type.CREATE, "author", "bp1", List.of(new Point(1,1)), null, null, null, null),
+            addPoint("bp1", 2, 2),
+            new BatchOperation(BatchOperation.Type.DELETE, "author", "bp0", null, null, null, null, null));
+
+        BatchResult result = batch.apply(ops, true);
+
+        assertTrue(result.committed());
+        assertEquals(List.of(201, 202, 200), result.results().stream().map(BatchResult.OperationResult::code).toList());
+        assertEquals(1, tx.begins);
+        assertEquals(1, tx.commits);
+        Mockito.verify(services).addPoint("author", "bp1", 2, 2);
+    }
+
+    @Test
+    void atomicBatchRollsBackOnFirstFailure() throws Exception {
+        BlueprintsServices services = Mockito.mock(BlueprintsServices.class);
+        Mockito.doThrow(new BlueprintNotFoundException("missing")).when(services).addPoint("author", "missing", 1, 1);
+        CountingTransactionManager tx = new CountingTransactionManager();
+        BlueprintsBatchService batch = new BlueprintsBatchService(services, Mockito.mock(BlueprintPersistence.class), tx);
+
+        BatchResult result = batch.apply(List.of(addPoint("bp1", 0, 0), addPoint("missing", 1, 1), addPoint("bp1", 2, 2)), true);
+
+        assertFalse(result.committed());
+        assertEquals(List.of(409, 404, 409), result.results().stream().map(BatchResult.OperationResult::code).toList());
+        assertEquals(1, tx.rollbacks);
+        assertEquals(0, tx.commits);
+        Mockito.verify(services, Mockito.never()).addPoint("author", "bp1", 2, 2);
+    }
+
+    @Test
+    void nonAtomicBatchCommitsSuccessfulOperations() throws Exception {
+        BlueprintsServices services = Mockito.mock(BlueprintsServices.class);
+        Mockito.doThrow(new BlueprintNotFoundException("missing")).when(services).addPoint("author", "missing", 1, 1);
+        CountingTransactionManager tx = new CountingTransactionManager();
+        BlueprintsBatchService batch = new BlueprintsBatchService(services, Mockito.mock(BlueprintPersistence.class), tx);
+
+        BatchResult result = batch.apply(List.of(addPoint("bp1", 0, 0), addPoint("missing", 1, 1), addPoint("bp1", 2, 2)), false);
+
+        assertTrue(result.committed());
+        assertEquals(List.of(202, 404, 202), result.results().stream().map(BatchResult.OperationResult::code).toList());
+        assertEquals(1, tx.commits);
+    }
+
+    @Test
+    void readsAfterTheBatchDoNotJoinALoadStartedBeforeItsCommit() throws Exception {
+        BlueprintPersistence persistence = Mockito.mock(BlueprintPersistence.class);
+        BlueprintsServices services = new BlueprintsServices(persistence, new IdentityFilter(), event -> { });
+        BlueprintsBatchService batch = new BlueprintsBatchService(services, persistence, new CountingTransactionManager());
+        Blueprint before = new Blueprint("author", "bp1", List.of(new Point(1, 1)));
+        Blueprint after = new Blueprint("author", "bp1", List.of(new Point(1, 1), new Point(2, 2)));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(persistence.getBlueprint("author", "bp1")).thenAnswer(inv -> {
+            loading.countDown();
+            release.await();
+            return before;
+        }).thenReturn(after);
+        Mockito.when(persistence.addPoint("author", "bp1", 2, 2)).thenReturn(new BlueprintRevision(1L, 2));
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            // Una lectura empieza entre la escritura de bp1 y el commit del lote: ve el estado anterior
+            List<Future<Blueprint>> stale = new ArrayList<>();
+            Mockito.when(persistence.addPoint("author", "bp2", 3, 3)).thenAnswer(inv -> {
+                stale.add(pool.submit(() -> services.getBlueprint("author", "bp1")));
+                assertTrue(loading.await(5, TimeUnit.SECONDS));
+                return new BlueprintRevision(2L, 2);
+            });
+
+            assertTrue(batch.apply(List.of(addPoint("bp1", 2, 2), addPoint("bp2", 3, 3)), true).committed());
+
+            Future<Blueprint> fresh = pool.submit(() -> services.getBlueprint("author", "bp1"));
+            assertSame(after, fresh.get(5, TimeUnit.SECONDS));
+            release.countDown();
+            assertSame(before, stale.get(0).get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void atomicBatchIsRejectedWithShardedPersistence() throws Exception {
+        String run = UUID.randomUUID().toString();
+        DataSource shard = new DriverManagerDataSource("jdbc:h2:mem:" + run + ";DB_CLOSE_DELAY=-1", "sa", "");
+        ShardedBlueprintPersistence persistence = new ShardedBlueprintPersistence(Map.of("s0", shard), 16);
+        BlueprintsServices services = new BlueprintsServices(persistence, new IdentityFilter(), event -> { });
+        BlueprintsBatchService batch = new BlueprintsBatchService(services, persistence, new CountingTransactionManager());
+        List<BatchOperation> ops = List.of(
+            new BatchOperation(BatchOperation.Type.CREATE, "author", "bp1", List.of(new Point(1,1)), null, null, null, null),
+            addPoint("missing", 1, 1));
+
+        // Cada operación se confirmaría en su shard: el lote atómico no se ejecuta
+        assertFalse(batch.isAtomicSupported());
+        assertThrows(UnsupportedOperationException.class, () -> batch.apply(ops, true));
+        assertEquals(0, new JdbcTemplate(shard).queryForObject("select count(*) from blueprint", Integer.class));
+
+        BatchResult result = batch.apply(ops, false);
+        assertEquals(List.of(201, 404), result.results().stream().map(BatchResult.OperationResult::code).toList());
+        assertEquals(1, new JdbcTemplate(shard).queryForObject("select count(*) from blueprint", Integer.class));
+    }
+}
@@ -3,13 +3,23 @@ package co.edu.eci.blueprints.services;
 import co.edu.eci.blueprints.filters.IdentityFilter;
 import co.edu.eci.blueprints.filters.BlueprintsFilter;
 import co.edu.eci.blueprints.persistence.BlueprintPersistence;
+import co.edu.eci.blueprints.persistence.BlueprintRevision;
 import co.edu.eci.blueprints.model.Blueprint;
 import co.edu.eci.blueprints.model.Point;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import co.edu.eci.blueprints.persistence.BlueprintNotFoundException;
 import co.edu.eci.blueprints.filters.RedundancyFilter;
 import co.edu.eci.blueprints.filters.UndersamplingFilter;
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,7 +29,7 @@ class BlueprintsServicesTest {
     void getBlueprintShouldApplyFilter() throws Exception {
         BlueprintPersistence persistence = Mockito.mock(BlueprintPersistence.class);
         BlueprintsFilter filter = new IdentityFilter();
-        BlueprintsServices services = new BlueprintsServices(persistence, filter);
+        BlueprintsServices services = new BlueprintsServices(persistence, filter, event -> { });
         List<Point> points = Arrays.asList(new Point(1,1), new Point(2,2));
         Blueprint bp = new Blueprint("author", "bp1", points);
         Mockito.when(persistence.getBlueprint("author", "bp1")).thenReturn(bp);
@@ -31,7 +41,7 @@ class BlueprintsServicesTest {
         void addNewBlueprintShouldCallPersistence() throws Exception {
             BlueprintPersistence persistence = Mockito.mock(BlueprintPersistence.class);
             BlueprintsFilter filter = new IdentityFilter();
-            BlueprintsServices services = new BlueprintsServices(persistence, filter);
+            BlueprintsServices services = new BlueprintsServices(persistence, filter, event -> { });
             Blueprint bp = new Blueprint("author", "bp2", Arrays.asList(new Point(3,3)));
             services.addNewBlueprint(bp);
             Mockito.verify(persistence).saveBlueprint(bp);
@@ -41,7 +51,7 @@ class BlueprintsServicesTest {
         void getAllBlueprintsShouldApplyFilter() {
             BlueprintPersistence persistence = Mockito.mock(BlueprintPersistence.class);
             BlueprintsFilter filter = new RedundancyFilter();
-            BlueprintsServices services = new BlueprintsServices(persistence, filter);
+            BlueprintsServices services = new BlueprintsServices(persistence, filter, event -> { });
             Blueprint bp1 = new Blueprint("author", "bp1", Arrays.asList(new Point(1,1), new Point(1,1), new Point(2,2)));
             Blueprint bp2 = new Blueprint("author", "bp2", Arrays.asList(new Point(3,3), new Point(3,3)));
             Mockito.when(persistence.getAllBlueprints()).thenReturn(Set.of(bp1, bp2));
@@ -60,7 +70,7 @@ class BlueprintsServicesTest {
         void getBlueprintsByAuthorShouldApplyFilter() throws Exception {
             BlueprintPersistence persistence = Mockito.mock(BlueprintPersistence.class);
             BlueprintsFilter filter = new UndersamplingFilter();
-            BlueprintsServices services = new BlueprintsServices(persistence, filter);
+            BlueprintsServices services = new BlueprintsServices(persistence, filter, event -> { });
             Blueprint bp1 = new Blueprint("author", "bp1", Arrays.asList(new Point(1,1), new Point(2,2), new Point(3,3), new Point(4,4)));
             Mockito.when(persistence.getBlueprintsByAuthor("author")).thenReturn(Set.of(bp1));
             Set<Blueprint> result = services.getBlueprintsByAuthor("author");
@@ -73,8 +83,132 @@ class BlueprintsServicesTest {
         void addPointShouldCallPersistence() throws Exception {
             BlueprintPersistence persistence = Mockito.mock(BlueprintPersistence.class);
             BlueprintsFilter filter = new IdentityFilter();
-            BlueprintsServices services = new BlueprintsServices(persistence, filter);
+            BlueprintsServices services = new BlueprintsServices(persistence, filter, event -> { });
+            Mockito.when(persistence.addPoint("author", "bp1", 5, 5)).thenReturn(new BlueprintRevision(1L, 2));
             services.addPoint("author", "bp1", 5, 5);
             Mockito.verify(persistence).addPoint("author", "bp1", 5, 5);
         }
+
+        @Test
+        void getPointsShouldNotLoadWholeBlueprint() throws Exception {
+            BlueprintPersistence persistence = Mockito.mock(BlueprintPersistence.class);
+            BlueprintsFilter filter = new IdentityFilter();
+            BlueprintsServices services = new BlueprintsServices(persistence, filter, event -> { });
+            Mockito.when(persistence.getPoints("author", "bp1", 2, 2)).thenReturn(List.of(new Point(3,3), new Point(4,4)));
+            assertEquals(List.of(new Point(3,3), new Point(4,4)), services.getPoints("author", "bp1", 2, 2));
+            Mockito.verify(persistence, Mockito.never()).getBlueprint("author", "bp1");
+        }
+
+        @Test
+        void addPointShouldPublishEventWithNewVersion() throws Exception {
+            BlueprintPersistence persistence = Mockito.mock(BlueprintPersistence.class);
+            List<Object> published = new java.util.ArrayList<>();
+            BlueprintsServices services = new BlueprintsServices(persistence, new IdentityFilter(), published::add);
+            Mockito.when(persistence.addPoint("author", "bp1", 5, 5)).thenReturn(new BlueprintRevision(7L, 3));
+            services.addPoint("author", "bp1", 5, 5);
+            assertEquals(List.of(co.edu.eci.blueprints.events.BlueprintEvent.pointAdded(7L, "author", "bp1", 3, new Point(5,5))), published);
+        }
+
+        @Test
+        void getBlueprintsShouldApplyFilterToEachResult() {
+            BlueprintPersistence persistence = Mockito.mock(BlueprintPersistence.class);
+            BlueprintsServices services = new BlueprintsServices(persistence, new RedundancyFilter(), event -> { });
+            var key = new co.edu.eci.blueprints.model.BlueprintKey("author", "bp1");
+            Blueprint bp = new Blueprint("author", "bp1", Arrays.asList(new Point(1,1), new Point(1,1)));
+            Mockito.when(persistence.getBlueprints(List.of(key))).thenReturn(java.util.Map.of(key, bp));
+            var result = services.getBlueprints(List.of(key));
+            assertEquals(List.of(new Point(1,1)), result.get(key).getPoints());
+        }
+
+        @Test
+        void concurrentReadsOfTheSameBlueprintShareOneLoad() throws Exception {
+            BlueprintPersistence persistence = Mockito.mock(BlueprintPersistence.class);
+            BlueprintsServices services = new BlueprintsServices(persistence, new IdentityFilter(), event -> { });
+            CountDownLatch loading = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger loads = new AtomicInteger();
+            Mockito.when(persistence.getBlueprint("author", "hot")).thenAnswer(inv -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return new Blueprint("author", "hot", List.of(new Point(1, 1)));
+            });
+
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<Blueprint>> results = new ArrayList<>();
+                results.add(pool.submit(() -> services.getBlueprint("author", "hot")));
+                assertTrue(loading.await(5, TimeUnit.SECONDS));
+                for (int i = 0; i < 7; i++) results.add(pool.submit(() -> services.getBlueprint("author", "hot")));
+                // Da tiempo a que los demás se unan a la carga en curso
+                Thread.sleep(100);
+                release.countDown();
+                Blueprint first = results.get(0).get(5, TimeUnit.SECONDS);
+                for (Future<Blueprint> result : results) assertSame(first, result.get(5, TimeUnit.SECONDS));
+            } finally {
+                pool.shutdownNow();
+            }
+            assertEquals(1, loads.get());
+
+            // Terminada la carga, la siguiente llamada vuelve a consultar
+            services.getBlueprint("author", "hot");
+            assertEquals(2, loads.get());
+        }
+
+        @Test
+        void concurrentReadsShareTheLoadFailure() throws Exception {
+            BlueprintPersistence persistence = Mockito.mock(BlueprintPersistence.class);
+            BlueprintsServices services = new BlueprintsServices(persistence, new IdentityFilter(), event -> { });
+            CountDownLatch loading = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Mockito.when(persistence.getBlueprintsByAuthor("ghost")).thenAnswer(inv -> {
+                loading.countDown();
+                release.await();
+                throw new BlueprintNotFoundException("No blueprints for author: ghost");
+            });
+
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            try {
+                Future<Set<Blueprint>> leader = pool.submit(() -> services.getBlueprintsByAuthor("ghost"));
+                assertTrue(loading.await(5, TimeUnit.SECONDS));
+                Future<Set<Blueprint>> follower = pool.submit(() -> services.getBlueprintsByAuthor("ghost"));
+                Thread.sleep(100);
+                release.countDown();
+                for (Future<Set<Blueprint>> result : List.of(leader, follower)) {
+                    ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+                    assertInstanceOf(BlueprintNotFoundException.class, e.getCause());
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+            Mockito.verify(persistence, Mockito.times(1)).getBlueprintsByAuthor("ghost");
+        }
+
+        @Test
+        void readsAfterAWriteDoNotJoinAnOlderLoad() throws Exception {
+            BlueprintPersistence persistence = Mockito.mock(BlueprintPersistence.class);
+            BlueprintsServices services = new BlueprintsServices(persistence, new IdentityFilter(), event -> { });
+            CountDownLatch loading = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Blueprint before = new Blueprint("author", "bp", List.of(new Point(1, 1)));
+            Blueprint after = new Blueprint("author", "bp", List.of(new Point(1, 1), new Point(2, 2)));
+            Mockito.when(persistence.getBlueprint("author", "bp")).thenAnswer(inv -> {
+                loading.countDown();
+                release.await();
+                return before;
+            }).thenReturn(after);
+            Mockito.when(persistence.addPoint("author", "bp", 2, 2)).thenReturn(new BlueprintRevision(1L, 2));
+
+            ExecutorService pool = Executors.newSingleThreadExecutor();
+            try {
+                Future<Blueprint> stale = pool.submit(() -> services.getBlueprint("author", "bp"));
+                assertTrue(loading.await(5, TimeUnit.SECONDS));
+                services.addPoint("author", "bp", 2, 2);
+                assertSame(after, services.getBlueprint("author", "bp"));
+                release.countDown();
+                assertSame(before, stale.get(5, TimeUnit.SECONDS));
+            } finally {
+                pool.shutdownNow();
+            }
+        }
 }